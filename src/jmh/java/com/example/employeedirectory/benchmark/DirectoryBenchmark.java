@@ -0,0 +1,173 @@
+package com.example.employeedirectory.benchmark;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.generator.OrganizationGenerator;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.validation.EmployeeValidator;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import com.example.employeedirectory.validation.SalaryColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the load, build, query and validation pipeline over synthetic organizations
+ * of various sizes and shapes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class DirectoryBenchmark {
+
+    /**
+     * Organization shapes. Managers are assigned heap-style: employee i reports to (i - 1) / fanOut.
+     */
+    public enum Shape {
+        /** Ten direct reports per manager. */
+        BALANCED(10),
+        /** Very wide spans of control. */
+        WIDE(1000),
+        /** Two reports per manager, giving the deepest reporting lines. */
+        NARROW(2);
+
+        private final int fanOut;
+
+        Shape(int fanOut) {
+            this.fanOut = fanOut;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Organization {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int employeeCount;
+
+        @Param({"BALANCED", "WIDE", "NARROW"})
+        public Shape shape;
+
+        List<Employee> employees;
+        EmployeeTree tree;
+        List<EmployeeNode> nodes;
+        String[] lookupIds;
+        String midLevelManagerId;
+        SalaryColumns salaryColumns;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            employees = generate(employeeCount, shape);
+            tree = new EmployeeTree();
+            tree.buildTree(employees);
+            nodes = tree.getAllNodes();
+            salaryColumns = SalaryColumns.of(tree);
+
+            Random random = new Random(7);
+            lookupIds = new String[1024];
+            for (int i = 0; i < lookupIds.length; i++) {
+                lookupIds[i] = employees.get(random.nextInt(employeeCount)).getId();
+            }
+            midLevelManagerId = employees.get(Math.min(1, employeeCount - 1)).getId();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CsvFile {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int employeeCount;
+
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            file = Files.createTempFile("employees-bench", ".csv");
+            new OrganizationGenerator(42).employeeCount(employeeCount).fanOut(10).writeTo(file);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public List<Employee> parseCsv(CsvFile csv) throws IOException {
+        return new CSVReader().readEmployees(csv.file.toString());
+    }
+
+    @Benchmark
+    public EmployeeTree buildTree(Organization org) {
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(org.employees);
+        return tree;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public EmployeeNode getNodeById(Organization org, Cursor cursor) {
+        String id = org.lookupIds[cursor.next++ & (org.lookupIds.length - 1)];
+        return org.tree.getNodeById(id);
+    }
+
+    @Benchmark
+    public List<EmployeeNode> getAllSubordinates(Organization org) {
+        return org.tree.getAllSubordinates(org.midLevelManagerId);
+    }
+
+    @Benchmark
+    public long computeDepths(Organization org) {
+        long total = 0;
+        for (EmployeeNode node : org.nodes) {
+            total += node.getDepth();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void validateAll(Organization org, Blackhole blackhole) {
+        blackhole.consume(EmployeeValidator.validateAllManagerSalaries(org.nodes));
+        blackhole.consume(EmployeeValidator.validateAllReportingDepths(org.nodes));
+    }
+
+    @Benchmark
+    public List<ValidationResult> validateSalaryBandsFixedPoint(Organization org) {
+        return org.salaryColumns.validateSalaryBands();
+    }
+
+    static List<Employee> generate(int count, Shape shape) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String managerId = i == 0 ? null : Integer.toString((i - 1) / shape.fanOut);
+            double salary = 30000 + random.nextInt(120000);
+            employees.add(new Employee(Integer.toString(i), "First" + (i % 5000), "Last" + (i % 20000), salary, managerId));
+        }
+        return employees;
+    }
+}
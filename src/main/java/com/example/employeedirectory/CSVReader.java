@@ -1,81 +1,351 @@
 package com.example.employeedirectory;
 
+import com.example.employeedirectory.io.CompressedInput;
+import com.example.employeedirectory.io.CsvTokenizer;
+import com.example.employeedirectory.metrics.CsvChunkEvent;
+import com.example.employeedirectory.metrics.PipelineMetrics;
+import com.example.employeedirectory.model.AttributeSchema;
 import com.example.employeedirectory.model.Employee;
-import java.io.BufferedReader;
-import java.io.FileReader;
+import com.example.employeedirectory.model.SalaryCents;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
- * Reads employee data from a CSV file.
+ * Reads employee data from a CSV file. Fields follow RFC 4180, so names may be quoted and contain
+ * commas, quotes or line breaks. Gzip- and zstd-compressed files are detected by their magic bytes
+ * and decompressed on the fly.
+ *
+ * <p>Columns are located by header name, case-insensitively, so the required columns
+ * {@code Id,firstName,lastName,salary,managerId} may appear in any order among other columns.
+ * The header is resolved once per file into column positions; rows are then read by position.
+ * Columns after the last one needed are skipped without being copied.
+ *
+ * <p>A {@linkplain #projection(Set) projection} limits which optional fields are loaded. Columns
+ * that are not loaded are skipped by the tokenizer without being copied or converted.
  */
 public class CSVReader {
     
+    /**
+     * The optional fields of an employee. IDs and manager IDs are always loaded, since they
+     * define the hierarchy.
+     */
+    public enum Field {
+        FIRST_NAME,
+        LAST_NAME,
+        SALARY
+    }
+    
+    private static final String[] REQUIRED_COLUMNS = {"Id", "firstName", "lastName", "salary", "managerId"};
+    private static final int ID = 0;
+    private static final int FIRST_NAME = 1;
+    private static final int LAST_NAME = 2;
+    private static final int SALARY = 3;
+    private static final int MANAGER_ID = 4;
+    
+    // Null when strings are kept as parsed
+    private final StringPool stringPool;
+    private boolean fixedPointSalaries;
+    private Set<Field> loadedFields = EnumSet.allOf(Field.class);
+    private final List<String> attributeNames = new ArrayList<>();
+    private final List<AttributeSchema.Type> attributeTypes = new ArrayList<>();
+    
+    public CSVReader() {
+        this(null);
+    }
+    
+    /**
+     * Creates a reader that canonicalizes repeated names and manager IDs through a pool.
+     * @param stringPool the pool to use, or null to keep every parsed string
+     */
+    public CSVReader(StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+    
+    /**
+     * Parses salaries with the exact fixed-point parser in {@link SalaryCents} instead of
+     * {@link Double#parseDouble(String)}. Only plain decimals are accepted and values are rounded
+     * to whole cents, so {@link SalaryCents#toCents(double)} recovers them exactly.
+     * @param enabled true to use fixed-point parsing
+     * @return this reader
+     */
+    public CSVReader fixedPointSalaries(boolean enabled) {
+        this.fixedPointSalaries = enabled;
+        return this;
+    }
+    
+    /**
+     * Loads only the given optional fields, for jobs that need the hierarchy but not every value.
+     * Fields left out are skipped while parsing and need not be present in the file; names then
+     * read back as null and salaries as 0, so salary validation is meaningless without
+     * {@link Field#SALARY}.
+     * @param fields the optional fields to load
+     * @return this reader
+     */
+    public CSVReader projection(Set<Field> fields) {
+        this.loadedFields = fields.isEmpty() ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(fields);
+        return this;
+    }
+    
+    /**
+     * Loads an extra column as a typed attribute of each employee, available through
+     * {@link Employee#getAttribute(String)}. Files without the column are rejected.
+     * @param column the header name of the column
+     * @param type the type to parse values into
+     * @return this reader
+     */
+    public CSVReader attribute(String column, AttributeSchema.Type type) {
+        if (attributeNames.contains(column)) {
+            throw new IllegalArgumentException("Attribute already requested: " + column);
+        }
+        attributeNames.add(column);
+        attributeTypes.add(type);
+        return this;
+    }
+    
     /**
      * Reads employee data from the specified CSV file.
-     * @param filePath path to the CSV file
+     * @param filePath path to the CSV file, plain, gzip- or zstd-compressed
      * @return list of Employee objects
      * @throws IOException if there's an error reading the file
      */
     public List<Employee> readEmployees(String filePath) throws IOException {
         List<Employee> employees = new ArrayList<>();
+        readEmployees(filePath, employees::add);
+        return employees;
+    }
+    
+    /**
+     * Reads employee data from the specified CSV file, passing each employee to a consumer as it
+     * is parsed instead of collecting them, so the file never has to fit on the heap.
+     * @param filePath path to the CSV file, plain, gzip- or zstd-compressed
+     * @param sink receives the employees in file order
+     * @return the number of employees read
+     * @throws IOException if there's an error reading the file
+     */
+    public int readEmployees(String filePath, Consumer<Employee> sink) throws IOException {
+        int count = 0;
+        PipelineMetrics.Timer timer = PipelineMetrics.startPhase(PipelineMetrics.CSV_PARSE);
+        int rejected = 0;
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            // Skip header line
-            String line = reader.readLine();
-            if (line == null || !line.startsWith("Id,firstName,lastName,salary,managerId")) {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(
+                new InputStreamReader(CompressedInput.open(Paths.get(filePath)), StandardCharsets.UTF_8))) {
+            if (!tokenizer.nextRecord()) {
                 throw new IOException("Invalid CSV format. Expected header: Id,firstName,lastName,salary,managerId");
             }
+            ColumnMapping columns = mapColumns(tokenizer);
             
-            // Read data lines
-            while ((line = reader.readLine()) != null) {
-                if (!line.trim().isEmpty()) {
-                    Employee employee = parseEmployeeLine(line);
+            // Read data records, reporting a JFR event per chunk of lines
+            long chunkFirstLine = 2;
+            long chunkStartChars = tokenizer.getCharsConsumed();
+            int chunkStartSize = 0;
+            int chunkRejected = 0;
+            CsvChunkEvent chunk = new CsvChunkEvent();
+            chunk.begin();
+            while (tokenizer.nextRecord()) {
+                if (!tokenizer.isBlankRecord()) {
+                    Employee employee = parseEmployeeRecord(tokenizer, columns);
                     if (employee != null) {
-                        employees.add(employee);
+                        sink.accept(employee);
+                        count++;
+                    } else {
+                        rejected++;
+                        chunkRejected++;
                     }
                 }
+                long lineNumber = tokenizer.getLineNumber();
+                if (lineNumber - chunkFirstLine + 1 >= CsvChunkEvent.CHUNK_LINES) {
+                    commitChunk(chunk, filePath, chunkFirstLine, count - chunkStartSize, chunkRejected,
+                        tokenizer.getCharsConsumed() - chunkStartChars);
+                    chunkFirstLine = lineNumber + 1;
+                    chunkStartChars = tokenizer.getCharsConsumed();
+                    chunkStartSize = count;
+                    chunkRejected = 0;
+                    chunk = new CsvChunkEvent();
+                    chunk.begin();
+                }
+            }
+            if (tokenizer.getLineNumber() >= chunkFirstLine) {
+                commitChunk(chunk, filePath, chunkFirstLine, count - chunkStartSize, chunkRejected,
+                    tokenizer.getCharsConsumed() - chunkStartChars);
             }
         }
         
-        return employees;
+        timer.stop(count, new File(filePath).length());
+        PipelineMetrics.increment("csv.rejected", rejected);
+        return count;
     }
     
     /**
-     * Parses a single line from the CSV file into an Employee object.
-     * @param line the CSV line to parse
+     * Commits a chunk event if a JFR recording is capturing it.
+     */
+    private static void commitChunk(CsvChunkEvent event, String filePath, long firstLine, int rows, int rejected, long chars) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = filePath;
+            event.firstLine = firstLine;
+            event.rows = rows;
+            event.rejectedRows = rejected;
+            event.chars = chars;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Column positions resolved from a file's header.
+     */
+    private static final class ColumnMapping {
+        // Positions of the required columns, indexed by ID, FIRST_NAME, ...
+        final int[] required;
+        final int[] attributes;
+        final AttributeSchema schema;
+        final int columnCount;
+        final int fieldLimit;
+        
+        ColumnMapping(int[] required, int[] attributes, AttributeSchema schema, int columnCount, int fieldLimit) {
+            this.required = required;
+            this.attributes = attributes;
+            this.schema = schema;
+            this.columnCount = columnCount;
+            this.fieldLimit = fieldLimit;
+        }
+    }
+    
+    /**
+     * Resolves the header record into column positions and sets the tokenizer up to skip the
+     * columns that are not used.
+     * @throws IOException if a required or requested column is missing
+     */
+    private ColumnMapping mapColumns(CsvTokenizer header) throws IOException {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.getFieldCount(); i++) {
+            positions.putIfAbsent(header.getField(i).toLowerCase(Locale.ROOT), i);
+        }
+        
+        List<String> missing = new ArrayList<>();
+        // Columns left out of the projection keep position -1
+        int[] required = new int[REQUIRED_COLUMNS.length];
+        int lastUsed = 0;
+        for (int i = 0; i < REQUIRED_COLUMNS.length; i++) {
+            required[i] = isLoaded(i) ? position(positions, REQUIRED_COLUMNS[i], missing) : -1;
+            lastUsed = Math.max(lastUsed, required[i]);
+        }
+        int[] attributes = new int[attributeNames.size()];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = position(positions, attributeNames.get(i), missing);
+            lastUsed = Math.max(lastUsed, attributes[i]);
+        }
+        if (!missing.isEmpty()) {
+            throw new IOException("Invalid CSV format. Missing columns " + missing
+                + ". Expected header with at least: Id,firstName,lastName,salary,managerId");
+        }
+        
+        AttributeSchema schema = attributes.length == 0 ? null : new AttributeSchema(attributeNames, attributeTypes);
+        ColumnMapping mapping = new ColumnMapping(required, attributes, schema, header.getFieldCount(), lastUsed + 1);
+        
+        // Skip every unused column before the last used one
+        boolean[] skipped = new boolean[mapping.fieldLimit];
+        Arrays.fill(skipped, true);
+        for (int position : required) {
+            if (position >= 0) {
+                skipped[position] = false;
+            }
+        }
+        for (int position : attributes) {
+            skipped[position] = false;
+        }
+        header.setFieldLimit(mapping.fieldLimit);
+        header.setSkippedFields(skipped);
+        return mapping;
+    }
+    
+    private boolean isLoaded(int column) {
+        switch (column) {
+            case FIRST_NAME:
+                return loadedFields.contains(Field.FIRST_NAME);
+            case LAST_NAME:
+                return loadedFields.contains(Field.LAST_NAME);
+            case SALARY:
+                return loadedFields.contains(Field.SALARY);
+            default:
+                return true;
+        }
+    }
+    
+    private static int position(Map<String, Integer> positions, String column, List<String> missing) {
+        Integer position = positions.get(column.toLowerCase(Locale.ROOT));
+        if (position == null) {
+            missing.add(column);
+            return -1;
+        }
+        return position;
+    }
+    
+    /**
+     * Parses the current CSV record into an Employee object. Names and manager IDs are pooled
+     * straight from the tokenizer's characters, without an intermediate substring.
+     * @param tokenizer the tokenizer positioned on the record
+     * @param columns the column positions of the file
      * @return Employee object or null if parsing fails
      */
-    private Employee parseEmployeeLine(String line) {
+    private Employee parseEmployeeRecord(CsvTokenizer tokenizer, ColumnMapping columns) {
         try {
-            // Split by comma and include empty strings
-            String[] parts = line.split(",", -1);
-            
-            if (parts.length != 5) {
-                System.err.println("Invalid line format: " + line + " (expected 5 parts, got " + parts.length + ")");
+            if (tokenizer.getFieldCount() != columns.columnCount) {
+                System.err.println("Invalid line format: " + tokenizer.getRecordText()
+                    + " (expected " + columns.columnCount + " parts, got " + tokenizer.getFieldCount() + ")");
                 return null;
             }
             
-            String id = parts[0].trim();
-            String firstName = parts[1].trim();
-            String lastName = parts[2].trim();
-            double salary = Double.parseDouble(parts[3].trim());
-            String managerId = parts[4].trim();
+            int[] required = columns.required;
+            String id = tokenizer.getField(required[ID]);
+            String firstName = required[FIRST_NAME] < 0 ? null : field(tokenizer, required[FIRST_NAME]);
+            String lastName = required[LAST_NAME] < 0 ? null : field(tokenizer, required[LAST_NAME]);
+            int salaryColumn = required[SALARY];
+            double salary = 0.0;
+            if (salaryColumn >= 0) {
+                salary = fixedPointSalaries
+                    ? SalaryCents.toDouble(SalaryCents.parse(tokenizer.getChars(),
+                        tokenizer.getFieldStart(salaryColumn), tokenizer.getFieldEnd(salaryColumn)))
+                    : Double.parseDouble(tokenizer.getField(salaryColumn));
+            }
             
             // Convert empty managerId to null
-            if (managerId.isEmpty()) {
-                managerId = null;
-            }
+            int managerColumn = required[MANAGER_ID];
+            String managerId = tokenizer.isFieldEmpty(managerColumn) ? null : field(tokenizer, managerColumn);
             
-            return new Employee(id, firstName, lastName, salary, managerId);
+            if (columns.schema == null) {
+                return new Employee(id, firstName, lastName, salary, managerId);
+            }
+            Object[] values = new Object[columns.attributes.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = columns.schema.getType(i).parse(tokenizer.getField(columns.attributes[i]));
+            }
+            return new Employee(id, firstName, lastName, salary, managerId, columns.schema, values);
             
         } catch (NumberFormatException e) {
-            System.err.println("Error parsing salary in line: " + line);
+            System.err.println("Error parsing number in line: " + tokenizer.getRecordText());
             return null;
         } catch (Exception e) {
-            System.err.println("Error parsing line: " + line + " - " + e.getMessage());
+            System.err.println("Error parsing line: " + tokenizer.getRecordText() + " - " + e.getMessage());
             return null;
         }
     }
-} 
\ No newline at end of file
+    
+    private String field(CsvTokenizer tokenizer, int index) {
+        if (stringPool == null) {
+            return tokenizer.getField(index);
+        }
+        return stringPool.intern(tokenizer.getChars(), tokenizer.getFieldStart(index), tokenizer.getFieldEnd(index));
+    }
+}
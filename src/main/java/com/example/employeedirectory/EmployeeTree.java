@@ -1,11 +1,21 @@
 package com.example.employeedirectory;
 
+import com.example.employeedirectory.cache.SubtreeQueryCache;
+import com.example.employeedirectory.index.LevelIndex;
+import com.example.employeedirectory.index.NameIndex;
+import com.example.employeedirectory.index.SalaryIndex;
+import com.example.employeedirectory.metrics.PipelineMetrics;
+import com.example.employeedirectory.metrics.TreeBuildEvent;
 import com.example.employeedirectory.model.Employee;
 import com.example.employeedirectory.model.EmployeeNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
 
 /**
  * Represents a tree structure of employees with bidirectional parent-child relationships.
@@ -13,13 +23,25 @@ import java.util.*;
  */
 public class EmployeeTree {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeTree.class);
+    // Batches smaller than this are not worth splitting across a pool
+    private static final int BATCH_SPLIT_THRESHOLD = 4096;
     
-    private List<EmployeeNode> rootNodes;
+    private Set<EmployeeNode> rootNodes;
     private Map<String, EmployeeNode> employeeNodeMap;
+    // Root nodes whose manager is not (yet) in the tree, keyed by the missing manager ID
+    private Map<String, List<EmployeeNode>> orphansByManagerId;
+    // Built on first use and dropped whenever the tree changes
+    private volatile NameIndex nameIndex;
+    private volatile SalaryIndex salaryIndex;
+    // Built with the tree and updated in place by upserts and removals
+    private volatile LevelIndex levelIndex;
+    // Null unless enabled; entries are dropped only for the subtrees a change touches
+    private volatile SubtreeQueryCache<List<EmployeeNode>> subordinatesCache;
     
     public EmployeeTree() {
-        this.rootNodes = new ArrayList<>();
+        this.rootNodes = new LinkedHashSet<>();
         this.employeeNodeMap = new HashMap<>();
+        this.orphansByManagerId = new HashMap<>();
     }
     
     /**
@@ -27,15 +49,30 @@ public class EmployeeTree {
      * @param employees the list of employees to build the tree from
      */
     public void buildTree(List<Employee> employees) {
+        PipelineMetrics.Timer timer = PipelineMetrics.startPhase(PipelineMetrics.TREE_BUILD);
+        
         // Clear existing tree
+        invalidateIndexes();
+        levelIndex = null;
+        SubtreeQueryCache<List<EmployeeNode>> cache = subordinatesCache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
         rootNodes.clear();
         employeeNodeMap.clear();
+        orphansByManagerId.clear();
         
         // First pass: Create nodes for all employees
+        TreeBuildEvent indexEvent = new TreeBuildEvent();
+        indexEvent.begin();
         for (Employee employee : employees) {
             EmployeeNode node = new EmployeeNode(employee);
             employeeNodeMap.put(employee.getId(), node);
         }
+        commitBuildEvent(indexEvent, TreeBuildEvent.INDEX_PHASE);
+        
+        TreeBuildEvent linkEvent = new TreeBuildEvent();
+        linkEvent.begin();
         
         // Second pass: Establish parent-child relationships
         for (Employee employee : employees) {
@@ -54,9 +91,197 @@ public class EmployeeTree {
                     // Manager not found, treat as root node
                     logger.warn("Manager with ID {} not found for employee {}", managerId, employee.getId());
                     rootNodes.add(node);
+                    orphansByManagerId.computeIfAbsent(managerId, id -> new ArrayList<>()).add(node);
                 }
             }
         }
+        commitBuildEvent(linkEvent, TreeBuildEvent.LINK_PHASE);
+        
+        // Level statistics come from a single breadth-first pass, so compute them up front
+        levelIndex = LevelIndex.build(rootNodes);
+        
+        timer.stop(employees.size(), 0);
+    }
+    
+    private void commitBuildEvent(TreeBuildEvent event, String phase) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = phase;
+            event.employees = employeeNodeMap.size();
+            event.rootNodes = rootNodes.size();
+            event.commit();
+        }
+    }
+    
+    /**
+     * Inserts a new employee or replaces an existing one in place, moving it under its new
+     * manager if the manager changed. Employees already waiting for this ID as their manager
+     * are attached to it, so the result matches a full {@link #buildTree(List)} of the same data.
+     * @param employee the employee record to insert or replace
+     * @return the node holding the employee
+     * @throws IllegalArgumentException if the new manager is the employee or one of its subordinates
+     */
+    public EmployeeNode upsertEmployee(Employee employee) {
+        invalidateIndexes();
+        String employeeId = employee.getId();
+        EmployeeNode node = employeeNodeMap.get(employeeId);
+        EmployeeNode newParent = findManagerNode(employee.getManagerId());
+        
+        if (newParent != null) {
+            // Walk up from the new manager; passing this employee, or ending at a root that is
+            // waiting for this employee as its manager, means the move would close a cycle. A
+            // manager hanging off an existing cycle never reaches a root, so the walk is bounded.
+            EmployeeNode ancestor = newParent;
+            int steps = 0;
+            while (ancestor != node && !ancestor.isRoot() && steps++ <= employeeNodeMap.size()) {
+                ancestor = ancestor.getParent();
+            }
+            if (ancestor == node || (ancestor.isRoot() && employeeId.equals(ancestor.getEmployee().getManagerId()))) {
+                throw new IllegalArgumentException("Assigning manager " + employee.getManagerId()
+                    + " to employee " + employeeId + " would create a cycle");
+            }
+        }
+        
+        LevelIndex levels = levelIndex;
+        if (node == null) {
+            node = new EmployeeNode(employee);
+            employeeNodeMap.put(employeeId, node);
+            // Adopted orphans change only the new node's subtree, which cannot be cached yet
+            invalidateSubtreeQueries(newParent);
+            List<EmployeeNode> orphans = orphansByManagerId.remove(employeeId);
+            if (orphans != null) {
+                for (EmployeeNode orphan : orphans) {
+                    if (levels != null) {
+                        levels.removeSubtree(orphan, 0);
+                    }
+                    rootNodes.remove(orphan);
+                    node.addChild(orphan);
+                }
+            }
+            attach(node, newParent);
+            if (levels != null) {
+                addToLevels(levels, node, newParent);
+            }
+        } else if (Objects.equals(node.getEmployee().getManagerId(), employee.getManagerId())) {
+            node.setEmployee(employee);
+        } else {
+            invalidateSubtreeQueries(node.getParent());
+            invalidateSubtreeQueries(newParent);
+            if (levels != null) {
+                removeFromLevels(levels, node);
+            }
+            detach(node);
+            node.setEmployee(employee);
+            attach(node, newParent);
+            if (levels != null) {
+                addToLevels(levels, node, newParent);
+            }
+        }
+        return node;
+    }
+    
+    /**
+     * Removes an employee from the tree. Its direct reports become root nodes waiting for
+     * their manager, as they would after a full reload without this employee.
+     * @param employeeId the employee ID
+     * @return the removed node, or null if no such employee exists
+     */
+    public EmployeeNode removeEmployee(String employeeId) {
+        EmployeeNode node = employeeNodeMap.remove(employeeId);
+        if (node == null) {
+            return null;
+        }
+        invalidateIndexes();
+        invalidateSubtreeQueries(node);
+        LevelIndex levels = levelIndex;
+        if (levels != null) {
+            removeFromLevels(levels, node);
+        }
+        detach(node);
+        for (EmployeeNode child : node.getChildren()) {
+            node.removeChild(child);
+            rootNodes.add(child);
+            orphansByManagerId.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(child);
+            if (levels != null) {
+                levels.addSubtree(child, 0);
+            }
+        }
+        return node;
+    }
+    
+    /**
+     * Takes a node's subtree out of the level index while the node is still linked to its
+     * manager, and records the manager's lost report. Nothing changes for a node on a cycle,
+     * which is not indexed.
+     */
+    private static void removeFromLevels(LevelIndex levels, EmployeeNode node) {
+        int depth = levels.depthOf(node);
+        if (depth < 0) {
+            return;
+        }
+        levels.removeSubtree(node, depth);
+        EmployeeNode parent = node.getParent();
+        if (parent != null) {
+            levels.spanChanged(parent, depth - 1, parent.getChildCount(), parent.getChildCount() - 1);
+        }
+    }
+    
+    /**
+     * Adds a newly linked node's subtree to the level index and records the manager's new report.
+     * Nothing is added under a manager on a cycle, which is not indexed.
+     */
+    private static void addToLevels(LevelIndex levels, EmployeeNode node, EmployeeNode parent) {
+        if (parent == null) {
+            levels.addSubtree(node, 0);
+            return;
+        }
+        int parentDepth = levels.depthOf(parent);
+        if (parentDepth >= 0) {
+            levels.addSubtree(node, parentDepth + 1);
+            levels.spanChanged(parent, parentDepth, parent.getChildCount() - 1, parent.getChildCount());
+        }
+    }
+    
+    private EmployeeNode findManagerNode(String managerId) {
+        if (managerId == null || managerId.isEmpty()) {
+            return null;
+        }
+        return employeeNodeMap.get(managerId);
+    }
+    
+    /**
+     * Links a node under its manager, or registers it as a root (and orphan if the manager is missing).
+     */
+    private void attach(EmployeeNode node, EmployeeNode parent) {
+        if (parent != null) {
+            parent.addChild(node);
+            return;
+        }
+        rootNodes.add(node);
+        String managerId = node.getEmployee().getManagerId();
+        if (managerId != null && !managerId.isEmpty()) {
+            logger.warn("Manager with ID {} not found for employee {}", managerId, node.getEmployee().getId());
+            orphansByManagerId.computeIfAbsent(managerId, id -> new ArrayList<>()).add(node);
+        }
+    }
+    
+    /**
+     * Unlinks a node from its manager or from the root set.
+     */
+    private void detach(EmployeeNode node) {
+        if (!node.isRoot()) {
+            node.getParent().removeChild(node);
+            return;
+        }
+        rootNodes.remove(node);
+        String managerId = node.getEmployee().getManagerId();
+        List<EmployeeNode> orphans = managerId == null ? null : orphansByManagerId.get(managerId);
+        if (orphans != null) {
+            orphans.remove(node);
+            if (orphans.isEmpty()) {
+                orphansByManagerId.remove(managerId);
+            }
+        }
     }
     
     /**
@@ -76,6 +301,89 @@ public class EmployeeTree {
         return employeeNodeMap.get(employeeId);
     }
     
+    /**
+     * Gets the name search index, building it on first use after the tree was built or changed.
+     * @return the name index
+     */
+    public NameIndex getNameIndex() {
+        NameIndex index = nameIndex;
+        if (index == null) {
+            index = NameIndex.build(employeeNodeMap.values());
+            nameIndex = index;
+        }
+        return index;
+    }
+    
+    /**
+     * Gets the salary range and percentile index, building it on first use after the tree was built or changed.
+     * @return the salary index
+     */
+    public SalaryIndex getSalaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            index = SalaryIndex.build(rootNodes);
+            salaryIndex = index;
+        }
+        return index;
+    }
+    
+    /**
+     * Gets the level index with per-depth head counts and span-of-control statistics.
+     * It is computed by {@link #buildTree(List)}, and upserts and removals then move only the
+     * changed employee's subtree between its levels.
+     * @return the level index
+     */
+    public LevelIndex getLevelIndex() {
+        LevelIndex index = levelIndex;
+        if (index == null) {
+            index = LevelIndex.build(rootNodes);
+            levelIndex = index;
+        }
+        return index;
+    }
+    
+    /**
+     * Caches {@link #getAllSubordinates(String)} results, bounded by their estimated size.
+     * Updates drop only the cached results of the changed employee's old and new managers and
+     * their ancestors, whose subtrees changed; a full rebuild drops everything.
+     * @param maximumBytes the estimated memory the cached results may use
+     */
+    public void enableQueryCache(long maximumBytes) {
+        subordinatesCache = new SubtreeQueryCache<>(maximumBytes, estimateListBytes(List.of()),
+            EmployeeTree::estimateListBytes);
+    }
+    
+    /**
+     * Gets the subtree query cache.
+     * @return the cache, or null if caching is not enabled
+     */
+    public SubtreeQueryCache<List<EmployeeNode>> getQueryCache() {
+        return subordinatesCache;
+    }
+    
+    // Array list header and backing array, plus one compressed reference per element
+    private static long estimateListBytes(List<EmployeeNode> list) {
+        return 40 + 4L * list.size();
+    }
+    
+    /**
+     * Drops cached subtree results of a node and all its ancestors.
+     */
+    private void invalidateSubtreeQueries(EmployeeNode node) {
+        SubtreeQueryCache<List<EmployeeNode>> cache = subordinatesCache;
+        if (cache == null) {
+            return;
+        }
+        for (EmployeeNode current = node; current != null; current = current.getParent()) {
+            cache.invalidate(current.getEmployee().getId());
+        }
+    }
+    
+    private void invalidateIndexes() {
+        nameIndex = null;
+        salaryIndex = null;
+    }
+    
     /**
      * Gets all nodes in the tree.
      * @return list of all employee nodes
@@ -158,18 +466,212 @@ public class EmployeeTree {
     
     /**
      * Gets all subordinates (children and their descendants) of a specific employee.
+     * With {@linkplain #enableQueryCache(long) caching} enabled, the list is shared and unmodifiable.
      * @param employeeId the employee ID
      * @return list of all subordinates
      */
     public List<EmployeeNode> getAllSubordinates(String employeeId) {
-        List<EmployeeNode> subordinates = new ArrayList<>();
         EmployeeNode node = employeeNodeMap.get(employeeId);
+        SubtreeQueryCache<List<EmployeeNode>> cache = subordinatesCache;
+        if (node != null && cache != null) {
+            return cache.get(employeeId, id -> {
+                List<EmployeeNode> subordinates = new ArrayList<>();
+                collectSubordinates(node, subordinates);
+                return Collections.unmodifiableList(subordinates);
+            });
+        }
+        List<EmployeeNode> subordinates = new ArrayList<>();
         if (node != null) {
             collectSubordinates(node, subordinates);
         }
         return subordinates;
     }
     
+    /**
+     * Looks up many employees at once. Results are written to the caller's array so no
+     * per-lookup collections are allocated.
+     * @param ids the employee IDs to look up
+     * @param results receives the node for {@code ids[i]} at index {@code i}, or null if not found
+     */
+    public void getNodesByIds(String[] ids, EmployeeNode[] results) {
+        getNodesByIds(ids, results, null);
+    }
+    
+    /**
+     * Looks up many employees at once, splitting the batch across a fork/join pool.
+     * @param ids the employee IDs to look up
+     * @param results receives the node for {@code ids[i]} at index {@code i}, or null if not found
+     * @param pool the pool to run on, or null to run on the calling thread
+     */
+    public void getNodesByIds(String[] ids, EmployeeNode[] results, ForkJoinPool pool) {
+        if (results.length < ids.length) {
+            throw new IllegalArgumentException("Results array is smaller than the ID array");
+        }
+        runBatch(ids.length, pool, i -> results[i] = employeeNodeMap.get(ids[i]));
+    }
+    
+    /**
+     * Looks up many employees at once, ignoring duplicate and unknown IDs.
+     * @param ids the employee IDs to look up
+     * @return the nodes found, keyed by employee ID
+     */
+    public Map<String, EmployeeNode> getNodesByIds(Collection<String> ids) {
+        Map<String, EmployeeNode> results = new HashMap<>(ids.size() * 4 / 3 + 1);
+        for (String id : ids) {
+            EmployeeNode node = employeeNodeMap.get(id);
+            if (node != null) {
+                results.put(id, node);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Streams the direct reports of many managers into a sink without copying child lists.
+     * Each distinct manager is visited once, in ID order; unknown IDs are skipped.
+     * @param ids the manager IDs
+     * @param sink receives (manager ID, direct report) pairs
+     */
+    public void getDirectReportsFor(Collection<String> ids, BiConsumer<String, EmployeeNode> sink) {
+        for (String id : sortedDistinct(ids.toArray(new String[0]))) {
+            EmployeeNode node = employeeNodeMap.get(id);
+            if (node != null) {
+                for (int i = 0; i < node.getChildCount(); i++) {
+                    sink.accept(id, node.getChild(i));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Counts the subordinates of many employees at once.
+     * @param ids the employee IDs
+     * @param counts receives the subordinate count for {@code ids[i]} at index {@code i}, or -1 if not found
+     */
+    public void countSubordinatesFor(String[] ids, int[] counts) {
+        countSubordinatesFor(ids, counts, null);
+    }
+    
+    /**
+     * Counts the subordinates of many employees at once. Duplicate IDs are counted once; when
+     * the batch covers a large part of the tree, all subtree sizes are computed in a single
+     * bottom-up pass instead of walking each subtree separately.
+     * @param ids the employee IDs
+     * @param counts receives the subordinate count for {@code ids[i]} at index {@code i}, or -1 if not found
+     * @param pool the pool to run on, or null to run on the calling thread
+     */
+    public void countSubordinatesFor(String[] ids, int[] counts, ForkJoinPool pool) {
+        if (counts.length < ids.length) {
+            throw new IllegalArgumentException("Counts array is smaller than the ID array");
+        }
+        String[] distinct = sortedDistinct(ids);
+        int[] distinctCounts = new int[distinct.length];
+        
+        if (distinct.length > employeeNodeMap.size() / 8) {
+            Map<EmployeeNode, Integer> subtreeSizes = computeSubtreeSizes();
+            runBatch(distinct.length, pool, i -> {
+                EmployeeNode node = employeeNodeMap.get(distinct[i]);
+                Integer size = node == null ? null : subtreeSizes.get(node);
+                // Nodes on a reporting cycle are unreachable from the roots and are walked directly
+                distinctCounts[i] = node == null ? -1 : size != null ? size - 1 : countSubordinates(node);
+            });
+        } else {
+            runBatch(distinct.length, pool, i -> {
+                EmployeeNode node = employeeNodeMap.get(distinct[i]);
+                distinctCounts[i] = node == null ? -1 : countSubordinates(node);
+            });
+        }
+        
+        runBatch(ids.length, pool, i -> counts[i] = distinctCounts[Arrays.binarySearch(distinct, ids[i])]);
+    }
+    
+    private static String[] sortedDistinct(String[] ids) {
+        String[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (size == 0 || !sorted[i].equals(sorted[size - 1])) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+    
+    private static int countSubordinates(EmployeeNode node) {
+        int count = 0;
+        Deque<EmployeeNode> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            EmployeeNode current = stack.pop();
+            for (int i = 0; i < current.getChildCount(); i++) {
+                EmployeeNode child = current.getChild(i);
+                // Every node has one parent, so the only way back is round a cycle to the start
+                if (child != node) {
+                    stack.push(child);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Computes the size of every subtree (including its root) from the deepest level up.
+     */
+    private Map<EmployeeNode, Integer> computeSubtreeSizes() {
+        LevelIndex levels = getLevelIndex();
+        Map<EmployeeNode, Integer> sizes = new IdentityHashMap<>(employeeNodeMap.size());
+        for (int depth = levels.getLevelCount() - 1; depth >= 0; depth--) {
+            for (EmployeeNode node : levels.getLevel(depth)) {
+                int size = 1;
+                for (int i = 0; i < node.getChildCount(); i++) {
+                    size += sizes.get(node.getChild(i));
+                }
+                sizes.put(node, size);
+            }
+        }
+        return sizes;
+    }
+    
+    private static void runBatch(int size, ForkJoinPool pool, IntConsumer body) {
+        if (pool == null || size <= BATCH_SPLIT_THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                body.accept(i);
+            }
+        } else {
+            pool.invoke(new BatchTask(0, size, body));
+        }
+    }
+    
+    /**
+     * Splits an index range in halves until it is small enough to run directly.
+     */
+    private static final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+        
+        BatchTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    body.accept(i);
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BatchTask(from, mid, body), new BatchTask(mid, to, body));
+            }
+        }
+    }
+    
     /**
      * Recursively collects all subordinates of a node.
      * @param node the node to collect subordinates from
@@ -1,11 +1,20 @@
 package com.example.employeedirectory;
 
+import com.example.employeedirectory.metrics.PipelineMetrics;
 import com.example.employeedirectory.model.Employee;
 import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.server.DirectoryServer;
+import com.example.employeedirectory.service.DirectorySnapshot;
+import com.example.employeedirectory.service.DirectoryWatcher;
 import com.example.employeedirectory.service.ValidationReportService;
+import com.example.employeedirectory.validation.SalaryBandSolver;
+import com.example.employeedirectory.validation.SalaryPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,33 +23,122 @@ import java.util.List;
 public class Main {
     
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
+    private static final long WATCH_DEBOUNCE_MILLIS = 500;
     
     public static void main(String[] args) {
         // Check if file path is provided as command line argument
         if (args.length == 0) {
-            System.err.println("Usage: java Main <csv-file-path>");
-            System.err.println("Example: java Main employees.csv");
+            printUsage();
             System.exit(1);
         }
         
-        String filePath = args[0];
+        List<String> inputs = new ArrayList<>();
+        Integer serverPort = null;
+        boolean watch = false;
+        boolean intern = false;
+        boolean fixedPoint = false;
+        long cacheBytes = 0;
+        boolean suggestSalaries = false;
         
-        logger.info("Reading employee data from: {}", filePath);
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                inputs.add(args[i]);
+            } else if ("--serve".equals(args[i])) {
+                if (i + 1 == args.length || args[i + 1].startsWith("--")) {
+                    System.err.println("Missing port for --serve");
+                    printUsage();
+                    System.exit(1);
+                }
+                serverPort = parsePort(args[++i]);
+            } else if ("--watch".equals(args[i])) {
+                watch = true;
+            } else if ("--intern".equals(args[i])) {
+                intern = true;
+            } else if ("--fixed-point".equals(args[i])) {
+                fixedPoint = true;
+            } else if ("--cache-mb".equals(args[i])) {
+                if (i + 1 == args.length || args[i + 1].startsWith("--")) {
+                    System.err.println("Missing size for --cache-mb");
+                    printUsage();
+                    System.exit(1);
+                }
+                cacheBytes = parseCacheSize(args[++i]);
+            } else if ("--suggest-salaries".equals(args[i])) {
+                suggestSalaries = true;
+            } else if ("--metrics".equals(args[i])) {
+                PipelineMetrics.setEnabled(true);
+            } else {
+                System.err.println("Unknown option: " + args[i]);
+                printUsage();
+                System.exit(1);
+            }
+        }
+        
+        if (inputs.isEmpty()) {
+            printUsage();
+            System.exit(1);
+        }
+        
+        logger.info("Reading employee data from: {}", String.join(", ", inputs));
+        if (PipelineMetrics.isEnabled()) {
+            PipelineMetrics.registerMBean();
+        }
         
         try {
             // Create CSV reader and read employee data
-            CSVReader csvReader = new CSVReader();
-            List<Employee> employees = csvReader.readEmployees(filePath);
+            CSVReader csvReader = new CSVReader(intern ? new StringPool() : null).fixedPointSalaries(fixedPoint);
+            List<Path> shards = ShardedCSVReader.resolveInputs(inputs);
+            if (watch && shards.size() != 1) {
+                System.err.println("--watch requires a single input file");
+                System.exit(1);
+            }
+            List<Employee> employees;
+            if (shards.size() == 1) {
+                employees = csvReader.readEmployees(shards.get(0).toString());
+            } else {
+                ShardedCSVReader.Result merged = new ShardedCSVReader(csvReader).read(shards);
+                logDanglingReferences(merged);
+                employees = merged.getEmployees();
+            }
             
             logger.info("Successfully loaded {} employees", employees.size());
             
             // Build the employee tree
             EmployeeTree employeeTree = new EmployeeTree();
+            if (cacheBytes > 0) {
+                employeeTree.enableQueryCache(cacheBytes);
+            }
             employeeTree.buildTree(employees);
             
             // Generate validation report
             ValidationReportService reportService = new ValidationReportService();
-            reportService.generateValidationReport(employeeTree.getAllNodes());
+            if (fixedPoint) {
+                reportService.generateExactValidationReport(employeeTree);
+            } else {
+                reportService.generateValidationReport(employeeTree.getAllNodes());
+            }
+            if (suggestSalaries) {
+                logSalaryPlan(SalaryBandSolver.solveParallel(employeeTree));
+            }
+            
+            if (PipelineMetrics.isEnabled()) {
+                for (String line : PipelineMetrics.summary().split("\\R")) {
+                    logger.info("{}", line);
+                }
+            }
+            
+            if (serverPort != null || watch) {
+                // The report has already validated the tree; the snapshot reuses its results
+                DirectorySnapshot snapshot = DirectorySnapshot.of(employeeTree, reportService.getSalaryResults(),
+                    reportService.getDepthResults());
+                DirectoryServer server = null;
+                if (serverPort != null) {
+                    server = startServer(snapshot, serverPort);
+                }
+                if (watch) {
+                    startWatching(shards.get(0).toString(), csvReader, cacheBytes, fixedPoint, snapshot, server);
+                }
+            }
             
         } catch (IOException e) {
             logger.error("Error reading file: {}", e.getMessage());
@@ -50,4 +148,111 @@ public class Main {
             System.exit(1);
         }
     }
+    
+    /**
+     * Starts the HTTP directory server and keeps it running until the JVM shuts down.
+     * @param snapshot the loaded directory
+     * @param port the port to listen on
+     * @return the running server
+     * @throws IOException if the server cannot be started
+     */
+    private static DirectoryServer startServer(DirectorySnapshot snapshot, int port) throws IOException {
+        DirectoryServer server = new DirectoryServer(snapshot, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "directory-server-shutdown"));
+        server.start();
+        return server;
+    }
+    
+    /**
+     * Watches the CSV file and reloads it on change. Reloaded snapshots are swapped into the
+     * server when one is running; otherwise a fresh validation report is printed.
+     * @param filePath the CSV file to watch
+     * @param csvReader the reader to reload the file with
+     * @param cacheBytes the subtree query cache size for reloaded trees, or 0 for none
+     * @param exactSalaryBands whether reloaded trees are validated in exact cents
+     * @param snapshot the snapshot already loaded from the file
+     * @param server the running server, or null
+     * @throws IOException if the file cannot be watched
+     */
+    private static void startWatching(String filePath, CSVReader csvReader, long cacheBytes, boolean exactSalaryBands,
+                                      DirectorySnapshot snapshot, DirectoryServer server) throws IOException {
+        DirectoryWatcher watcher = new DirectoryWatcher(Paths.get(filePath), WATCH_DEBOUNCE_MILLIS, csvReader, reloaded -> {
+            if (server != null) {
+                server.setSnapshot(reloaded);
+            } else {
+                new ValidationReportService().generateValidationReport(reloaded);
+            }
+        });
+        if (cacheBytes > 0) {
+            watcher.enableQueryCache(cacheBytes);
+        }
+        watcher.exactSalaryBands(exactSalaryBands);
+        Runtime.getRuntime().addShutdownHook(new Thread(watcher::close, "directory-watch-shutdown"));
+        watcher.start(snapshot);
+    }
+    
+    /**
+     * Logs manager references that no shard resolves, grouped under the shard they came from.
+     * @param merged the merged shards
+     */
+    private static void logDanglingReferences(ShardedCSVReader.Result merged) {
+        if (merged.getDanglingReferences().isEmpty()) {
+            return;
+        }
+        logger.warn("Unresolved manager references:");
+        Path lastShard = null;
+        for (ShardedCSVReader.DanglingReference reference : merged.getDanglingReferences()) {
+            if (!reference.getShard().equals(lastShard)) {
+                lastShard = reference.getShard();
+                logger.warn("  {}:", lastShard);
+            }
+            logger.warn("    employee {} -> manager {}", reference.getEmployeeId(), reference.getManagerId());
+        }
+    }
+    
+    /**
+     * Logs the salary changes that would bring every manager into band.
+     * @param plan the solved plan
+     */
+    private static void logSalaryPlan(SalaryPlan plan) {
+        logger.info("Suggested salary adjustments: {}", plan);
+        for (SalaryPlan.Adjustment adjustment : plan.getAdjustments()) {
+            logger.info("  {}", adjustment);
+        }
+        for (Employee manager : plan.getUnresolved()) {
+            logger.info("  {}: band narrower than one cent, left out of band", manager.getId());
+        }
+    }
+    
+    private static int parsePort(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid port: " + value);
+            System.exit(1);
+            return -1;
+        }
+    }
+    
+    private static long parseCacheSize(String megabytes) {
+        try {
+            long size = Long.parseLong(megabytes);
+            if (size > 0) {
+                return Math.multiplyExact(size, 1024L * 1024);
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            // Reported below
+        }
+        System.err.println("Invalid cache size: " + megabytes);
+        System.exit(1);
+        return -1;
+    }
+    
+    private static void printUsage() {
+        System.err.println("Usage: java Main <csv-file|directory|glob>... [--serve <port>] [--watch] [--intern] [--fixed-point] [--cache-mb <size>] [--suggest-salaries] [--metrics]");
+        System.err.println("Example: java Main employees.csv");
+        System.err.println("Example: java Main exports/ 'archive/region-*.csv.gz'");
+        System.err.println("Example: java Main employees.csv --serve 8080 --watch");
+        System.err.println("Example: java Main employees.csv --serve 8080 --cache-mb 64");
+    }
 } 
\ No newline at end of file
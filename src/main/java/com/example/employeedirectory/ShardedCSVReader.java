@@ -0,0 +1,238 @@
+package com.example.employeedirectory;
+
+import com.example.employeedirectory.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads an organization split across several CSV files ("shards"), such as one export per
+ * regional HR system. Shards are parsed concurrently and merged into one employee list for
+ * {@link EmployeeTree#buildTree(List)}; managers may live in a different shard from their reports.
+ *
+ * <p>A global index records which shard each employee ID came from, so manager references that
+ * no shard resolves can be reported with their source, and IDs that appear in more than one
+ * shard are kept once (first shard wins) and reported.
+ */
+public class ShardedCSVReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedCSVReader.class);
+
+    private final CSVReader csvReader;
+
+    public ShardedCSVReader() {
+        this(new CSVReader());
+    }
+
+    /**
+     * Creates a reader that parses each shard with the given CSV reader.
+     * @param csvReader the reader for individual shards
+     */
+    public ShardedCSVReader(CSVReader csvReader) {
+        this.csvReader = csvReader;
+    }
+
+    /**
+     * A manager reference that no shard resolves.
+     */
+    public static class DanglingReference {
+        private final String employeeId;
+        private final String managerId;
+        private final Path shard;
+
+        DanglingReference(String employeeId, String managerId, Path shard) {
+            this.employeeId = employeeId;
+            this.managerId = managerId;
+            this.shard = shard;
+        }
+
+        public String getEmployeeId() { return employeeId; }
+        public String getManagerId() { return managerId; }
+        /** @return the shard containing the employee whose manager is missing */
+        public Path getShard() { return shard; }
+    }
+
+    /**
+     * An employee ID found in more than one shard.
+     */
+    public static class DuplicateId {
+        private final String employeeId;
+        private final Path keptShard;
+        private final Path droppedShard;
+
+        DuplicateId(String employeeId, Path keptShard, Path droppedShard) {
+            this.employeeId = employeeId;
+            this.keptShard = keptShard;
+            this.droppedShard = droppedShard;
+        }
+
+        public String getEmployeeId() { return employeeId; }
+        public Path getKeptShard() { return keptShard; }
+        public Path getDroppedShard() { return droppedShard; }
+    }
+
+    /**
+     * The merged employees of all shards and any cross-shard problems found.
+     */
+    public static class Result {
+        private final List<Employee> employees;
+        private final Map<String, Path> shardById;
+        private final List<DanglingReference> danglingReferences;
+        private final List<DuplicateId> duplicateIds;
+
+        Result(List<Employee> employees, Map<String, Path> shardById, List<DanglingReference> danglingReferences,
+               List<DuplicateId> duplicateIds) {
+            this.employees = employees;
+            this.shardById = shardById;
+            this.danglingReferences = danglingReferences;
+            this.duplicateIds = duplicateIds;
+        }
+
+        /** @return all employees, in shard order and file order within each shard */
+        public List<Employee> getEmployees() { return employees; }
+        public List<DanglingReference> getDanglingReferences() { return danglingReferences; }
+        public List<DuplicateId> getDuplicateIds() { return duplicateIds; }
+
+        /**
+         * Gets the shard an employee was read from.
+         * @param employeeId the employee ID
+         * @return the shard, or null if no shard contains the employee
+         */
+        public Path getShardOf(String employeeId) {
+            return shardById.get(employeeId);
+        }
+    }
+
+    /**
+     * Expands command line inputs into shard files. Each input may be a file, a directory (all
+     * {@code .csv} and {@code .gz} files in it) or a glob such as {@code exports/region-*.csv}.
+     * @param inputs the inputs
+     * @return the shard files, in input order and name order within each directory or glob
+     * @throws IOException if an input does not exist or a directory cannot be listed
+     */
+    public static List<Path> resolveInputs(List<String> inputs) throws IOException {
+        List<Path> shards = new ArrayList<>();
+        for (String input : inputs) {
+            Path path = Paths.get(input);
+            if (input.contains("*") || input.contains("?") || input.contains("[")) {
+                Path parent = path.getParent() != null ? path.getParent() : Paths.get(".");
+                shards.addAll(list(parent, path.getFileName().toString()));
+            } else if (Files.isDirectory(path)) {
+                shards.addAll(list(path, "*.{csv,gz}"));
+            } else if (Files.exists(path)) {
+                shards.add(path);
+            } else {
+                throw new IOException("Input not found: " + input);
+            }
+        }
+        return shards;
+    }
+
+    private static List<Path> list(Path directory, String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Parses all shards concurrently and merges them.
+     * @param shards the shard files
+     * @return the merged employees and cross-shard problems
+     * @throws IOException if any shard cannot be read
+     */
+    public Result read(List<Path> shards) throws IOException {
+        int threads = Math.max(1, Math.min(shards.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<Employee>>> parsed = new ArrayList<>();
+            for (Path shard : shards) {
+                parsed.add(executor.submit(() -> csvReader.readEmployees(shard.toString())));
+            }
+            List<List<Employee>> perShard = new ArrayList<>();
+            for (int i = 0; i < parsed.size(); i++) {
+                perShard.add(await(parsed.get(i), shards.get(i)));
+            }
+            return merge(shards, perShard);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Employee> await(Future<List<Employee>> future, Path shard) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading " + shard, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new IOException("Error reading shard " + shard + ": " + cause.getMessage(), cause);
+            }
+            throw new IOException("Error reading shard " + shard, cause);
+        }
+    }
+
+    /**
+     * Builds the global ID index in shard order, then resolves every manager reference against it.
+     */
+    private static Result merge(List<Path> shards, List<List<Employee>> perShard) {
+        int total = 0;
+        for (List<Employee> employees : perShard) {
+            total += employees.size();
+        }
+        Map<String, Path> shardById = new HashMap<>(total * 4 / 3 + 1);
+        List<Employee> merged = new ArrayList<>(total);
+        List<DuplicateId> duplicates = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            Path shard = shards.get(i);
+            for (Employee employee : perShard.get(i)) {
+                Path existing = shardById.putIfAbsent(employee.getId(), shard);
+                if (existing == null) {
+                    merged.add(employee);
+                } else {
+                    duplicates.add(new DuplicateId(employee.getId(), existing, shard));
+                    logger.warn("Employee {} in {} already read from {}; keeping the first", employee.getId(), shard, existing);
+                }
+            }
+        }
+
+        List<DanglingReference> dangling = new ArrayList<>();
+        for (Employee employee : merged) {
+            String managerId = employee.getManagerId();
+            if (managerId != null && !managerId.isEmpty() && !shardById.containsKey(managerId)) {
+                Path shard = shardById.get(employee.getId());
+                dangling.add(new DanglingReference(employee.getId(), managerId, shard));
+            }
+        }
+        // Dangling references are returned for the caller to report, grouped by shard
+        logger.info("Merged {} employees from {} shards, {} unresolved manager references", merged.size(),
+            shards.size(), dangling.size());
+        return new Result(merged, shardById, dangling, duplicates);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.employeedirectory;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, thread-safe pool that returns one canonical instance for repeated strings, so a
+ * directory with millions of employees keeps a single copy of each common first name, last
+ * name and manager ID.
+ *
+ * <p>The pool is a direct-mapped cache: each string hashes to one slot and a colliding string
+ * simply replaces it. Lookups never block and memory stays fixed at {@code capacity} references,
+ * at the cost of occasionally returning a non-canonical (but equal) string. Lookups by character
+ * range only allocate a new string on a miss.
+ */
+public class StringPool {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a pool.
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    public StringPool(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Gets the canonical instance of a string.
+     * @param value the string, may be null
+     * @return an equal pooled string, or null if the value is null
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int slot = spread(value.hashCode()) & mask;
+        String pooled = slots.get(slot);
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        slots.set(slot, value);
+        return value;
+    }
+
+    /**
+     * Gets the canonical instance of a range of characters without allocating on a hit.
+     * @param chars the characters
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return an equal pooled string
+     */
+    public String intern(CharSequence chars, int start, int end) {
+        // Same hash as String.hashCode so both lookups share slots
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        int slot = spread(hash) & mask;
+        String pooled = slots.get(slot);
+        if (pooled != null && regionMatches(pooled, chars, start, end)) {
+            return pooled;
+        }
+        String value = chars.subSequence(start, end).toString();
+        slots.set(slot, value);
+        return value;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    private static boolean regionMatches(String pooled, CharSequence chars, int start, int end) {
+        if (pooled.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (pooled.charAt(i - start) != chars.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
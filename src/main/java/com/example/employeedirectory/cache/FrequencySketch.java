@@ -0,0 +1,96 @@
+package com.example.employeedirectory.cache;
+
+/**
+ * A count-min sketch estimating how often each key was requested recently. Every counter is
+ * halved once the number of recorded requests reaches ten times the table width, so the
+ * estimates favor recent popularity over lifetime totals.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+    // 64 MB of counters, enough to tell apart a few million keys
+    static final int MAXIMUM_WIDTH = 1 << 22;
+
+    private int[][] counters;
+    private int mask;
+    private int sampleSize;
+    private int additions;
+
+    /**
+     * Creates a sketch.
+     * @param width the number of counters per row, rounded up to a power of two
+     */
+    FrequencySketch(int width) {
+        resize(width);
+    }
+
+    /**
+     * Widens the sketch so that about {@code expectedKeys} keys rarely share counters. Widening
+     * discards the recorded counts, which rebuild within one sample period.
+     * @param expectedKeys the number of distinct keys to tell apart
+     */
+    void ensureCapacity(long expectedKeys) {
+        int width = (int) Math.min(MAXIMUM_WIDTH, expectedKeys);
+        if (width > width()) {
+            resize(width);
+        }
+    }
+
+    int width() {
+        return mask + 1;
+    }
+
+    private void resize(int width) {
+        int size = Integer.highestOneBit(Math.max(16, Math.min(MAXIMUM_WIDTH, width)) - 1) << 1;
+        counters = new int[DEPTH][size];
+        mask = size - 1;
+        sampleSize = 10 * size;
+        additions = 0;
+    }
+
+    /**
+     * Records one request for a key.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            counters[row][index(hash, row)]++;
+        }
+        if (++additions >= sampleSize) {
+            age();
+        }
+    }
+
+    /**
+     * Estimates the number of recent requests for a key.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[row][index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private int index(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void age() {
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45D9F3B;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.employeedirectory.cache;
+
+import com.example.employeedirectory.metrics.PipelineMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A size-bounded cache for the results of subtree queries, keyed by employee ID. Capacity is a
+ * total weight, typically an estimate of each result's size in bytes, so a few huge org charts
+ * cannot crowd out many small ones unnoticed.
+ *
+ * <p>Eviction follows the W-TinyLFU design. New entries enter a small LRU window (1% of the
+ * capacity). Entries leaving the window compete for a place in the main area against its least
+ * recently used entry, and whichever was requested less often recently, according to a
+ * {@link FrequencySketch}, is evicted. The main area is a segmented LRU: entries hit twice move
+ * from a probation segment to a protected segment holding up to 80% of the main capacity. A
+ * burst of one-off queries therefore cannot flush the hot managers' results. The sketch starts
+ * small and is widened as the cache fills, up to the most entries the capacity can hold, so
+ * admission decisions on large caches are not blurred by counter collisions.
+ *
+ * <p>Mutations of the tree must {@link #invalidate(String) invalidate} the IDs whose results
+ * they change. A load that races with an invalidation is returned to its caller but not stored.
+ * All methods are thread-safe; loaders run outside the lock.
+ *
+ * @param <V> the query result type, which should be immutable
+ */
+public final class SubtreeQueryCache<V> {
+
+    /** Hit, miss and eviction counters of a cache. */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final int entries;
+        private final long weight;
+
+        Stats(long hits, long misses, long evictions, long invalidations, int entries, long weight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.entries = entries;
+            this.weight = weight;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+        public int getEntries() { return entries; }
+        public long getWeight() { return weight; }
+
+        /**
+         * Gets the fraction of requests served from the cache.
+         * @return the hit rate, or 0 if there were no requests
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d hitRate=%.3f evictions=%d invalidations=%d entries=%d weight=%d",
+                hits, misses, hitRate(), evictions, invalidations, entries, weight);
+        }
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final class Node<V> {
+        final String key;
+        final V value;
+        final long weight;
+        int segment;
+        Node<V> previous;
+        Node<V> next;
+
+        Node(String key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /** An intrusive LRU list: head is least recently used. */
+    private static final class Segment<V> {
+        Node<V> head;
+        Node<V> tail;
+        long weight;
+
+        void addLast(Node<V> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void remove(Node<V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+    }
+
+    private static final int INITIAL_SKETCH_WIDTH = 4096;
+
+    private final long maximumWeight;
+    // The most entries the cache can hold, given the lightest possible result
+    private final long maximumEntries;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final ToLongFunction<? super V> weigher;
+    private final Map<String, Node<V>> entries = new HashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Segment<V>[] segments = new Segment[] {new Segment<V>(), new Segment<V>(), new Segment<V>()};
+    private final FrequencySketch sketch;
+    // Bumped by every invalidation so that loads started before it are not stored
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates a cache whose results weigh at least 1.
+     * @param maximumWeight the total weight the cache may hold
+     * @param weigher computes the weight of a result; results heavier than the whole cache are not stored
+     */
+    public SubtreeQueryCache(long maximumWeight, ToLongFunction<? super V> weigher) {
+        this(maximumWeight, 1, weigher);
+    }
+
+    /**
+     * Creates a cache.
+     * @param maximumWeight the total weight the cache may hold
+     * @param minimumEntryWeight the weight of the lightest possible result, which bounds the
+     *                           number of entries the frequency sketch must tell apart
+     * @param weigher computes the weight of a result; results heavier than the whole cache are not stored
+     */
+    public SubtreeQueryCache(long maximumWeight, long minimumEntryWeight, ToLongFunction<? super V> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+        }
+        if (minimumEntryWeight <= 0) {
+            throw new IllegalArgumentException("Minimum entry weight must be positive: " + minimumEntryWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.maximumEntries = Math.max(1, maximumWeight / minimumEntryWeight);
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 4 / 5;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(INITIAL_SKETCH_WIDTH);
+    }
+
+    /**
+     * Gets the cached result for an employee, computing and caching it on a miss.
+     * @param key the employee ID
+     * @param loader computes the result on a miss
+     * @return the result
+     */
+    public V get(String key, Function<String, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            sketch.increment(key);
+            Node<V> node = entries.get(key);
+            if (node != null) {
+                hits++;
+                onHit(node);
+                PipelineMetrics.increment("cache.hits", 1);
+                return node.value;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        PipelineMetrics.increment("cache.misses", 1);
+
+        V value = loader.apply(key);
+        long weight = weigher.applyAsLong(value);
+        synchronized (this) {
+            if (generation == loadGeneration && weight <= maximumWeight && !entries.containsKey(key)) {
+                Node<V> node = new Node<>(key, value, weight);
+                entries.put(key, node);
+                node.segment = WINDOW;
+                segments[WINDOW].addLast(node);
+                if (entries.size() > sketch.width()) {
+                    sketch.ensureCapacity(Math.min(maximumEntries, 2L * entries.size()));
+                }
+                evict();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops the cached result for an employee, if any.
+     * @param key the employee ID
+     */
+    public synchronized void invalidate(String key) {
+        generation++;
+        Node<V> node = entries.remove(key);
+        if (node != null) {
+            segments[node.segment].remove(node);
+            invalidations++;
+        }
+    }
+
+    /**
+     * Drops every cached result.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+        for (Segment<V> segment : segments) {
+            segment.head = null;
+            segment.tail = null;
+            segment.weight = 0;
+        }
+    }
+
+    /**
+     * Checks whether a result is cached, without counting a request.
+     * @param key the employee ID
+     * @return true if a result is cached
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Gets a snapshot of the cache counters.
+     * @return the counters
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, invalidations, entries.size(), totalWeight());
+    }
+
+    private void onHit(Node<V> node) {
+        switch (node.segment) {
+            case WINDOW:
+            case PROTECTED:
+                segments[node.segment].remove(node);
+                segments[node.segment].addLast(node);
+                break;
+            default:
+                // Second hit: promote, demoting the protected segment's LRU entries if it overflows
+                segments[PROBATION].remove(node);
+                node.segment = PROTECTED;
+                segments[PROTECTED].addLast(node);
+                while (segments[PROTECTED].weight > protectedMaximum && segments[PROTECTED].head != node) {
+                    Node<V> demoted = segments[PROTECTED].head;
+                    segments[PROTECTED].remove(demoted);
+                    demoted.segment = PROBATION;
+                    segments[PROBATION].addLast(demoted);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Moves entries that overflow the window into probation, then evicts until the cache fits,
+     * each time dropping whichever of the newest candidate and the oldest probation entry is
+     * less frequently requested.
+     */
+    private void evict() {
+        Node<V> candidate = null;
+        while (segments[WINDOW].weight > windowMaximum && segments[WINDOW].head != null) {
+            Node<V> moved = segments[WINDOW].head;
+            segments[WINDOW].remove(moved);
+            moved.segment = PROBATION;
+            segments[PROBATION].addLast(moved);
+            if (candidate == null) {
+                candidate = moved;
+            }
+        }
+
+        while (totalWeight() > maximumWeight) {
+            Node<V> victim = segments[PROBATION].head;
+            if (victim == null) {
+                victim = segments[PROTECTED].head != null ? segments[PROTECTED].head : segments[WINDOW].head;
+            } else if (candidate != null && candidate != victim
+                    && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                // The newcomer is no more popular than the entry it would displace
+                Node<V> rejected = candidate;
+                candidate = candidate.next;
+                remove(rejected);
+                continue;
+            }
+            if (victim == candidate) {
+                candidate = candidate.next;
+            }
+            remove(victim);
+        }
+    }
+
+    private void remove(Node<V> node) {
+        segments[node.segment].remove(node);
+        entries.remove(node.key);
+        evictions++;
+        PipelineMetrics.increment("cache.evictions", 1);
+    }
+
+    private long totalWeight() {
+        return segments[WINDOW].weight + segments[PROBATION].weight + segments[PROTECTED].weight;
+    }
+}
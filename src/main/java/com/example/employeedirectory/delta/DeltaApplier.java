@@ -0,0 +1,131 @@
+package com.example.employeedirectory.delta;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.index.LevelIndex;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.validation.ValidationState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies delta records to a live {@link EmployeeTree} in place and re-validates only the
+ * employees whose results can have changed: the changed employee, its old and new manager
+ * (whose direct-report average moved) and, for moves, the whole moved subtree (whose depth moved).
+ *
+ * <p>The tree is mutated directly, so callers must not read it concurrently while a delta is applied.
+ */
+public class DeltaApplier {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeltaApplier.class);
+
+    private final EmployeeTree employeeTree;
+    private final ValidationState validationState;
+
+    /**
+     * Summary of a delta application.
+     */
+    public static class Result {
+        private final int applied;
+        private final int rejected;
+        private final int revalidated;
+
+        public Result(int applied, int rejected, int revalidated) {
+            this.applied = applied;
+            this.rejected = rejected;
+            this.revalidated = revalidated;
+        }
+
+        public int getApplied() { return applied; }
+        public int getRejected() { return rejected; }
+        /** @return the number of per-employee validations re-run */
+        public int getRevalidated() { return revalidated; }
+    }
+
+    public DeltaApplier(EmployeeTree employeeTree, ValidationState validationState) {
+        this.employeeTree = employeeTree;
+        this.validationState = validationState;
+    }
+
+    /**
+     * Applies the records in order, then re-validates the affected employees once each.
+     * @param deltas the delta records to apply
+     * @return a summary of the application
+     */
+    public Result apply(List<DeltaRecord> deltas) {
+        // Employees whose salary band must be rechecked, and roots of subtrees whose depth changed
+        Set<String> salaryDirty = new LinkedHashSet<>();
+        Map<String, EmployeeNode> depthDirty = new LinkedHashMap<>();
+        int applied = 0;
+        int rejected = 0;
+
+        for (DeltaRecord delta : deltas) {
+            String employeeId = delta.getEmployeeId();
+            EmployeeNode existing = employeeTree.getNodeById(employeeId);
+            EmployeeNode oldParent = existing != null ? existing.getParent() : null;
+
+            if (delta.getOperation() == DeltaRecord.Operation.DELETE) {
+                if (existing == null) {
+                    logger.warn("Cannot delete employee {}: not found", employeeId);
+                    rejected++;
+                    continue;
+                }
+                List<EmployeeNode> orphans = existing.getChildren();
+                employeeTree.removeEmployee(employeeId);
+                validationState.remove(employeeId);
+                depthDirty.remove(employeeId);
+                markParent(oldParent, salaryDirty);
+                // Former direct reports are now roots, so their subtrees moved up
+                for (EmployeeNode orphan : orphans) {
+                    depthDirty.put(orphan.getEmployee().getId(), orphan);
+                }
+                applied++;
+                continue;
+            }
+
+            EmployeeNode node;
+            try {
+                node = employeeTree.upsertEmployee(delta.getEmployee());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Rejected delta for employee {}: {}", employeeId, e.getMessage());
+                rejected++;
+                continue;
+            }
+
+            salaryDirty.add(employeeId);
+            markParent(node.getParent(), salaryDirty);
+            if (existing == null || oldParent != node.getParent()) {
+                markParent(oldParent, salaryDirty);
+                depthDirty.put(employeeId, node);
+            }
+            applied++;
+        }
+
+        int revalidated = 0;
+        for (String employeeId : salaryDirty) {
+            EmployeeNode node = employeeTree.getNodeById(employeeId);
+            if (node != null) {
+                validationState.revalidateSalary(node);
+                revalidated++;
+            }
+        }
+        LevelIndex levels = employeeTree.getLevelIndex();
+        for (EmployeeNode node : depthDirty.values()) {
+            revalidated += validationState.revalidateSubtreeDepths(node, levels);
+        }
+
+        logger.debug("Applied {} delta records ({} rejected), re-ran {} validations", applied, rejected, revalidated);
+        return new Result(applied, rejected, revalidated);
+    }
+
+    private static void markParent(EmployeeNode parent, Set<String> salaryDirty) {
+        if (parent != null) {
+            salaryDirty.add(parent.getEmployee().getId());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.employeedirectory.delta;
+
+import com.example.employeedirectory.io.CompressedInput;
+import com.example.employeedirectory.io.CsvTokenizer;
+import com.example.employeedirectory.model.Employee;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads delta change files. The format is the employee CSV format with a leading operation column:
+ * <pre>
+ * Op,Id,firstName,lastName,salary,managerId
+ * UPSERT,126,Jane,Roe,52000,123
+ * DELETE,125,,,,
+ * </pre>
+ */
+public class DeltaReader {
+
+    private static final String HEADER = "Op,Id,firstName,lastName,salary,managerId";
+    private static final String[] HEADER_FIELDS = HEADER.split(",");
+
+    /**
+     * Reads delta records from the specified file, in file order.
+     * @param filePath path to the delta file, plain, gzip- or zstd-compressed
+     * @return list of delta records
+     * @throws IOException if there's an error reading the file
+     */
+    public List<DeltaRecord> readDeltas(String filePath) throws IOException {
+        List<DeltaRecord> deltas = new ArrayList<>();
+
+        try (CsvTokenizer tokenizer = new CsvTokenizer(
+                new InputStreamReader(CompressedInput.open(Paths.get(filePath)), StandardCharsets.UTF_8))) {
+            if (!tokenizer.nextRecord() || !isHeader(tokenizer)) {
+                throw new IOException("Invalid delta format. Expected header: " + HEADER);
+            }
+
+            while (tokenizer.nextRecord()) {
+                if (!tokenizer.isBlankRecord()) {
+                    DeltaRecord delta = parseDeltaRecord(tokenizer);
+                    if (delta != null) {
+                        deltas.add(delta);
+                    }
+                }
+            }
+        }
+
+        return deltas;
+    }
+
+    private static boolean isHeader(CsvTokenizer tokenizer) {
+        if (tokenizer.getFieldCount() < HEADER_FIELDS.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER_FIELDS.length; i++) {
+            if (!HEADER_FIELDS[i].equals(tokenizer.getField(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the current record of the delta file.
+     * @param tokenizer the tokenizer positioned on the record
+     * @return the delta record or null if parsing fails
+     */
+    private DeltaRecord parseDeltaRecord(CsvTokenizer tokenizer) {
+        int fields = tokenizer.getFieldCount();
+        try {
+            String op = tokenizer.getField(0);
+            String id = fields > 1 ? tokenizer.getField(1) : "";
+
+            if (id.isEmpty()) {
+                System.err.println("Missing employee ID in delta line: " + tokenizer.getRecordText());
+                return null;
+            }
+
+            if ("DELETE".equalsIgnoreCase(op)) {
+                return DeltaRecord.delete(id);
+            }
+
+            if (!"UPSERT".equalsIgnoreCase(op)) {
+                System.err.println("Unknown delta operation: " + op + " in line: " + tokenizer.getRecordText());
+                return null;
+            }
+
+            if (fields != 6) {
+                System.err.println("Invalid line format: " + tokenizer.getRecordText() + " (expected 6 parts, got " + fields + ")");
+                return null;
+            }
+
+            return DeltaRecord.upsert(new Employee(id, tokenizer.getField(2), tokenizer.getField(3),
+                Double.parseDouble(tokenizer.getField(4)), tokenizer.isFieldEmpty(5) ? null : tokenizer.getField(5)));
+
+        } catch (NumberFormatException e) {
+            System.err.println("Error parsing salary in delta line: " + tokenizer.getRecordText());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.employeedirectory.delta;
+
+import com.example.employeedirectory.model.Employee;
+
+/**
+ * A single row of a delta file: either an upsert carrying the full employee record,
+ * or a delete carrying only the employee ID.
+ */
+public class DeltaRecord {
+
+    /**
+     * The kind of change a delta row applies.
+     */
+    public enum Operation { UPSERT, DELETE }
+
+    private final Operation operation;
+    private final String employeeId;
+    private final Employee employee;
+
+    private DeltaRecord(Operation operation, String employeeId, Employee employee) {
+        this.operation = operation;
+        this.employeeId = employeeId;
+        this.employee = employee;
+    }
+
+    public static DeltaRecord upsert(Employee employee) {
+        return new DeltaRecord(Operation.UPSERT, employee.getId(), employee);
+    }
+
+    public static DeltaRecord delete(String employeeId) {
+        return new DeltaRecord(Operation.DELETE, employeeId, null);
+    }
+
+    public Operation getOperation() { return operation; }
+    public String getEmployeeId() { return employeeId; }
+    /** @return the new employee record, or null for deletes */
+    public Employee getEmployee() { return employee; }
+
+    @Override
+    public String toString() {
+        return "DeltaRecord{" + operation + " " + employeeId + "}";
+    }
+}
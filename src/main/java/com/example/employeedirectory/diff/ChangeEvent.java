@@ -0,0 +1,91 @@
+package com.example.employeedirectory.diff;
+
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+
+/**
+ * A single difference between two versions of the directory.
+ */
+public class ChangeEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        HIRED,
+        EXITED,
+        MOVED,
+        SALARY_CHANGED,
+        RENAMED,
+        VIOLATION_INTRODUCED,
+        VIOLATION_RESOLVED,
+        VIOLATION_CHANGED
+    }
+
+    private final Type type;
+    private final Employee before;
+    private final Employee after;
+    private final ValidationResult violation;
+    private final ValidationResult previousViolation;
+
+    public ChangeEvent(Type type, Employee before, Employee after, ValidationResult violation) {
+        this(type, before, after, violation, null);
+    }
+
+    /**
+     * Creates an event, recording the old violation for a {@link Type#VIOLATION_CHANGED} event.
+     * @param type the kind of change
+     * @param before the employee record in the old version
+     * @param after the employee record in the new version
+     * @param violation the violation, in its new form for a changed violation
+     * @param previousViolation the same violation in the old version, or null
+     */
+    public ChangeEvent(Type type, Employee before, Employee after, ValidationResult violation,
+                       ValidationResult previousViolation) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+        this.violation = violation;
+        this.previousViolation = previousViolation;
+    }
+
+    public Type getType() { return type; }
+    /** @return the employee record in the old version, or null for hires */
+    public Employee getBefore() { return before; }
+    /** @return the employee record in the new version, or null for exits */
+    public Employee getAfter() { return after; }
+    /** @return the violation for violation events, otherwise null */
+    public ValidationResult getViolation() { return violation; }
+    /** @return for a changed violation, the same violation in the old version, otherwise null */
+    public ValidationResult getPreviousViolation() { return previousViolation; }
+
+    public String getEmployeeId() {
+        return after != null ? after.getId() : before.getId();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ChangeEvent{").append(type).append(" id=").append(getEmployeeId());
+        switch (type) {
+            case MOVED:
+                sb.append(" manager ").append(before.getManagerId()).append(" -> ").append(after.getManagerId());
+                break;
+            case SALARY_CHANGED:
+                sb.append(" salary ").append(before.getSalary()).append(" -> ").append(after.getSalary());
+                break;
+            case VIOLATION_INTRODUCED:
+            case VIOLATION_RESOLVED:
+                sb.append(" ").append(violation.getMessage());
+                break;
+            case VIOLATION_CHANGED:
+                sb.append(" ").append(violation.getMessage()).append(" ").append(previousViolation.getAmount())
+                    .append(" -> ").append(violation.getAmount());
+                break;
+            default:
+                break;
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
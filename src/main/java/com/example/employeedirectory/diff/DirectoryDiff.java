@@ -0,0 +1,143 @@
+package com.example.employeedirectory.diff;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.index.LevelIndex;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.validation.EmployeeValidator;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Computes the differences between two versions of the directory as a lazy stream of
+ * {@link ChangeEvent}s. Each employee is looked up in the other version through the ID index,
+ * so the whole diff is a single linear pass over both trees and no subordinate lists are built.
+ * Reporting depths are read from each tree's {@link LevelIndex} rather than by walking every
+ * employee's management chain.
+ *
+ * <p>The returned stream can be made parallel with {@link Stream#parallel()}; every employee is
+ * compared independently, so the work splits across the node lists without coordination.
+ */
+public class DirectoryDiff {
+
+    private DirectoryDiff() {
+    }
+
+    /**
+     * Diffs two directory versions.
+     * @param before the old version
+     * @param after the new version
+     * @return the change events; hires, moves, salary changes, renames and violation changes for
+     *         employees in the new version, followed by exits. A violation present in both
+     *         versions with a different amount is reported as {@link ChangeEvent.Type#VIOLATION_CHANGED}
+     */
+    public static Stream<ChangeEvent> diff(EmployeeTree before, EmployeeTree after) {
+        Map<EmployeeNode, Integer> oldDepths = depths(before);
+        Map<EmployeeNode, Integer> newDepths = depths(after);
+        Stream<ChangeEvent> current = after.getAllNodes().stream()
+            .flatMap(node -> compare(before.getNodeById(node.getEmployee().getId()), node, oldDepths, newDepths)
+                .stream());
+        Stream<ChangeEvent> exits = before.getAllNodes().stream()
+            .filter(node -> after.getNodeById(node.getEmployee().getId()) == null)
+            .map(node -> new ChangeEvent(ChangeEvent.Type.EXITED, node.getEmployee(), null, null));
+        return Stream.concat(current, exits);
+    }
+
+    /**
+     * Maps every node reachable from the tree's roots to its depth. Nodes on a reporting cycle
+     * have no depth and are left out.
+     */
+    private static Map<EmployeeNode, Integer> depths(EmployeeTree tree) {
+        LevelIndex levels = tree.getLevelIndex();
+        Map<EmployeeNode, Integer> depths = new IdentityHashMap<>(tree.getTotalEmployeeCount());
+        for (int depth = 0; depth < levels.getLevelCount(); depth++) {
+            for (EmployeeNode node : levels.getLevel(depth)) {
+                depths.put(node, depth);
+            }
+        }
+        return depths;
+    }
+
+    /**
+     * Compares one employee across versions.
+     * @param oldNode the node in the old version, or null for a hire
+     * @param newNode the node in the new version
+     * @param oldDepths the depths of the old version's nodes
+     * @param newDepths the depths of the new version's nodes
+     * @return the change events for this employee
+     */
+    private static List<ChangeEvent> compare(EmployeeNode oldNode, EmployeeNode newNode,
+                                             Map<EmployeeNode, Integer> oldDepths,
+                                             Map<EmployeeNode, Integer> newDepths) {
+        List<ChangeEvent> events = new ArrayList<>(2);
+        Employee newEmployee = newNode.getEmployee();
+        List<ValidationResult> newViolations = violations(newNode, newDepths.get(newNode));
+
+        if (oldNode == null) {
+            events.add(new ChangeEvent(ChangeEvent.Type.HIRED, null, newEmployee, null));
+            for (ValidationResult violation : newViolations) {
+                events.add(new ChangeEvent(ChangeEvent.Type.VIOLATION_INTRODUCED, null, newEmployee, violation));
+            }
+            return events;
+        }
+
+        Employee oldEmployee = oldNode.getEmployee();
+        if (!Objects.equals(oldEmployee.getManagerId(), newEmployee.getManagerId())) {
+            events.add(new ChangeEvent(ChangeEvent.Type.MOVED, oldEmployee, newEmployee, null));
+        }
+        if (Double.compare(oldEmployee.getSalary(), newEmployee.getSalary()) != 0) {
+            events.add(new ChangeEvent(ChangeEvent.Type.SALARY_CHANGED, oldEmployee, newEmployee, null));
+        }
+        if (!Objects.equals(oldEmployee.getFirstName(), newEmployee.getFirstName())
+                || !Objects.equals(oldEmployee.getLastName(), newEmployee.getLastName())) {
+            events.add(new ChangeEvent(ChangeEvent.Type.RENAMED, oldEmployee, newEmployee, null));
+        }
+
+        List<ValidationResult> oldViolations = violations(oldNode, oldDepths.get(oldNode));
+        for (ValidationResult violation : newViolations) {
+            ValidationResult previous = sameRule(oldViolations, violation);
+            if (previous == null) {
+                events.add(new ChangeEvent(ChangeEvent.Type.VIOLATION_INTRODUCED, oldEmployee, newEmployee, violation));
+            } else if (Double.compare(previous.getAmount(), violation.getAmount()) != 0) {
+                events.add(new ChangeEvent(ChangeEvent.Type.VIOLATION_CHANGED, oldEmployee, newEmployee, violation,
+                    previous));
+            }
+        }
+        for (ValidationResult violation : oldViolations) {
+            if (sameRule(newViolations, violation) == null) {
+                events.add(new ChangeEvent(ChangeEvent.Type.VIOLATION_RESOLVED, oldEmployee, newEmployee, violation));
+            }
+        }
+        return events;
+    }
+
+    private static List<ValidationResult> violations(EmployeeNode node, Integer depth) {
+        List<ValidationResult> results = new ArrayList<>(2);
+        EmployeeValidator.validateManagerSalary(node, results);
+        ValidationResult depthResult = depth == null ? null
+            : EmployeeValidator.validateReportingDepth(node.getEmployee(), depth);
+        if (depthResult != null) {
+            results.add(depthResult);
+        }
+        return results;
+    }
+
+    /**
+     * Finds the violation of the same rule in another version's violations of the same employee.
+     * Each rule reports at most one violation per employee, and its message names the rule.
+     */
+    private static ValidationResult sameRule(List<ValidationResult> results, ValidationResult violation) {
+        for (ValidationResult result : results) {
+            if (result.getMessage().equals(violation.getMessage())) {
+                return result;
+            }
+        }
+        return null;
+    }
+}
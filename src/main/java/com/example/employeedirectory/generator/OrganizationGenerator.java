@@ -0,0 +1,350 @@
+package com.example.employeedirectory.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Generates synthetic organizations as CSV in the {@code Id,firstName,lastName,salary,managerId}
+ * format read by {@link com.example.employeedirectory.CSVReader}.
+ *
+ * <p>Output is deterministic for a given seed and configuration. Rows are streamed in
+ * breadth-first order and each manager is assigned from a moving cursor over earlier rows,
+ * so memory use is constant regardless of the number of rows generated.
+ */
+public class OrganizationGenerator {
+
+    static final String HEADER = "Id,firstName,lastName,salary,managerId";
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+        "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Wei", "Priya", "Mohammed", "Fatima", "Hiroshi", "Yuki", "Carlos", "Lucia", "Olga", "Ivan"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Wang", "Patel", "Kim", "Nguyen", "Chen", "Singh", "Tanaka", "Ivanov", "Muller", "Rossi"
+    };
+
+    /**
+     * How managers are assigned.
+     */
+    public enum Shape {
+        /** Every manager gets exactly {@code fanOut} reports. */
+        FIXED,
+        /** Each manager gets a uniformly random number of reports between 1 and {@code 2 * fanOut - 1}. */
+        RANDOM,
+        /** A single chain: every employee reports to the previous one. */
+        CHAIN,
+        /** One manager with everyone else as a direct report. */
+        STAR
+    }
+
+    /**
+     * How salaries are drawn.
+     */
+    public enum SalaryDistribution {
+        /** Uniform between the minimum and maximum salary. */
+        UNIFORM,
+        /** Normal around the midpoint of the range, clamped to the range. */
+        NORMAL,
+        /** Log-normal with a long right tail, clamped to the range. */
+        LOG_NORMAL
+    }
+
+    private final long seed;
+    private long employeeCount = 1000;
+    private Shape shape = Shape.FIXED;
+    private int fanOut = 8;
+    private int maxDepth = Integer.MAX_VALUE;
+    private SalaryDistribution salaryDistribution = SalaryDistribution.UNIFORM;
+    private double minSalary = 30000;
+    private double maxSalary = 250000;
+    private double badRowRate = 0.0;
+    private double danglingManagerRate = 0.0;
+    private int cycleCount = 0;
+
+    public OrganizationGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public OrganizationGenerator employeeCount(long employeeCount) {
+        if (employeeCount < 1) {
+            throw new IllegalArgumentException("Employee count must be positive: " + employeeCount);
+        }
+        this.employeeCount = employeeCount;
+        return this;
+    }
+
+    public OrganizationGenerator shape(Shape shape) {
+        this.shape = shape;
+        return this;
+    }
+
+    public OrganizationGenerator fanOut(int fanOut) {
+        if (fanOut < 1) {
+            throw new IllegalArgumentException("Fan-out must be positive: " + fanOut);
+        }
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * Limits the depth of the tree (the CEO has depth 0). Once the limit is reached, the remaining
+     * employees are spread over the managers at the deepest level that may still have reports.
+     * Ignored for {@link Shape#CHAIN}.
+     */
+    public OrganizationGenerator maxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be at least 1: " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public OrganizationGenerator salaries(SalaryDistribution distribution, double minSalary, double maxSalary) {
+        if (minSalary < 0 || maxSalary < minSalary) {
+            throw new IllegalArgumentException("Invalid salary range: " + minSalary + " - " + maxSalary);
+        }
+        this.salaryDistribution = distribution;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        return this;
+    }
+
+    /**
+     * Sets the probability that a malformed row (bad salary or wrong column count) is emitted
+     * after each valid row. Malformed rows use IDs outside the valid ID range.
+     */
+    public OrganizationGenerator badRowRate(double badRowRate) {
+        this.badRowRate = badRowRate;
+        return this;
+    }
+
+    /**
+     * Sets the probability that an employee references a manager ID that does not exist.
+     */
+    public OrganizationGenerator danglingManagerRate(double danglingManagerRate) {
+        this.danglingManagerRate = danglingManagerRate;
+        return this;
+    }
+
+    /**
+     * Appends the given number of two-employee reporting cycles, detached from the main tree.
+     */
+    public OrganizationGenerator cycleCount(int cycleCount) {
+        this.cycleCount = cycleCount;
+        return this;
+    }
+
+    /**
+     * Writes the organization to a file.
+     * @param file the output path
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 20)) {
+            writeTo(writer);
+        }
+    }
+
+    /**
+     * Writes the organization to a writer. The writer is not closed.
+     * @param writer the destination
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Writer writer) throws IOException {
+        Random random = new Random(seed);
+        StringBuilder row = new StringBuilder(64);
+        writer.write(HEADER);
+        writer.write('\n');
+
+        ManagerCursor cursor = new ManagerCursor(random);
+        long badRows = 0;
+        for (long index = 0; index < employeeCount; index++) {
+            String managerId;
+            if (index == 0) {
+                managerId = "";
+            } else if (random.nextDouble() < danglingManagerRate) {
+                managerId = "missing-" + index;
+                cursor.skip(index);
+            } else {
+                managerId = idOf(cursor.next(index));
+            }
+
+            row.setLength(0);
+            appendRow(row, idOf(index), random, managerId);
+            writer.append(row);
+
+            if (badRowRate > 0 && random.nextDouble() < badRowRate) {
+                writer.write(badRow(random, badRows++));
+            }
+        }
+
+        for (int i = 0; i < cycleCount; i++) {
+            String first = "cycle-" + i + "-a";
+            String second = "cycle-" + i + "-b";
+            row.setLength(0);
+            appendRow(row, first, random, second);
+            appendRow(row, second, random, first);
+            writer.append(row);
+        }
+        writer.flush();
+    }
+
+    private void appendRow(StringBuilder row, String id, Random random, String managerId) {
+        row.append(id).append(',')
+           .append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]).append(',')
+           .append(LAST_NAMES[random.nextInt(LAST_NAMES.length)]).append(',')
+           .append(Math.round(nextSalary(random))).append(',')
+           .append(managerId).append('\n');
+    }
+
+    private String badRow(Random random, long badIndex) {
+        String id = "bad-" + badIndex;
+        switch (random.nextInt(3)) {
+            case 0:
+                return id + ",Bad,Salary,not-a-number,1\n";
+            case 1:
+                return id + ",Missing,Column,50000\n";
+            default:
+                return id + ",Extra,Column,50000,1,unexpected\n";
+        }
+    }
+
+    private double nextSalary(Random random) {
+        double range = maxSalary - minSalary;
+        double value;
+        switch (salaryDistribution) {
+            case NORMAL:
+                value = minSalary + range / 2 + random.nextGaussian() * range / 6;
+                break;
+            case LOG_NORMAL:
+                value = minSalary + Math.exp(random.nextGaussian() * 0.5) * range / 5;
+                break;
+            default:
+                value = minSalary + random.nextDouble() * range;
+        }
+        return Math.max(minSalary, Math.min(maxSalary, value));
+    }
+
+    private static String idOf(long index) {
+        return Long.toString(index + 1);
+    }
+
+    /**
+     * Walks over managers in breadth-first order. Because children are emitted in the same order
+     * as their managers, each level is a contiguous index range and only the boundaries of the
+     * current and next level need to be tracked.
+     */
+    private final class ManagerCursor {
+        private final Random random;
+        private long manager;
+        private int remaining;
+        private int depth;
+        private long nextLevelStart = -1;
+        private long levelStart;
+
+        ManagerCursor(Random random) {
+            this.random = random;
+            this.remaining = drawFanOut();
+        }
+
+        long next(long index) {
+            switch (shape) {
+                case CHAIN:
+                    return index - 1;
+                case STAR:
+                    return 0;
+                default:
+                    return nextBreadthFirst(index);
+            }
+        }
+
+        /** Consumes a slot without linking, used for employees with dangling managers. */
+        void skip(long index) {
+            if (shape == Shape.FIXED || shape == Shape.RANDOM) {
+                if (nextLevelStart < 0) {
+                    nextLevelStart = index;
+                }
+                remaining--;
+            }
+        }
+
+        private long nextBreadthFirst(long index) {
+            while (remaining <= 0) {
+                if (depth + 1 >= maxDepth && manager + 1 >= nextLevelStart && nextLevelStart >= 0) {
+                    // Deepest allowed managers are exhausted; cycle back over them
+                    manager = levelStart;
+                    remaining = drawFanOut();
+                    break;
+                }
+                manager++;
+                if (manager == nextLevelStart) {
+                    depth++;
+                    levelStart = manager;
+                    nextLevelStart = -1;
+                }
+                remaining = drawFanOut();
+            }
+            if (nextLevelStart < 0) {
+                nextLevelStart = index;
+            }
+            remaining--;
+            return manager;
+        }
+
+        private int drawFanOut() {
+            return shape == Shape.RANDOM ? 1 + random.nextInt(2 * fanOut - 1) : fanOut;
+        }
+    }
+
+    /**
+     * Command line entry point.
+     * Usage: {@code OrganizationGenerator <output.csv> [--count N] [--seed S] [--shape FIXED|RANDOM|CHAIN|STAR]
+     * [--fan-out F] [--max-depth D] [--salary UNIFORM|NORMAL|LOG_NORMAL] [--bad-rows RATE]
+     * [--dangling RATE] [--cycles N]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: java OrganizationGenerator <output.csv> [--count N] [--seed S] [--shape FIXED|RANDOM|CHAIN|STAR]");
+            System.err.println("       [--fan-out F] [--max-depth D] [--salary UNIFORM|NORMAL|LOG_NORMAL] [--bad-rows RATE] [--dangling RATE] [--cycles N]");
+            System.exit(1);
+        }
+
+        long seed = 42;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if ("--seed".equals(args[i])) {
+                seed = Long.parseLong(args[i + 1]);
+            }
+        }
+
+        OrganizationGenerator generator = new OrganizationGenerator(seed);
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--count": generator.employeeCount(Long.parseLong(value)); break;
+                case "--seed": break;
+                case "--shape": generator.shape(Shape.valueOf(value)); break;
+                case "--fan-out": generator.fanOut(Integer.parseInt(value)); break;
+                case "--max-depth": generator.maxDepth(Integer.parseInt(value)); break;
+                case "--salary": generator.salaries(SalaryDistribution.valueOf(value), generator.minSalary, generator.maxSalary); break;
+                case "--bad-rows": generator.badRowRate(Double.parseDouble(value)); break;
+                case "--dangling": generator.danglingManagerRate(Double.parseDouble(value)); break;
+                case "--cycles": generator.cycleCount(Integer.parseInt(value)); break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        generator.writeTo(Paths.get(args[0]));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.employeedirectory.history;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The most recent versions of the directory, each recorded with the time it took effect, for
+ * point-in-time queries such as "who reported to whom on March 1st". Versions share structure,
+ * so the history costs memory in proportion to the changes between them. When more than the
+ * configured number of versions are recorded, the oldest is dropped.
+ */
+public class DirectoryHistory {
+
+    private final int maxVersions;
+    private final TreeMap<Instant, DirectoryVersion> versions = new TreeMap<>();
+
+    /**
+     * Creates an empty history.
+     * @param maxVersions the number of versions to keep
+     */
+    public DirectoryHistory(int maxVersions) {
+        if (maxVersions < 1) {
+            throw new IllegalArgumentException("Must keep at least one version: " + maxVersions);
+        }
+        this.maxVersions = maxVersions;
+    }
+
+    /**
+     * Records a version as effective from the given time. A version recorded at the same
+     * time as an earlier one replaces it.
+     * @param effectiveFrom when the version took effect
+     * @param version the version
+     */
+    public synchronized void record(Instant effectiveFrom, DirectoryVersion version) {
+        versions.put(effectiveFrom, version);
+        while (versions.size() > maxVersions) {
+            versions.pollFirstEntry();
+        }
+    }
+
+    /**
+     * Gets the version in effect at a point in time.
+     * @param time the point in time
+     * @return the latest version recorded at or before the time, or null if the time precedes
+     *         every retained version
+     */
+    public synchronized DirectoryVersion asOf(Instant time) {
+        Map.Entry<Instant, DirectoryVersion> entry = versions.floorEntry(time);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Gets the most recently effective version.
+     * @return the latest version, or null if the history is empty
+     */
+    public synchronized DirectoryVersion latest() {
+        return versions.isEmpty() ? null : versions.lastEntry().getValue();
+    }
+
+    /**
+     * Gets the times at which the retained versions took effect.
+     * @return the times, oldest first
+     */
+    public synchronized List<Instant> getEffectiveTimes() {
+        return new ArrayList<>(versions.keySet());
+    }
+
+    public synchronized int size() {
+        return versions.size();
+    }
+}
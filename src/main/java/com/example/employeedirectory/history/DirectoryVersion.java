@@ -0,0 +1,350 @@
+package com.example.employeedirectory.history;
+
+import com.example.employeedirectory.delta.DeltaRecord;
+import com.example.employeedirectory.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * One immutable version of the directory. Updates return a new version and leave this one
+ * queryable; the two share all structure except the changed entries' paths in the two
+ * {@link PersistentHashMap}s, so keeping many versions costs memory proportional to the number
+ * of changes rather than the directory size.
+ *
+ * <p>The hierarchy is stored as an ID index of employees plus, per manager ID, a nested map of
+ * its direct reports' IDs, so moving one employee copies a trie path in each map rather than
+ * the manager's whole report list, even for managers with a million reports. As in {@link com.example.employeedirectory.EmployeeTree}, employees whose
+ * manager is missing are roots until the manager appears, and removing a manager turns its
+ * reports into such roots. Employees on a reporting cycle in the initial data are kept but, as
+ * in the tree, are unreachable from the roots; walks through them stop before repeating anyone.
+ */
+public final class DirectoryVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectoryVersion.class);
+
+    // Reports key of employees without a manager
+    private static final String NO_MANAGER = "";
+    private static final String[] NO_REPORTS = new String[0];
+
+    private final long number;
+    private final PersistentHashMap<String, Employee> employees;
+    // Manager ID to its direct report IDs, each mapped to the sequence number it was added with,
+    // which orders the reports; never empty maps
+    private final PersistentHashMap<String, PersistentHashMap<String, Long>> reports;
+    private final long nextSequence;
+
+    private DirectoryVersion(long number, PersistentHashMap<String, Employee> employees,
+                             PersistentHashMap<String, PersistentHashMap<String, Long>> reports, long nextSequence) {
+        this.number = number;
+        this.employees = employees;
+        this.reports = reports;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Creates the first version from a full employee list. Later duplicates of an ID replace earlier ones.
+     * @param employees the employees
+     * @return version 1
+     */
+    public static DirectoryVersion of(List<Employee> employees) {
+        PersistentHashMap.Builder<String, Employee> byId = PersistentHashMap.<String, Employee>empty().toBuilder();
+        Map<String, Employee> latest = new HashMap<>(employees.size() * 4 / 3 + 1);
+        for (Employee employee : employees) {
+            byId.put(employee.getId(), employee);
+            latest.put(employee.getId(), employee);
+        }
+
+        Map<String, PersistentHashMap.Builder<String, Long>> reportLists = new HashMap<>();
+        long sequence = 0;
+        for (Employee employee : employees) {
+            if (latest.get(employee.getId()) == employee) {
+                reportLists.computeIfAbsent(managerKey(employee), id -> PersistentHashMap.<String, Long>empty().toBuilder())
+                    .put(employee.getId(), sequence++);
+            }
+        }
+        PersistentHashMap.Builder<String, PersistentHashMap<String, Long>> byManager =
+            PersistentHashMap.<String, PersistentHashMap<String, Long>>empty().toBuilder();
+        reportLists.forEach((managerId, ids) -> byManager.put(managerId, ids.build()));
+
+        int onCycles = countOnCycles(latest);
+        if (onCycles > 0) {
+            logger.warn("{} employees are on reporting cycles and unreachable from the roots", onCycles);
+        }
+        return new DirectoryVersion(1, byId.build(), byManager.build(), sequence);
+    }
+
+    /**
+     * Counts the employees whose manager chain leads back to themselves, following each chain
+     * at most once overall.
+     */
+    private static int countOnCycles(Map<String, Employee> employees) {
+        // 1 while the current walk is on an employee, 2 once its chain is known to end
+        Map<String, Integer> state = new HashMap<>(employees.size() * 4 / 3 + 1);
+        int onCycles = 0;
+        List<String> path = new ArrayList<>();
+        for (String start : employees.keySet()) {
+            path.clear();
+            String id = start;
+            while (id != null && employees.containsKey(id) && !state.containsKey(id)) {
+                state.put(id, 1);
+                path.add(id);
+                id = employees.get(id).getManagerId();
+            }
+            if (id != null && state.get(id) != null && state.get(id) == 1) {
+                // The walk came back to an employee on its own path: everyone from there is on a cycle
+                onCycles += path.size() - path.indexOf(id);
+            }
+            for (String visited : path) {
+                state.put(visited, 2);
+            }
+        }
+        return onCycles;
+    }
+
+    /**
+     * Gets this version's sequence number. Every update increments it.
+     * @return the version number
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Gets an employee.
+     * @param employeeId the employee ID
+     * @return the employee, or null if not in this version
+     */
+    public Employee getEmployee(String employeeId) {
+        return employees.get(employeeId);
+    }
+
+    /**
+     * Gets an employee's manager.
+     * @param employeeId the employee ID
+     * @return the manager, or null if the employee is unknown, a root, or waiting for a missing manager
+     */
+    public Employee getManager(String employeeId) {
+        Employee employee = employees.get(employeeId);
+        if (employee == null || employee.getManagerId() == null || employee.getManagerId().isEmpty()) {
+            return null;
+        }
+        return employees.get(employee.getManagerId());
+    }
+
+    /**
+     * Gets an employee's management chain, answering "who did this employee report to".
+     * @param employeeId the employee ID
+     * @return the managers from the direct manager up to the root, or an empty list
+     */
+    public List<Employee> getManagementChain(String employeeId) {
+        List<Employee> chain = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        seen.add(employeeId);
+        // Stopping at the first repeat also bounds the walk by the directory size
+        for (Employee manager = getManager(employeeId); manager != null && seen.add(manager.getId());
+                manager = getManager(manager.getId())) {
+            chain.add(manager);
+        }
+        return chain;
+    }
+
+    /**
+     * Gets an employee's direct reports.
+     * @param employeeId the employee ID
+     * @return the direct reports in the order they were added, or an empty list
+     */
+    public List<Employee> getDirectReports(String employeeId) {
+        if (!employees.containsKey(employeeId)) {
+            return Collections.emptyList();
+        }
+        String[] ids = reportIds(employeeId);
+        List<Employee> result = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            result.add(employees.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Gets all subordinates of an employee, depth first.
+     * @param employeeId the employee ID
+     * @return the subordinates, or an empty list
+     */
+    public List<Employee> getAllSubordinates(String employeeId) {
+        List<Employee> result = new ArrayList<>();
+        if (employees.containsKey(employeeId)) {
+            collectSubordinates(employeeId, result);
+        }
+        return result;
+    }
+
+    private void collectSubordinates(String managerId, List<Employee> result) {
+        // Explicit stack, since reporting lines can be far deeper than the call stack allows
+        Set<String> visited = new HashSet<>();
+        visited.add(managerId);
+        Deque<String> stack = new ArrayDeque<>();
+        pushReports(managerId, stack);
+        while (!stack.isEmpty()) {
+            String id = stack.pop();
+            if (visited.add(id)) {
+                result.add(employees.get(id));
+                pushReports(id, stack);
+            }
+        }
+    }
+
+    /**
+     * Pushes a manager's reports so that they pop in the order they were added.
+     */
+    private void pushReports(String managerId, Deque<String> stack) {
+        String[] ids = reportIds(managerId);
+        for (int i = ids.length - 1; i >= 0; i--) {
+            stack.push(ids[i]);
+        }
+    }
+
+    /**
+     * Gets a manager's direct report IDs in the order they were added.
+     */
+    private String[] reportIds(String managerId) {
+        PersistentHashMap<String, Long> ids = reports.get(managerId);
+        if (ids == null) {
+            return NO_REPORTS;
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(ids.size());
+        ids.forEach((id, sequence) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(id, sequence)));
+        entries.sort(Map.Entry.comparingByValue());
+        String[] result = new String[entries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = entries.get(i).getKey();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the employees without a manager in this version, including those whose manager is missing.
+     * @return the root employees, top-level ones first
+     */
+    public List<Employee> getRootEmployees() {
+        List<Employee> roots = new ArrayList<>();
+        for (String id : reportIds(NO_MANAGER)) {
+            roots.add(employees.get(id));
+        }
+        reports.forEach((managerId, ids) -> {
+            if (!managerId.equals(NO_MANAGER) && !employees.containsKey(managerId)) {
+                for (String id : reportIds(managerId)) {
+                    roots.add(employees.get(id));
+                }
+            }
+        });
+        return roots;
+    }
+
+    /**
+     * Returns a version with an employee inserted or replaced.
+     * @param employee the employee record
+     * @return the new version
+     * @throws IllegalArgumentException if the new manager is the employee or one of its subordinates
+     */
+    public DirectoryVersion upsert(Employee employee) {
+        String employeeId = employee.getId();
+        // Walk the manager IDs upward; this also catches a chain ending at a root waiting for this
+        // employee. A chain longer than the directory runs round an existing cycle without this employee.
+        String managerId = employee.getManagerId();
+        for (int steps = 0; managerId != null && !managerId.isEmpty() && steps <= employees.size(); steps++) {
+            if (managerId.equals(employeeId)) {
+                throw new IllegalArgumentException("Assigning manager " + employee.getManagerId()
+                    + " to employee " + employeeId + " would create a cycle");
+            }
+            Employee manager = employees.get(managerId);
+            managerId = manager == null ? null : manager.getManagerId();
+        }
+
+        Employee previous = employees.get(employeeId);
+        if (previous != null && Objects.equals(managerKey(previous), managerKey(employee))) {
+            return new DirectoryVersion(number + 1, employees.put(employeeId, employee), reports, nextSequence);
+        }
+        PersistentHashMap<String, PersistentHashMap<String, Long>> newReports = reports;
+        if (previous != null) {
+            newReports = removeReport(newReports, managerKey(previous), employeeId);
+        }
+        // A moved employee is listed after its new manager's existing reports
+        newReports = addReport(newReports, managerKey(employee), employeeId, nextSequence);
+        return new DirectoryVersion(number + 1, employees.put(employeeId, employee), newReports, nextSequence + 1);
+    }
+
+    /**
+     * Returns a version without an employee. Its direct reports wait for the manager to return.
+     * @param employeeId the employee ID
+     * @return the new version, or this version if the employee does not exist
+     */
+    public DirectoryVersion remove(String employeeId) {
+        Employee previous = employees.get(employeeId);
+        if (previous == null) {
+            return this;
+        }
+        return new DirectoryVersion(number + 1, employees.remove(employeeId),
+            removeReport(reports, managerKey(previous), employeeId), nextSequence);
+    }
+
+    /**
+     * Returns the version after applying delta records in order, as a single new version.
+     * @param deltas the delta records
+     * @return the new version
+     * @throws IllegalArgumentException if an upsert would create a cycle
+     */
+    public DirectoryVersion apply(List<DeltaRecord> deltas) {
+        DirectoryVersion version = this;
+        for (DeltaRecord delta : deltas) {
+            version = delta.getOperation() == DeltaRecord.Operation.DELETE
+                ? version.remove(delta.getEmployeeId())
+                : version.upsert(delta.getEmployee());
+        }
+        return version == this ? this : new DirectoryVersion(number + 1, version.employees, version.reports,
+            version.nextSequence);
+    }
+
+    private static String managerKey(Employee employee) {
+        String managerId = employee.getManagerId();
+        return managerId == null ? NO_MANAGER : managerId;
+    }
+
+    private static PersistentHashMap<String, PersistentHashMap<String, Long>> addReport(
+            PersistentHashMap<String, PersistentHashMap<String, Long>> reports, String managerId, String employeeId,
+            long sequence) {
+        PersistentHashMap<String, Long> ids = reports.get(managerId);
+        if (ids == null) {
+            ids = PersistentHashMap.empty();
+        }
+        return reports.put(managerId, ids.put(employeeId, sequence));
+    }
+
+    private static PersistentHashMap<String, PersistentHashMap<String, Long>> removeReport(
+            PersistentHashMap<String, PersistentHashMap<String, Long>> reports, String managerId, String employeeId) {
+        PersistentHashMap<String, Long> ids = reports.get(managerId);
+        if (ids == null) {
+            return reports;
+        }
+        PersistentHashMap<String, Long> updated = ids.remove(employeeId);
+        if (updated == ids) {
+            return reports;
+        }
+        return updated.isEmpty() ? reports.remove(managerId) : reports.put(managerId, updated);
+    }
+}
@@ -0,0 +1,429 @@
+package com.example.employeedirectory.history;
+
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map implemented as a hash array mapped trie. Each level of the trie consumes
+ * five bits of the key's hash and stores only the occupied slots, indexed by a 32-bit bitmap.
+ * {@link #put} and {@link #remove} copy only the nodes on the path to the changed entry, at most
+ * seven small arrays, and share everything else with the original map.
+ *
+ * <p>A {@link Builder} performs many updates without copying: nodes it created itself are
+ * updated in place until {@link Builder#build()} freezes the result.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty map.
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the value for a key.
+     * @param key the key
+     * @return the value, or null if the map has no such key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return root == null ? null : (V) root.get(0, hash(key), key);
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns a map with the given entry added or replaced.
+     * @param key the key
+     * @param value the value, not null
+     * @return the new map, or this map if it already holds the entry
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        Box added = new Box();
+        Node base = root == null ? BitmapNode.EMPTY : root;
+        Node newRoot = base.put(0, hash(key), key, value, null, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added.value ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the given key.
+     * @param key the key
+     * @return the new map, or this map if it has no such key
+     */
+    public PersistentHashMap<K, V> remove(Object key) {
+        if (root == null) {
+            return this;
+        }
+        Node newRoot = root.remove(0, hash(key), key, null, new Box());
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Visits every entry, in no particular order.
+     * @param action receives each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    /**
+     * Starts a batch of updates based on this map, which itself is left unchanged.
+     * @return the builder
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(root, size);
+    }
+
+    /**
+     * Applies many updates to a map, updating the nodes it has already copied in place.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    public static final class Builder<K, V> {
+        // Identifies the nodes this builder owns; cleared by build()
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+
+        private Builder(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null values are not supported");
+            }
+            ensureEditable();
+            Box added = new Box();
+            Node base = root == null ? BitmapNode.EMPTY : root;
+            root = base.put(0, hash(key), key, value, edit, added);
+            if (added.value) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<K, V> remove(Object key) {
+            ensureEditable();
+            if (root != null) {
+                Box removed = new Box();
+                root = root.remove(0, hash(key), key, edit, removed);
+                if (removed.value) {
+                    size--;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Freezes the builder's map. The builder cannot be used afterwards.
+         * @return the map
+         */
+        public PersistentHashMap<K, V> build() {
+            ensureEditable();
+            edit = null;
+            return root == null ? empty() : new PersistentHashMap<>(root, size);
+        }
+
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException("Builder already built");
+            }
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Box {
+        boolean value;
+    }
+
+    private abstract static class Node {
+        abstract Object get(int shift, int hash, Object key);
+
+        abstract Node put(int shift, int hash, Object key, Object value, Object edit, Box added);
+
+        /** @return the node without the key, this node if absent, or null if it becomes empty */
+        abstract Node remove(int shift, int hash, Object key, Object edit, Box removed);
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * A trie node holding, for each occupied slot, either a key and its value or (with a null
+     * key) a child node.
+     */
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        final Object edit;
+        int bitmap;
+        Object[] array;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            this.edit = edit;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = 2 * index(bit);
+            Object storedKey = array[index];
+            Object stored = array[index + 1];
+            if (storedKey == null) {
+                return ((Node) stored).get(shift + 5, hash, key);
+            }
+            return key.equals(storedKey) ? stored : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, Object edit, Box added) {
+            int bit = bit(hash, shift);
+            int index = 2 * index(bit);
+            if ((bitmap & bit) != 0) {
+                Object storedKey = array[index];
+                Object stored = array[index + 1];
+                if (storedKey == null) {
+                    Node child = ((Node) stored).put(shift + 5, hash, key, value, edit, added);
+                    return child == stored ? this : withSlot(edit, index, null, child);
+                }
+                if (key.equals(storedKey)) {
+                    return stored == value ? this : withSlot(edit, index, storedKey, value);
+                }
+                added.value = true;
+                Node child = split(shift + 5, storedKey, stored, hash, key, value, edit);
+                return withSlot(edit, index, null, child);
+            }
+
+            added.value = true;
+            Object[] expanded = new Object[array.length + 2];
+            System.arraycopy(array, 0, expanded, 0, index);
+            expanded[index] = key;
+            expanded[index + 1] = value;
+            System.arraycopy(array, index, expanded, index + 2, array.length - index);
+            if (isOwnedBy(edit)) {
+                bitmap |= bit;
+                array = expanded;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, expanded);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key, Object edit, Box removed) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = 2 * index(bit);
+            Object storedKey = array[index];
+            Object stored = array[index + 1];
+            if (storedKey == null) {
+                Node child = ((Node) stored).remove(shift + 5, hash, key, edit, removed);
+                if (child == stored) {
+                    return this;
+                }
+                if (child != null) {
+                    return withSlot(edit, index, null, child);
+                }
+            } else if (!key.equals(storedKey)) {
+                return this;
+            } else {
+                removed.value = true;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, index);
+            System.arraycopy(array, index + 2, shrunk, index, array.length - index - 2);
+            if (isOwnedBy(edit)) {
+                bitmap ^= bit;
+                array = shrunk;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, shrunk);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        private boolean isOwnedBy(Object edit) {
+            return edit != null && this.edit == edit;
+        }
+
+        private Node withSlot(Object edit, int index, Object key, Object value) {
+            if (isOwnedBy(edit)) {
+                array[index] = key;
+                array[index + 1] = value;
+                return this;
+            }
+            Object[] copy = array.clone();
+            copy[index] = key;
+            copy[index + 1] = value;
+            return new BitmapNode(edit, bitmap, copy);
+        }
+
+        /**
+         * Creates the node holding two entries whose hashes agree below {@code shift}.
+         */
+        private static Node split(int shift, Object key1, Object value1, int hash2, Object key2, Object value2,
+                                  Object edit) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(edit, hash1, new Object[] {key1, value1, key2, value2});
+            }
+            Box ignored = new Box();
+            return new BitmapNode(edit, 0, new Object[0])
+                .put(shift, hash1, key1, value1, edit, ignored)
+                .put(shift, hash2, key2, value2, edit, ignored);
+        }
+    }
+
+    /**
+     * Entries whose keys have exactly the same hash.
+     */
+    private static final class CollisionNode extends Node {
+        final Object edit;
+        final int hash;
+        Object[] array;
+
+        CollisionNode(Object edit, int hash, Object[] array) {
+            this.edit = edit;
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int find(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            int index = find(key);
+            return index < 0 ? null : array[index + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, Object edit, Box added) {
+            if (hash != this.hash) {
+                // Push this node one level down next to the new entry
+                BitmapNode parent = new BitmapNode(edit, 1 << ((this.hash >>> shift) & 31), new Object[] {null, this});
+                return parent.put(shift, hash, key, value, edit, added);
+            }
+            int index = find(key);
+            Object[] updated;
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                updated = array.clone();
+                updated[index + 1] = value;
+            } else {
+                added.value = true;
+                updated = new Object[array.length + 2];
+                System.arraycopy(array, 0, updated, 0, array.length);
+                updated[array.length] = key;
+                updated[array.length + 1] = value;
+            }
+            if (edit != null && this.edit == edit) {
+                array = updated;
+                return this;
+            }
+            return new CollisionNode(edit, hash, updated);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key, Object edit, Box removed) {
+            int index = find(key);
+            if (index < 0) {
+                return this;
+            }
+            removed.value = true;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, index);
+            System.arraycopy(array, index + 2, shrunk, index, array.length - index - 2);
+            if (edit != null && this.edit == edit) {
+                array = shrunk;
+                return this;
+            }
+            return new CollisionNode(edit, this.hash, shrunk);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.employeedirectory.index;
+
+import com.example.employeedirectory.model.EmployeeNode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Employees bucketed by depth, with per-level head counts and span-of-control statistics.
+ * Everything is computed in a single breadth-first pass, so questions like "how many people are
+ * at each level" need no traversal or recursive depth lookups.
+ *
+ * <p>The index is kept up to date in place as the tree changes: an added, moved or removed
+ * employee shifts only its own subtree between levels, and only the levels and fan-out histograms
+ * of the employees involved and their managers are adjusted. Like the tree itself, the index must
+ * not be read while an update is in progress.
+ */
+public class LevelIndex {
+
+    private final List<Level> levels;
+    // Managers keyed by number of direct reports; each set is in the order the managers were indexed
+    private final TreeMap<Integer, Set<EmployeeNode>> managersBySpan;
+
+    private LevelIndex(List<Level> levels, TreeMap<Integer, Set<EmployeeNode>> managersBySpan) {
+        this.levels = levels;
+        this.managersBySpan = managersBySpan;
+    }
+
+    /**
+     * The employees at one depth, with the running totals their statistics are computed from.
+     */
+    private static final class Level {
+        private final List<EmployeeNode> nodes = new ArrayList<>();
+        private final List<EmployeeNode> view = Collections.unmodifiableList(nodes);
+        private final SortedMap<Integer, Integer> histogram = new TreeMap<>();
+        // Position of each node in nodes, built on the first removal from this level
+        private Map<EmployeeNode, Integer> positions;
+        private int managerCount;
+        private int directReportCount;
+
+        void add(EmployeeNode node) {
+            if (positions != null) {
+                positions.put(node, nodes.size());
+            }
+            nodes.add(node);
+            count(node.getChildCount(), 1);
+        }
+
+        /**
+         * Removes a node by moving the last node of the level into its place.
+         */
+        void remove(EmployeeNode node, int span) {
+            if (positions == null) {
+                positions = new IdentityHashMap<>(nodes.size());
+                for (int i = 0; i < nodes.size(); i++) {
+                    positions.put(nodes.get(i), i);
+                }
+            }
+            int position = positions.remove(node);
+            EmployeeNode last = nodes.remove(nodes.size() - 1);
+            if (last != node) {
+                nodes.set(position, last);
+                positions.put(last, position);
+            }
+            count(span, -1);
+        }
+
+        void count(int span, int delta) {
+            histogram.merge(span, delta, Integer::sum);
+            if (histogram.get(span) == 0) {
+                histogram.remove(span);
+            }
+            if (span > 0) {
+                managerCount += delta;
+                directReportCount += span * delta;
+            }
+        }
+
+        LevelStats stats(int depth) {
+            SortedMap<Integer, Integer> spans = histogram.tailMap(1);
+            return new LevelStats(depth, nodes.size(), managerCount, directReportCount,
+                spans.isEmpty() ? 0 : spans.firstKey(), spans.isEmpty() ? 0 : spans.lastKey(),
+                new TreeMap<>(histogram));
+        }
+    }
+
+    /**
+     * Span-of-control figures for one level of the tree.
+     */
+    public static class LevelStats {
+        private final int depth;
+        private final int employeeCount;
+        private final int managerCount;
+        private final int directReportCount;
+        private final int minSpan;
+        private final int maxSpan;
+        private final SortedMap<Integer, Integer> fanOutHistogram;
+
+        LevelStats(int depth, int employeeCount, int managerCount, int directReportCount, int minSpan, int maxSpan,
+                   SortedMap<Integer, Integer> fanOutHistogram) {
+            this.depth = depth;
+            this.employeeCount = employeeCount;
+            this.managerCount = managerCount;
+            this.directReportCount = directReportCount;
+            this.minSpan = minSpan;
+            this.maxSpan = maxSpan;
+            this.fanOutHistogram = Collections.unmodifiableSortedMap(fanOutHistogram);
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getEmployeeCount() {
+            return employeeCount;
+        }
+
+        /** Number of employees at this level with at least one direct report. */
+        public int getManagerCount() {
+            return managerCount;
+        }
+
+        public int getDirectReportCount() {
+            return directReportCount;
+        }
+
+        /** Smallest number of direct reports of any manager at this level, or 0 if there are no managers. */
+        public int getMinSpan() {
+            return minSpan;
+        }
+
+        public int getMaxSpan() {
+            return maxSpan;
+        }
+
+        /** Average number of direct reports per manager at this level, or 0 if there are no managers. */
+        public double getAverageSpan() {
+            return managerCount == 0 ? 0.0 : (double) directReportCount / managerCount;
+        }
+
+        /**
+         * Gets how many employees at this level have each number of direct reports, including 0.
+         * @return map from number of direct reports to employee count
+         */
+        public SortedMap<Integer, Integer> getFanOutHistogram() {
+            return fanOutHistogram;
+        }
+    }
+
+    /**
+     * Builds the index with one breadth-first pass from the given roots.
+     * @param rootNodes the root nodes of the tree
+     * @return the index
+     */
+    public static LevelIndex build(Collection<EmployeeNode> rootNodes) {
+        LevelIndex index = new LevelIndex(new ArrayList<>(), new TreeMap<>());
+        List<EmployeeNode> current = new ArrayList<>(rootNodes);
+        while (!current.isEmpty()) {
+            Level level = index.level(index.levels.size());
+            List<EmployeeNode> next = new ArrayList<>();
+            for (EmployeeNode node : current) {
+                index.add(level, node);
+                for (int i = 0; i < node.getChildCount(); i++) {
+                    next.add(node.getChild(i));
+                }
+            }
+            current = next;
+        }
+        return index;
+    }
+
+    /**
+     * Gets the depth of an employee in the index by walking up its management chain.
+     * @param node the employee
+     * @return the depth, or -1 if the employee is not reachable from a root, as on a reporting cycle
+     */
+    public int depthOf(EmployeeNode node) {
+        int depth = 0;
+        for (EmployeeNode current = node; current.getParent() != null; current = current.getParent()) {
+            // An indexed employee reaches a root within getLevelCount() - 1 steps
+            if (++depth >= levels.size()) {
+                return -1;
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Adds an employee and all its subordinates, which must not be indexed yet.
+     * Called by the tree after linking the employee under its manager; the manager's own span is
+     * updated separately through {@link #spanChanged(EmployeeNode, int, int, int)}.
+     * @param node the root of the subtree
+     * @param depth the depth of the subtree's root
+     */
+    public void addSubtree(EmployeeNode node, int depth) {
+        List<EmployeeNode> current = Collections.singletonList(node);
+        for (int d = depth; !current.isEmpty(); d++) {
+            Level level = level(d);
+            List<EmployeeNode> next = new ArrayList<>();
+            for (EmployeeNode member : current) {
+                add(level, member);
+                for (int i = 0; i < member.getChildCount(); i++) {
+                    next.add(member.getChild(i));
+                }
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * Removes an employee and all its subordinates. Called by the tree before it unlinks the
+     * employee, so that every subordinate's number of direct reports is still the indexed one.
+     * @param node the root of the subtree
+     * @param depth the depth of the subtree's root
+     */
+    public void removeSubtree(EmployeeNode node, int depth) {
+        List<EmployeeNode> current = Collections.singletonList(node);
+        for (int d = depth; !current.isEmpty(); d++) {
+            Level level = levels.get(d);
+            List<EmployeeNode> next = new ArrayList<>();
+            for (EmployeeNode member : current) {
+                int span = member.getChildCount();
+                level.remove(member, span);
+                removeManager(member, span);
+                for (int i = 0; i < span; i++) {
+                    next.add(member.getChild(i));
+                }
+            }
+            current = next;
+        }
+        while (!levels.isEmpty() && levels.get(levels.size() - 1).nodes.isEmpty()) {
+            levels.remove(levels.size() - 1);
+        }
+    }
+
+    /**
+     * Records that an indexed manager gains or loses direct reports.
+     * @param manager the manager
+     * @param depth the manager's depth
+     * @param oldSpan the manager's indexed number of direct reports
+     * @param span the manager's new number of direct reports
+     */
+    public void spanChanged(EmployeeNode manager, int depth, int oldSpan, int span) {
+        if (span == oldSpan) {
+            return;
+        }
+        Level level = levels.get(depth);
+        level.count(oldSpan, -1);
+        level.count(span, 1);
+        removeManager(manager, oldSpan);
+        addManager(manager, span);
+    }
+
+    private Level level(int depth) {
+        if (depth == levels.size()) {
+            levels.add(new Level());
+        }
+        return levels.get(depth);
+    }
+
+    private void add(Level level, EmployeeNode node) {
+        level.add(node);
+        addManager(node, node.getChildCount());
+    }
+
+    private void addManager(EmployeeNode node, int span) {
+        if (span > 0) {
+            managersBySpan.computeIfAbsent(span, key -> new LinkedHashSet<>()).add(node);
+        }
+    }
+
+    private void removeManager(EmployeeNode node, int span) {
+        if (span > 0) {
+            Set<EmployeeNode> managers = managersBySpan.get(span);
+            managers.remove(node);
+            if (managers.isEmpty()) {
+                managersBySpan.remove(span);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of levels; the deepest employee has depth {@code getLevelCount() - 1}.
+     * @return the number of levels
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Gets the employees at a depth. Right after a build they are in breadth-first order; the
+     * updates since then leave the order of the levels they touch unspecified. Use
+     * {@link #breadthFirstOrder()} when the order matters.
+     * @param depth the depth, 0 for root employees
+     * @return the employees at that depth, empty if the tree is not that deep
+     */
+    public List<EmployeeNode> getLevel(int depth) {
+        return depth >= 0 && depth < levels.size() ? levels.get(depth).view : Collections.emptyList();
+    }
+
+    /**
+     * Lays out all indexed employees in breadth-first order: the roots, then each level with
+     * every manager's direct reports in one contiguous run, in the order of their managers.
+     * @return the employees, deepest level last
+     */
+    public EmployeeNode[] breadthFirstOrder() {
+        int size = 0;
+        for (Level level : levels) {
+            size += level.nodes.size();
+        }
+        EmployeeNode[] order = new EmployeeNode[size];
+        int next = 0;
+        for (EmployeeNode root : getLevel(0)) {
+            order[next++] = root;
+        }
+        for (int i = 0; i < next; i++) {
+            EmployeeNode node = order[i];
+            for (int child = 0; child < node.getChildCount(); child++) {
+                order[next++] = node.getChild(child);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Gets the number of employees at each depth.
+     * @return head counts indexed by depth
+     */
+    public int[] getLevelCounts() {
+        int[] counts = new int[levels.size()];
+        for (int depth = 0; depth < counts.length; depth++) {
+            counts[depth] = levels.get(depth).nodes.size();
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the span-of-control statistics for a depth.
+     * @param depth the depth, 0 for root employees
+     * @return the statistics, or null if the tree is not that deep
+     */
+    public LevelStats getLevelStats(int depth) {
+        return depth >= 0 && depth < levels.size() ? levels.get(depth).stats(depth) : null;
+    }
+
+    public List<LevelStats> getAllLevelStats() {
+        List<LevelStats> stats = new ArrayList<>(levels.size());
+        for (int depth = 0; depth < levels.size(); depth++) {
+            stats.add(levels.get(depth).stats(depth));
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    /**
+     * Finds managers with more than the given number of direct reports.
+     * @param directReports the threshold
+     * @return the matching managers, largest span first
+     */
+    public List<EmployeeNode> findManagersWithMoreThan(int directReports) {
+        List<EmployeeNode> results = new ArrayList<>();
+        for (Set<EmployeeNode> managers : managersBySpan.tailMap(directReports, false).descendingMap().values()) {
+            results.addAll(managers);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.employeedirectory.index;
+
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Case- and accent-insensitive name lookup over a sorted array of normalized keys.
+ * Every employee is indexed as both "first last" and "last first", so a prefix of either
+ * name matches.
+ *
+ * <p>The sorted array doubles as an implicit trie: all keys sharing a prefix form a contiguous
+ * range, and the children of that prefix are found by binary search on the next character.
+ * Fuzzy lookups walk this trie with one Levenshtein row per level and prune any branch whose
+ * row minimum already exceeds the allowed edits.
+ */
+public class NameIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String[] keys;
+    private final EmployeeNode[] nodes;
+
+    private NameIndex(String[] keys, EmployeeNode[] nodes) {
+        this.keys = keys;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Builds the index over the given nodes.
+     * @param employeeNodes the nodes to index
+     * @return the index
+     */
+    public static NameIndex build(Collection<EmployeeNode> employeeNodes) {
+        int size = employeeNodes.size() * 2;
+        String[] unsortedKeys = new String[size];
+        EmployeeNode[] unsortedNodes = new EmployeeNode[size];
+        int i = 0;
+        for (EmployeeNode node : employeeNodes) {
+            Employee employee = node.getEmployee();
+            String first = normalize(employee.getFirstName());
+            String last = normalize(employee.getLastName());
+            unsortedKeys[i] = first + " " + last;
+            unsortedNodes[i++] = node;
+            unsortedKeys[i] = last + " " + first;
+            unsortedNodes[i++] = node;
+        }
+
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++) {
+            order[j] = j;
+        }
+        Arrays.parallelSort(order, Comparator.comparing(j -> unsortedKeys[j]));
+
+        String[] keys = new String[size];
+        EmployeeNode[] nodes = new EmployeeNode[size];
+        for (int j = 0; j < size; j++) {
+            keys[j] = unsortedKeys[order[j]];
+            nodes[j] = unsortedNodes[order[j]];
+        }
+        return new NameIndex(keys, nodes);
+    }
+
+    /**
+     * Normalizes a name for indexing and lookup: lower case, accents removed, whitespace collapsed.
+     * @param name the raw name
+     * @return the normalized name
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name.trim(), Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the number of indexed employees.
+     * @return the employee count
+     */
+    public int size() {
+        return keys.length / 2;
+    }
+
+    /**
+     * Finds employees whose first or last name (or "first last" / "last first") starts with the prefix.
+     * @param prefix the prefix, matched case- and accent-insensitively
+     * @param offset number of matches to skip, for paging
+     * @param limit maximum number of matches to return
+     * @return matching employees in name order
+     */
+    public List<EmployeeNode> findByPrefix(String prefix, int offset, int limit) {
+        String normalized = normalize(prefix);
+        int from = lowerBound(normalized, 0, keys.length);
+        Collector collector = new Collector(offset, limit);
+        for (int i = from; i < keys.length && keys[i].startsWith(normalized) && !collector.isFull(); i++) {
+            collector.add(nodes[i]);
+        }
+        return collector.results;
+    }
+
+    /**
+     * Finds employees with a name that starts with a string within {@code maxEdits} insertions,
+     * deletions or substitutions of the query.
+     * @param query the query, matched case- and accent-insensitively
+     * @param maxEdits the maximum edit distance
+     * @param offset number of matches to skip, for paging
+     * @param limit maximum number of matches to return
+     * @return matching employees in name order
+     */
+    public List<EmployeeNode> findFuzzy(String query, int maxEdits, int offset, int limit) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("Max edits must not be negative: " + maxEdits);
+        }
+        String normalized = normalize(query);
+        int[] firstRow = new int[normalized.length() + 1];
+        for (int j = 0; j < firstRow.length; j++) {
+            firstRow[j] = j;
+        }
+        Collector collector = new Collector(offset, limit);
+        walk(normalized, maxEdits, 0, keys.length, 0, firstRow, collector);
+        return collector.results;
+    }
+
+    /**
+     * Visits the implicit trie node for the common prefix of length {@code depth} shared by keys[lo, hi).
+     * @param row edit distances between that prefix and each prefix of the query
+     */
+    private void walk(String query, int maxEdits, int lo, int hi, int depth, int[] row, Collector collector) {
+        if (row[query.length()] <= maxEdits) {
+            // The prefix itself is close enough, so every key below it matches
+            for (int i = lo; i < hi && !collector.isFull(); i++) {
+                collector.add(nodes[i]);
+            }
+            return;
+        }
+        if (min(row) > maxEdits) {
+            return;
+        }
+
+        // Keys that end at this depth sort first and have no children
+        int i = lo;
+        while (i < hi && keys[i].length() == depth) {
+            i++;
+        }
+        int[] nextRow = new int[row.length];
+        while (i < hi && !collector.isFull()) {
+            char c = keys[i].charAt(depth);
+            int end = childEnd(c, depth, i, hi);
+
+            nextRow[0] = row[0] + 1;
+            for (int j = 1; j < row.length; j++) {
+                int substitution = row[j - 1] + (query.charAt(j - 1) == c ? 0 : 1);
+                nextRow[j] = Math.min(substitution, Math.min(row[j] + 1, nextRow[j - 1] + 1));
+            }
+            walk(query, maxEdits, i, end, depth + 1, nextRow.clone(), collector);
+            i = end;
+        }
+    }
+
+    /**
+     * Finds the end of the run of keys in [from, hi) whose character at {@code depth} is {@code c}.
+     */
+    private int childEnd(char c, int depth, int from, int hi) {
+        int lo = from;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].charAt(depth) <= c) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int lowerBound(String key, int lo, int hi) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int min(int[] row) {
+        int min = Integer.MAX_VALUE;
+        for (int value : row) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    /**
+     * Gathers distinct employees with paging; each employee appears under two keys.
+     */
+    private static final class Collector {
+        private final int offset;
+        private final int limit;
+        private final Map<EmployeeNode, Boolean> seen = new IdentityHashMap<>();
+        private final List<EmployeeNode> results = new ArrayList<>();
+        private int skipped;
+
+        Collector(int offset, int limit) {
+            this.offset = Math.max(0, offset);
+            this.limit = Math.max(0, limit);
+        }
+
+        boolean isFull() {
+            return results.size() >= limit;
+        }
+
+        void add(EmployeeNode node) {
+            if (seen.put(node, Boolean.TRUE) != null) {
+                return;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                results.add(node);
+            }
+        }
+    }
+}
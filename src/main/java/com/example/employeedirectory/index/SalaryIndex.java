@@ -0,0 +1,357 @@
+package com.example.employeedirectory.index;
+
+import com.example.employeedirectory.model.EmployeeNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Salary range, listing and percentile queries over the whole directory or any manager's org.
+ *
+ * <p>Employees are laid out in pre-order, so every org is a contiguous position range. Salaries
+ * are sorted once into a primitive {@code double[]} with a permutation back to the nodes, and each
+ * position stores the rank of its salary in that order. A wavelet matrix over the ranks then
+ * answers "how many ranks below x in positions [l, r)" and "k-th smallest rank in [l, r)" in
+ * O(log n) each, which makes org-scoped counts and quantiles O(log n) after an O(log n) binary
+ * search for the salary bounds.
+ */
+public class SalaryIndex {
+
+    private final double[] sortedSalaries;
+    private final EmployeeNode[] nodesByRank;
+    private final Map<EmployeeNode, Integer> positionByNode;
+    private final int[] subtreeEnd;
+    private final WaveletMatrix ranksByPosition;
+
+    private SalaryIndex(double[] sortedSalaries, EmployeeNode[] nodesByRank, Map<EmployeeNode, Integer> positionByNode,
+                        int[] subtreeEnd, WaveletMatrix ranksByPosition) {
+        this.sortedSalaries = sortedSalaries;
+        this.nodesByRank = nodesByRank;
+        this.positionByNode = positionByNode;
+        this.subtreeEnd = subtreeEnd;
+        this.ranksByPosition = ranksByPosition;
+    }
+
+    /**
+     * Builds the index for all employees reachable from the given roots.
+     * @param rootNodes the root nodes of the tree
+     * @return the index
+     */
+    public static SalaryIndex build(Collection<EmployeeNode> rootNodes) {
+        // Pre-order layout; subtreeEnd is filled when a node's last descendant has been placed
+        List<EmployeeNode> preorder = new ArrayList<>();
+        Map<EmployeeNode, Integer> positionByNode = new IdentityHashMap<>();
+        Deque<EmployeeNode> stack = new ArrayDeque<>();
+        for (EmployeeNode root : rootNodes) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            EmployeeNode node = stack.pop();
+            positionByNode.put(node, preorder.size());
+            preorder.add(node);
+            List<EmployeeNode> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+
+        int n = preorder.size();
+        int[] subtreeEnd = new int[n];
+        for (int position = n - 1; position >= 0; position--) {
+            int end = position + 1;
+            for (EmployeeNode child : preorder.get(position).getChildren()) {
+                end = Math.max(end, subtreeEnd[positionByNode.get(child)]);
+            }
+            subtreeEnd[position] = end;
+        }
+
+        // Sort positions by salary, ties broken by position so every rank is distinct
+        double[] salaries = new double[n];
+        for (int i = 0; i < n; i++) {
+            salaries[i] = preorder.get(i).getEmployee().getSalary();
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.parallelSort(order, (a, b) -> {
+            int bySalary = Double.compare(salaries[a], salaries[b]);
+            return bySalary != 0 ? bySalary : Integer.compare(a, b);
+        });
+
+        double[] sortedSalaries = new double[n];
+        EmployeeNode[] nodesByRank = new EmployeeNode[n];
+        int[] rankByPosition = new int[n];
+        for (int rank = 0; rank < n; rank++) {
+            int position = order[rank];
+            sortedSalaries[rank] = salaries[position];
+            nodesByRank[rank] = preorder.get(position);
+            rankByPosition[position] = rank;
+        }
+
+        return new SalaryIndex(sortedSalaries, nodesByRank, positionByNode, subtreeEnd,
+            new WaveletMatrix(rankByPosition, n));
+    }
+
+    /**
+     * Gets the number of indexed employees.
+     * @return the employee count
+     */
+    public int size() {
+        return sortedSalaries.length;
+    }
+
+    /**
+     * Counts employees earning between {@code min} and {@code max}, inclusive.
+     * @param orgRoot the manager whose org (including the manager) to search, or null for everyone
+     * @param min the lowest salary to include
+     * @param max the highest salary to include
+     * @return the number of matching employees, 0 if the manager is not indexed
+     */
+    public int countInRange(EmployeeNode orgRoot, double min, double max) {
+        int[] range = positionRange(orgRoot);
+        if (range == null || min > max) {
+            return 0;
+        }
+        return ranksByPosition.countLess(range[0], range[1], upperBound(max))
+            - ranksByPosition.countLess(range[0], range[1], lowerBound(min));
+    }
+
+    /**
+     * Lists employees earning between {@code min} and {@code max}, inclusive, lowest salary first.
+     * @param orgRoot the manager whose org to search, or null for everyone
+     * @param min the lowest salary to include
+     * @param max the highest salary to include
+     * @param offset number of matches to skip, for paging
+     * @param limit maximum number of matches to return
+     * @return the matching employees
+     */
+    public List<EmployeeNode> listInRange(EmployeeNode orgRoot, double min, double max, int offset, int limit) {
+        List<EmployeeNode> results = new ArrayList<>();
+        int[] range = positionRange(orgRoot);
+        if (range == null || min > max || limit <= 0) {
+            return results;
+        }
+        int[] skipped = {Math.max(0, offset)};
+        ranksByPosition.forEachInRange(range[0], range[1], lowerBound(min), upperBound(max), rank -> {
+            if (skipped[0] > 0) {
+                skipped[0]--;
+                return true;
+            }
+            results.add(nodesByRank[rank]);
+            return results.size() < limit;
+        });
+        return results;
+    }
+
+    /**
+     * Gets a salary quantile using the nearest-rank method.
+     * @param orgRoot the manager whose org to search, or null for everyone
+     * @param quantile the quantile between 0 and 1, e.g. 0.9 for the 90th percentile
+     * @return the salary at that quantile, or NaN if the org is empty or unknown
+     */
+    public double quantile(EmployeeNode orgRoot, double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        int[] range = positionRange(orgRoot);
+        if (range == null || range[0] == range[1]) {
+            return Double.NaN;
+        }
+        int count = range[1] - range[0];
+        int k = Math.max(0, Math.min(count - 1, (int) Math.ceil(quantile * count) - 1));
+        return sortedSalaries[ranksByPosition.kthSmallest(range[0], range[1], k)];
+    }
+
+    private int[] positionRange(EmployeeNode orgRoot) {
+        if (orgRoot == null) {
+            return new int[] {0, sortedSalaries.length};
+        }
+        Integer position = positionByNode.get(orgRoot);
+        return position == null ? null : new int[] {position, subtreeEnd[position]};
+    }
+
+    /** First rank whose salary is at least {@code salary}. */
+    private int lowerBound(double salary) {
+        int lo = 0;
+        int hi = sortedSalaries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedSalaries[mid] < salary) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** First rank whose salary is greater than {@code salary}. */
+    private int upperBound(double salary) {
+        int lo = 0;
+        int hi = sortedSalaries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedSalaries[mid] <= salary) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Callback for enumerated ranks.
+     */
+    @FunctionalInterface
+    interface RankVisitor {
+        /** @return false to stop the enumeration */
+        boolean visit(int rank);
+    }
+
+    /**
+     * Wavelet matrix over a sequence of integers in [0, 2^levels). Each level stores one bit of
+     * every value with rank support, and values are stably partitioned by that bit for the next level.
+     */
+    static final class WaveletMatrix {
+        private final int levels;
+        private final int size;
+        private final long[][] bits;
+        private final int[][] blockRanks;
+        private final int[] zeros;
+
+        WaveletMatrix(int[] values, int maxValueExclusive) {
+            this.size = values.length;
+            this.levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, maxValueExclusive - 1)));
+            this.bits = new long[levels][];
+            this.blockRanks = new int[levels][];
+            this.zeros = new int[levels];
+
+            int[] current = values.clone();
+            int[] next = new int[size];
+            for (int level = 0; level < levels; level++) {
+                int shift = levels - 1 - level;
+                long[] words = new long[(size >>> 6) + 1];
+                for (int i = 0; i < size; i++) {
+                    if (((current[i] >>> shift) & 1) != 0) {
+                        words[i >>> 6] |= 1L << (i & 63);
+                    }
+                }
+                int[] ranks = new int[words.length];
+                int ones = 0;
+                for (int w = 0; w < words.length; w++) {
+                    ranks[w] = ones;
+                    ones += Long.bitCount(words[w]);
+                }
+                bits[level] = words;
+                blockRanks[level] = ranks;
+                zeros[level] = size - ones;
+
+                int zeroIndex = 0;
+                int oneIndex = zeros[level];
+                for (int i = 0; i < size; i++) {
+                    if (((current[i] >>> shift) & 1) == 0) {
+                        next[zeroIndex++] = current[i];
+                    } else {
+                        next[oneIndex++] = current[i];
+                    }
+                }
+                int[] swap = current;
+                current = next;
+                next = swap;
+            }
+        }
+
+        /** Number of ones at this level in positions [0, i). */
+        private int rank1(int level, int i) {
+            long word = bits[level][i >>> 6] & ((1L << (i & 63)) - 1);
+            return blockRanks[level][i >>> 6] + Long.bitCount(word);
+        }
+
+        private int rank0(int level, int i) {
+            return i - rank1(level, i);
+        }
+
+        /** Counts values less than {@code bound} in positions [l, r). */
+        int countLess(int l, int r, int bound) {
+            if (bound <= 0 || l >= r) {
+                return 0;
+            }
+            if (bound >= (1L << levels)) {
+                return r - l;
+            }
+            int count = 0;
+            for (int level = 0; level < levels; level++) {
+                int shift = levels - 1 - level;
+                int zl = rank0(level, l);
+                int zr = rank0(level, r);
+                if (((bound >>> shift) & 1) != 0) {
+                    count += zr - zl;
+                    l = zeros[level] + (l - zl);
+                    r = zeros[level] + (r - zr);
+                } else {
+                    l = zl;
+                    r = zr;
+                }
+            }
+            return count;
+        }
+
+        /** Finds the k-th smallest (0-based) value in positions [l, r). */
+        int kthSmallest(int l, int r, int k) {
+            int value = 0;
+            for (int level = 0; level < levels; level++) {
+                int zl = rank0(level, l);
+                int zr = rank0(level, r);
+                int zerosInRange = zr - zl;
+                if (k < zerosInRange) {
+                    l = zl;
+                    r = zr;
+                } else {
+                    k -= zerosInRange;
+                    l = zeros[level] + (l - zl);
+                    r = zeros[level] + (r - zr);
+                    value |= 1 << (levels - 1 - level);
+                }
+            }
+            return value;
+        }
+
+        /** Visits, in increasing order, every value v with low <= v < high in positions [l, r). */
+        void forEachInRange(int l, int r, int low, int high, RankVisitor visitor) {
+            if (l < r && low < high) {
+                visit(0, l, r, 0, low, high, visitor);
+            }
+        }
+
+        private boolean visit(int level, int l, int r, int prefix, int low, int high, RankVisitor visitor) {
+            if (l >= r) {
+                return true;
+            }
+            int span = 1 << (levels - level);
+            if (prefix + span <= low || prefix >= high) {
+                return true;
+            }
+            if (level == levels) {
+                for (int i = l; i < r; i++) {
+                    if (!visitor.visit(prefix)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            int zl = rank0(level, l);
+            int zr = rank0(level, r);
+            int half = span >>> 1;
+            return visit(level + 1, zl, zr, prefix, low, high, visitor)
+                && visit(level + 1, zeros[level] + (l - zl), zeros[level] + (r - zr), prefix + half, low, high, visitor);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.employeedirectory.io;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens input files that may be compressed, detecting the format from the file's magic bytes
+ * rather than its name. Compressed files are decompressed on a background thread into a pair of
+ * buffers, so decompression overlaps with parsing and no temporary file is needed.
+ */
+public final class CompressedInput {
+
+    /**
+     * Input formats recognized by their leading bytes.
+     */
+    public enum Format {
+        PLAIN,
+        /** RFC 1952, magic {@code 1f 8b}. */
+        GZIP,
+        /** Zstandard frame, magic {@code 28 b5 2f fd}. */
+        ZSTD
+    }
+
+    static final int BUFFER_SIZE = 256 * 1024;
+
+    private CompressedInput() {
+    }
+
+    /**
+     * Opens a file for reading, decompressing it if necessary.
+     * @param file the file to open
+     * @return the decompressed content
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream open(Path file) throws IOException {
+        BufferedInputStream raw = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        try {
+            switch (detect(raw)) {
+                case GZIP:
+                    return new PrefetchingInputStream(new GZIPInputStream(raw, BUFFER_SIZE), BUFFER_SIZE,
+                        "decompress-" + file.getFileName());
+                case ZSTD:
+                    return new PrefetchingInputStream(new ZstdInputStream(raw), BUFFER_SIZE,
+                        "decompress-" + file.getFileName());
+                default:
+                    return raw;
+            }
+        } catch (IOException | RuntimeException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Detects the format of a stream without consuming any bytes.
+     * @param in the stream, which must support mark/reset
+     * @return the detected format
+     * @throws IOException if the stream cannot be read
+     */
+    public static Format detect(InputStream in) throws IOException {
+        byte[] magic = new byte[4];
+        in.mark(magic.length);
+        int read = 0;
+        int n;
+        while (read < magic.length && (n = in.read(magic, read, magic.length - read)) > 0) {
+            read += n;
+        }
+        in.reset();
+
+        if (read >= 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+            return Format.GZIP;
+        }
+        if (read >= 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5
+                && (magic[2] & 0xff) == 0x2f && (magic[3] & 0xff) == 0xfd) {
+            return Format.ZSTD;
+        }
+        return Format.PLAIN;
+    }
+}
@@ -0,0 +1,479 @@
+package com.example.employeedirectory.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * An RFC 4180 CSV tokenizer. Fields may be quoted, quoted fields may contain commas, line breaks
+ * and doubled quotes ({@code ""}), records may end in LF or CRLF, and a leading UTF-8 byte order
+ * mark is skipped.
+ *
+ * <p>The tokenizer reads through its own character buffer and copies each record into a reusable
+ * array, recording where every field starts and ends. Unquoted runs are copied with one
+ * {@link System#arraycopy} per field, so clean files cost about the same as splitting a line.
+ * No string is created until a caller asks for one with {@link #getField(int)}; callers that only
+ * need to parse or pool a field can read it in place through {@link #getChars()}.
+ *
+ * <p>With a {@linkplain #setFieldLimit(int) field limit}, fields past the limit are only scanned
+ * for delimiters: they are counted but never copied, so wide files cost little more than the
+ * columns actually used. {@linkplain #setSkippedFields(boolean[]) Skipped fields} before the
+ * limit are scanned the same way and read back as empty.
+ *
+ * <p>Unquoted fields are trimmed as {@link String#trim()} would. Quoted fields are kept exactly,
+ * except that whitespace around the quotes is dropped. Text after a closing quote and stray quotes
+ * inside an unquoted field are kept as literal characters rather than rejected.
+ */
+public final class CsvTokenizer implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long consumedBeforeBuffer;
+    private boolean started;
+
+    private char[] record = new char[256];
+    private CharBuffer recordView = CharBuffer.wrap(record);
+    private int length;
+    private int[] fieldStarts = new int[8];
+    private int[] fieldEnds = new int[8];
+    private int fieldCount;
+    private int fieldLimit = Integer.MAX_VALUE;
+    // Null when every field before the limit is stored
+    private boolean[] skippedFields;
+
+    // State of the field being read
+    private int fieldStart;
+    private boolean fieldQuoted;
+    private int quoteEnd;
+
+    private long lineNumber;
+    private long recordLineNumber;
+
+    // Raw text of the current record: what earlier buffers held, then buffer[recordStart, recordEnd)
+    private final StringBuilder recordPrefix = new StringBuilder();
+    private int recordStart;
+    private int recordEnd;
+    private boolean inRecord;
+
+    /**
+     * Creates a tokenizer over a character stream. The tokenizer does its own buffering.
+     * @param reader the characters to tokenize
+     */
+    public CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Stops storing fields at the given index. Later fields of each record are skipped without
+     * being copied, but still counted by {@link #getFieldCount()}.
+     * @param fieldLimit the number of leading fields to store
+     */
+    public void setFieldLimit(int fieldLimit) {
+        if (fieldLimit < 1) {
+            throw new IllegalArgumentException("Field limit must be positive: " + fieldLimit);
+        }
+        this.fieldLimit = fieldLimit;
+    }
+
+    /**
+     * Skips individual fields without copying them. A skipped field reads back as empty.
+     * @param skippedFields true at the index of each field to skip; later indexes are stored
+     */
+    public void setSkippedFields(boolean[] skippedFields) {
+        this.skippedFields = skippedFields.clone();
+    }
+
+    /**
+     * Reads the next record.
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input cannot be read or ends inside a quoted field
+     */
+    public boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        length = 0;
+        if (position == limit && !fill()) {
+            return false;
+        }
+        if (!started) {
+            started = true;
+            if (buffer[position] == BYTE_ORDER_MARK) {
+                position++;
+            }
+        }
+        recordLineNumber = lineNumber + 1;
+        recordPrefix.setLength(0);
+        recordStart = position;
+        inRecord = true;
+        try {
+            return readRecord();
+        } finally {
+            inRecord = false;
+            recordEnd = position;
+        }
+    }
+
+    private boolean readRecord() throws IOException {
+        if (startField()) {
+            return true;
+        }
+
+        while (true) {
+            if (position == limit && !fill()) {
+                endField();
+                lineNumber++;
+                return true;
+            }
+
+            // Fast path: copy the unquoted run up to the next delimiter in one go
+            int end = position;
+            while (end < limit) {
+                char c = buffer[end];
+                if (c == ',' || c == '\n' || c == '\r' || c == '"') {
+                    break;
+                }
+                end++;
+            }
+            append(position, end);
+            position = end;
+            if (position == limit) {
+                continue;
+            }
+
+            char c = buffer[position++];
+            if (c == ',') {
+                endField();
+                if (fieldCount == fieldLimit) {
+                    skipRest();
+                    return true;
+                }
+                if (startField()) {
+                    return true;
+                }
+            } else if (c == '\n') {
+                endField();
+                lineNumber++;
+                return true;
+            } else if (c == '\r') {
+                if ((position < limit || fill()) && buffer[position] == '\n') {
+                    position++;
+                }
+                endField();
+                lineNumber++;
+                return true;
+            } else if (!fieldQuoted && isBlank(fieldStart, length)) {
+                length = fieldStart;
+                readQuoted();
+            } else {
+                appendChar('"');
+            }
+        }
+    }
+
+    /**
+     * Reads a quoted field up to and including its closing quote.
+     */
+    private void readQuoted() throws IOException {
+        fieldQuoted = true;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+            }
+            int end = position;
+            while (end < limit && buffer[end] != '"') {
+                if (buffer[end] == '\n') {
+                    lineNumber++;
+                }
+                end++;
+            }
+            append(position, end);
+            position = end;
+            if (position == limit) {
+                continue;
+            }
+
+            position++; // the quote
+            if ((position < limit || fill()) && buffer[position] == '"') {
+                appendChar('"');
+                position++;
+            } else {
+                quoteEnd = length;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips the remaining fields of the record, counting them and consuming the terminator.
+     */
+    private void skipRest() throws IOException {
+        fieldCount++;
+        while (!skipField()) {
+            fieldCount++;
+        }
+    }
+
+    /**
+     * Scans past one field and its delimiter without copying it. As for stored fields, only a
+     * quote before any other non-blank character opens a quoted field; other quotes are literal.
+     * @return true if the field ended the record
+     */
+    private boolean skipField() throws IOException {
+        boolean blank = true;
+        while (true) {
+            if (position == limit && !fill()) {
+                lineNumber++;
+                return true;
+            }
+            char c = buffer[position++];
+            if (c == ',') {
+                return false;
+            } else if (c == '\n') {
+                lineNumber++;
+                return true;
+            } else if (c == '\r') {
+                if ((position < limit || fill()) && buffer[position] == '\n') {
+                    position++;
+                }
+                lineNumber++;
+                return true;
+            } else if (c == '"' && blank) {
+                skipQuoted();
+                blank = false;
+            } else if (c > ' ') {
+                blank = false;
+            }
+        }
+    }
+
+    /**
+     * Scans past the rest of a quoted field, up to and including its closing quote.
+     */
+    private void skipQuoted() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+            }
+            char c = buffer[position++];
+            if (c == '"') {
+                if ((position < limit || fill()) && buffer[position] == '"') {
+                    position++;
+                } else {
+                    return;
+                }
+            } else if (c == '\n') {
+                lineNumber++;
+            }
+        }
+    }
+
+    /**
+     * Starts the next field, first passing over any run of skipped fields.
+     * @return true if the record ended while skipping
+     */
+    private boolean startField() throws IOException {
+        fieldStart = length;
+        fieldQuoted = false;
+        while (skippedFields != null && fieldCount < skippedFields.length && skippedFields[fieldCount]) {
+            boolean ended = skipField();
+            endField();
+            if (ended) {
+                return true;
+            }
+            if (fieldCount == fieldLimit) {
+                skipRest();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void endField() {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        int start = fieldStart;
+        int end = length;
+        if (fieldQuoted) {
+            if (isBlank(quoteEnd, end)) {
+                end = quoteEnd;
+            }
+        } else {
+            while (start < end && record[start] <= ' ') {
+                start++;
+            }
+            while (end > start && record[end - 1] <= ' ') {
+                end--;
+            }
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (record[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void append(int from, int to) {
+        int count = to - from;
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(length + count);
+        System.arraycopy(buffer, from, record, length, count);
+        length += count;
+    }
+
+    private void appendChar(char c) {
+        ensureCapacity(length + 1);
+        record[length++] = c;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > record.length) {
+            record = Arrays.copyOf(record, Math.max(capacity, record.length * 2));
+            recordView = CharBuffer.wrap(record);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (inRecord) {
+            recordPrefix.append(buffer, recordStart, limit - recordStart);
+            recordStart = 0;
+        }
+        consumedBeforeBuffer += limit;
+        position = 0;
+        limit = 0;
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Gets the number of fields in the current record, including skipped ones. A blank line is
+     * one empty field.
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Gets a field of the current record as a string.
+     * @param index the field index, below the field limit
+     * @return the field, unescaped and trimmed
+     */
+    public String getField(int index) {
+        return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    /**
+     * Gets where a field starts in {@link #getChars()}.
+     * @param index the field index
+     * @return the start offset, inclusive
+     */
+    public int getFieldStart(int index) {
+        return fieldStarts[index];
+    }
+
+    /**
+     * Gets where a field ends in {@link #getChars()}.
+     * @param index the field index
+     * @return the end offset, exclusive
+     */
+    public int getFieldEnd(int index) {
+        return fieldEnds[index];
+    }
+
+    /**
+     * Checks whether a field is empty after trimming.
+     * @param index the field index
+     * @return true if the field has no characters
+     */
+    public boolean isFieldEmpty(int index) {
+        return fieldStarts[index] == fieldEnds[index];
+    }
+
+    /**
+     * Checks whether the current record is a blank line.
+     * @return true if the record has one empty field
+     */
+    public boolean isBlankRecord() {
+        return fieldCount == 1 && isFieldEmpty(0);
+    }
+
+    /**
+     * Gets the unescaped characters of the current record, valid until the next call to
+     * {@link #nextRecord()}. Field offsets index into this sequence.
+     * @return the record characters
+     */
+    public CharSequence getChars() {
+        return recordView;
+    }
+
+    /**
+     * Gets the current record as it appears in the input, quotes and skipped fields included but
+     * without its line terminator, for error messages.
+     * @return the record text
+     */
+    public String getRecordText() {
+        StringBuilder text = new StringBuilder(recordPrefix).append(buffer, recordStart, recordEnd - recordStart);
+        int end = text.length();
+        if (end > 0 && text.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > 0 && text.charAt(end - 1) == '\r') {
+            end--;
+        }
+        text.setLength(end);
+        return text.toString();
+    }
+
+    /**
+     * Gets the 1-based line on which the current record starts.
+     * @return the line number
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    /**
+     * Gets the number of lines consumed so far, counting line breaks inside quoted fields.
+     * @return the line count
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Gets the number of characters consumed so far, including quotes and line terminators.
+     * @return the character count
+     */
+    public long getCharsConsumed() {
+        return consumedBeforeBuffer + position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
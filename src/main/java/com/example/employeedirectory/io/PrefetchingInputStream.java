@@ -0,0 +1,140 @@
+package com.example.employeedirectory.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a source stream ahead on a background thread using two buffers: while the consumer
+ * drains one buffer, the producer fills the other. Useful when the source does real work per
+ * byte, such as decompression, that can overlap with parsing.
+ *
+ * <p>An exception thrown by the source is rethrown to the consumer, as an {@link IOException},
+ * once the data read before it has been consumed. Closing this stream stops the producer and closes the source.
+ */
+class PrefetchingInputStream extends InputStream {
+
+    private static final Chunk END = new Chunk(new byte[0], 0);
+
+    private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(2);
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(2);
+    private final Thread producer;
+    private volatile IOException failure;
+    private Chunk current;
+    private int position;
+
+    private static final class Chunk {
+        final byte[] data;
+        final int length;
+
+        Chunk(byte[] data, int length) {
+            this.data = data;
+            this.length = length;
+        }
+    }
+
+    PrefetchingInputStream(InputStream source, int bufferSize, String threadName) {
+        free.add(new byte[bufferSize]);
+        free.add(new byte[bufferSize]);
+        producer = new Thread(() -> produce(source), threadName);
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void produce(InputStream source) {
+        try (InputStream in = source) {
+            while (true) {
+                byte[] buffer = free.take();
+                int length = 0;
+                int n;
+                while (length < buffer.length && (n = in.read(buffer, length, buffer.length - length)) >= 0) {
+                    length += n;
+                }
+                if (length > 0) {
+                    filled.put(new Chunk(buffer, length));
+                }
+                if (length < buffer.length) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            // Decoders such as the zstd one report corrupt input with unchecked exceptions
+            failure = new IOException("Error reading " + Thread.currentThread().getName() + ": " + e, e);
+        } catch (InterruptedException e) {
+            // Closed by the consumer
+            return;
+        }
+        try {
+            filled.put(END);
+        } catch (InterruptedException e) {
+            // Closed by the consumer
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current.data[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current.data, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current == null || current == END ? 0 : current.length - position;
+    }
+
+    /**
+     * Makes sure the current chunk has unread bytes, waiting for the producer if needed.
+     * @return false at the end of the stream
+     */
+    private boolean ensureData() throws IOException {
+        if (current == END) {
+            return false;
+        }
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (current != null) {
+            free.add(current.data);
+        }
+        try {
+            current = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for input");
+        }
+        position = 0;
+        if (current == END) {
+            if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        producer.interrupt();
+        current = END;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.employeedirectory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one chunk of consecutive CSV lines parsed by the reader.
+ */
+@Name("com.example.employeedirectory.CsvChunk")
+@Label("CSV Chunk Parsed")
+@Category({"Employee Directory", "Load"})
+@Description("A chunk of consecutive CSV lines parsed into employees")
+@StackTrace(false)
+public class CsvChunkEvent extends jdk.jfr.Event {
+
+    /** Number of lines per chunk event. */
+    public static final int CHUNK_LINES = 65536;
+
+    @Label("File")
+    public String file;
+
+    @Label("First Line")
+    @Description("1-based line number of the first line in the chunk")
+    public long firstLine;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Rejected Rows")
+    public int rejectedRows;
+
+    @Label("Characters")
+    @Description("Number of characters in the chunk, including quotes and line terminators")
+    public long chars;
+}
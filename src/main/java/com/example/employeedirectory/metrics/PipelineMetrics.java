@@ -0,0 +1,209 @@
+package com.example.employeedirectory.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Lightweight phase timers and counters for the load, build and validation pipeline.
+ *
+ * <p>Collection is off by default and enabled with {@code -Dmetrics.enabled=true} or
+ * {@link #setEnabled(boolean)}. When disabled, {@link #startPhase(String)} returns a shared no-op
+ * timer and {@link #increment(String, long)} returns immediately, so instrumented code pays only
+ * a volatile read.
+ */
+public final class PipelineMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineMetrics.class);
+
+    public static final String CSV_PARSE = "csv.parse";
+    public static final String TREE_BUILD = "tree.build";
+    public static final String VALIDATION = "validation";
+
+    public static final String OBJECT_NAME = "com.example.employeedirectory:type=PipelineMetrics";
+
+    private static final PipelineMetrics INSTANCE = new PipelineMetrics();
+    private static final Timer NOOP_TIMER = new Timer(null, 0, 0);
+
+    private final Map<String, PhaseStats> phases = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private volatile boolean enabled = Boolean.getBoolean("metrics.enabled");
+
+    private PipelineMetrics() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        } else {
+            allocationBean = null;
+        }
+    }
+
+    /**
+     * A running phase measurement. Call {@link #stop(long, long)} exactly once when the phase ends.
+     */
+    public static final class Timer {
+        private final String phase;
+        private final long startNanos;
+        private final long startAllocated;
+
+        private Timer(String phase, long startNanos, long startAllocated) {
+            this.phase = phase;
+            this.startNanos = startNanos;
+            this.startAllocated = startAllocated;
+        }
+
+        /**
+         * Ends the phase and records its cost.
+         * @param rows the number of rows or records processed
+         * @param bytes the number of input bytes processed, or 0 if not applicable
+         */
+        public void stop(long rows, long bytes) {
+            if (phase == null) {
+                return;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            long allocated = Math.max(0, INSTANCE.currentThreadAllocatedBytes() - startAllocated);
+            INSTANCE.phases.computeIfAbsent(phase, name -> new PhaseStats()).record(elapsed, rows, bytes, allocated);
+        }
+    }
+
+    /**
+     * Accumulated measurements for one phase.
+     */
+    static final class PhaseStats {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+
+        void record(long elapsedNanos, long rowCount, long byteCount, long allocated) {
+            invocations.increment();
+            nanos.add(elapsedNanos);
+            rows.add(rowCount);
+            bytes.add(byteCount);
+            allocatedBytes.add(allocated);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return INSTANCE.enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        INSTANCE.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a phase.
+     * @param phase the phase name
+     * @return the running timer, or a no-op timer when metrics are disabled
+     */
+    public static Timer startPhase(String phase) {
+        if (!INSTANCE.enabled) {
+            return NOOP_TIMER;
+        }
+        return new Timer(phase, System.nanoTime(), INSTANCE.currentThreadAllocatedBytes());
+    }
+
+    /**
+     * Adds to a named counter.
+     * @param counter the counter name
+     * @param delta the amount to add
+     */
+    public static void increment(String counter, long delta) {
+        if (!INSTANCE.enabled) {
+            return;
+        }
+        INSTANCE.counters.computeIfAbsent(counter, name -> new LongAdder()).add(delta);
+    }
+
+    public static void reset() {
+        INSTANCE.phases.clear();
+        INSTANCE.counters.clear();
+    }
+
+    /**
+     * Builds a summary of all phases with throughput figures.
+     * @return the summary, one line per phase and counter
+     */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Pipeline Metrics\n");
+        sb.append("================\n");
+        new TreeMap<>(INSTANCE.phases).forEach((name, stats) -> {
+            long nanos = stats.nanos.sum();
+            double seconds = nanos / 1_000_000_000.0;
+            long rows = stats.rows.sum();
+            long bytes = stats.bytes.sum();
+            sb.append(String.format("%-12s %8.1f ms  %,12d rows  %,14.0f rows/s", name, nanos / 1_000_000.0, rows,
+                seconds > 0 ? rows / seconds : 0.0));
+            if (bytes > 0) {
+                sb.append(String.format("  %8.1f MB/s", seconds > 0 ? bytes / seconds / (1024 * 1024) : 0.0));
+            }
+            sb.append(String.format("  ~%,d KB allocated", stats.allocatedBytes.sum() / 1024));
+            if (stats.invocations.sum() > 1) {
+                sb.append("  (").append(stats.invocations.sum()).append(" runs)");
+            }
+            sb.append('\n');
+        });
+        new TreeMap<>(INSTANCE.counters).forEach((name, value) ->
+            sb.append(String.format("%-12s %,d%n", name, value.sum())));
+        return sb.toString();
+    }
+
+    /**
+     * Registers the metrics MXBean with the platform MBean server under {@link #OBJECT_NAME}.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBeanAdapter(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            logger.debug("Pipeline metrics MBean already registered");
+        } catch (JMException e) {
+            logger.warn("Could not register pipeline metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    private long currentThreadAllocatedBytes() {
+        return allocationBean != null ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    private static Map<String, Long> phaseValues(ToLongFunction<PhaseStats> extractor) {
+        Map<String, Long> values = new TreeMap<>();
+        INSTANCE.phases.forEach((name, stats) -> values.put(name, extractor.applyAsLong(stats)));
+        return values;
+    }
+
+    /**
+     * Exposes the static metrics through JMX.
+     */
+    private static final class MXBeanAdapter implements PipelineMetricsMXBean {
+        @Override public boolean isEnabled() { return PipelineMetrics.isEnabled(); }
+        @Override public void setEnabled(boolean enabled) { PipelineMetrics.setEnabled(enabled); }
+        @Override public Map<String, Long> getElapsedMillis() { return phaseValues(stats -> stats.nanos.sum() / 1_000_000); }
+        @Override public Map<String, Long> getRowCounts() { return phaseValues(stats -> stats.rows.sum()); }
+        @Override public Map<String, Long> getAllocatedBytes() { return phaseValues(stats -> stats.allocatedBytes.sum()); }
+        @Override public String getSummary() { return PipelineMetrics.summary(); }
+        @Override public void reset() { PipelineMetrics.reset(); }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> values = new TreeMap<>();
+            INSTANCE.counters.forEach((name, value) -> values.put(name, value.sum()));
+            return values;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.employeedirectory.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the pipeline metrics collected by {@link PipelineMetrics}.
+ */
+public interface PipelineMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /** @return total elapsed milliseconds per phase */
+    Map<String, Long> getElapsedMillis();
+
+    /** @return total rows processed per phase */
+    Map<String, Long> getRowCounts();
+
+    /** @return estimated bytes allocated on the calling thread per phase */
+    Map<String, Long> getAllocatedBytes();
+
+    /** @return the named counters */
+    Map<String, Long> getCounters();
+
+    /** @return a human readable summary of all phases and counters */
+    String getSummary();
+
+    void reset();
+}
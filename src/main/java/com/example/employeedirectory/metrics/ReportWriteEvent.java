@@ -0,0 +1,25 @@
+package com.example.employeedirectory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the output of one section of the validation report.
+ */
+@Name("com.example.employeedirectory.ReportWrite")
+@Label("Report Section Written")
+@Category({"Employee Directory", "Report"})
+@Description("One section of the validation report written to the log")
+@StackTrace(false)
+public class ReportWriteEvent extends jdk.jfr.Event {
+
+    @Label("Section")
+    public String section;
+
+    @Label("Entries")
+    @Description("Number of violations written in this section")
+    public int entries;
+}
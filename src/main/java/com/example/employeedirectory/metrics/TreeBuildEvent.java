@@ -0,0 +1,31 @@
+package com.example.employeedirectory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one phase of {@link com.example.employeedirectory.EmployeeTree#buildTree}.
+ */
+@Name("com.example.employeedirectory.TreeBuild")
+@Label("Tree Build Phase")
+@Category({"Employee Directory", "Build"})
+@Description("One pass of building the employee tree")
+@StackTrace(false)
+public class TreeBuildEvent extends jdk.jfr.Event {
+
+    public static final String INDEX_PHASE = "index";
+    public static final String LINK_PHASE = "link";
+
+    @Label("Phase")
+    @Description("index: creating nodes and the ID map; link: connecting managers and reports")
+    public String phase;
+
+    @Label("Employees")
+    public int employees;
+
+    @Label("Root Nodes")
+    public int rootNodes;
+}
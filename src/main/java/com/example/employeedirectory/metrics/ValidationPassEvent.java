@@ -0,0 +1,30 @@
+package com.example.employeedirectory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one full validation pass over the tree.
+ */
+@Name("com.example.employeedirectory.ValidationPass")
+@Label("Validation Pass")
+@Category({"Employee Directory", "Validation"})
+@Description("A full pass of one validation rule set over all employees")
+@StackTrace(false)
+public class ValidationPassEvent extends jdk.jfr.Event {
+
+    public static final String SALARY_PASS = "salary";
+    public static final String DEPTH_PASS = "depth";
+
+    @Label("Pass")
+    public String pass;
+
+    @Label("Employees")
+    public int employees;
+
+    @Label("Violations")
+    public int violations;
+}
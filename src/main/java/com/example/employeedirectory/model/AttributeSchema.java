@@ -0,0 +1,103 @@
+package com.example.employeedirectory.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Names and types of the extra attribute columns loaded alongside the core employee fields.
+ * One schema is shared by every employee read from the same file; each employee only holds an
+ * array of values in schema order.
+ */
+public final class AttributeSchema {
+
+    /**
+     * The type an attribute column is parsed into.
+     */
+    public enum Type {
+        STRING,
+        LONG,
+        DOUBLE,
+        BOOLEAN;
+
+        /**
+         * Parses a trimmed value of this type.
+         * @param text the value
+         * @return the parsed value, or null for an empty value
+         * @throws NumberFormatException if a numeric value is malformed
+         * @throws IllegalArgumentException if a boolean value is not {@code true} or {@code false}
+         */
+        public Object parse(String text) {
+            if (text.isEmpty()) {
+                return null;
+            }
+            switch (this) {
+                case LONG:
+                    return Long.parseLong(text);
+                case DOUBLE:
+                    return Double.parseDouble(text);
+                case BOOLEAN:
+                    if ("true".equalsIgnoreCase(text)) {
+                        return Boolean.TRUE;
+                    }
+                    if ("false".equalsIgnoreCase(text)) {
+                        return Boolean.FALSE;
+                    }
+                    throw new IllegalArgumentException("Invalid boolean: " + text);
+                default:
+                    return text;
+            }
+        }
+    }
+
+    private final String[] names;
+    private final Type[] types;
+    private final Map<String, Integer> indexByName;
+
+    /**
+     * Creates a schema.
+     * @param names the attribute names, in value order
+     * @param types the attribute types, in the same order
+     */
+    public AttributeSchema(List<String> names, List<Type> types) {
+        if (names.size() != types.size()) {
+            throw new IllegalArgumentException("Expected one type per attribute name");
+        }
+        this.names = names.toArray(new String[0]);
+        this.types = types.toArray(new Type[0]);
+        this.indexByName = new HashMap<>();
+        for (int i = 0; i < this.names.length; i++) {
+            if (indexByName.putIfAbsent(this.names[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate attribute: " + this.names[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public Type getType(int index) {
+        return types[index];
+    }
+
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Gets the position of an attribute in each employee's values.
+     * @param name the attribute name
+     * @return the index, or -1 if the schema has no such attribute
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        return index == null ? -1 : index;
+    }
+}
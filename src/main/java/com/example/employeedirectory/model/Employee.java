@@ -9,6 +9,9 @@ public class Employee {
     private String lastName;
     private double salary;
     private String managerId;
+    // Null when the employee has no extra attributes
+    private AttributeSchema attributeSchema;
+    private Object[] attributeValues;
 
     public Employee(String id, String firstName, String lastName, double salary, String managerId) {
         this.id = id;
@@ -18,12 +21,42 @@ public class Employee {
         this.managerId = managerId;
     }
 
+    /**
+     * Creates an employee with extra attributes.
+     * @param attributeSchema the names and types of the attributes
+     * @param attributeValues the attribute values in schema order; null entries are missing values
+     */
+    public Employee(String id, String firstName, String lastName, double salary, String managerId,
+                    AttributeSchema attributeSchema, Object[] attributeValues) {
+        this(id, firstName, lastName, salary, managerId);
+        if (attributeValues.length != attributeSchema.size()) {
+            throw new IllegalArgumentException("Expected " + attributeSchema.size() + " attribute values, got "
+                + attributeValues.length);
+        }
+        this.attributeSchema = attributeSchema;
+        this.attributeValues = attributeValues;
+    }
+
     // Getters
     public String getId() { return id; }
     public String getFirstName() { return firstName; }
     public String getLastName() { return lastName; }
     public double getSalary() { return salary; }
     public String getManagerId() { return managerId; }
+    public AttributeSchema getAttributeSchema() { return attributeSchema; }
+
+    /**
+     * Gets an extra attribute loaded from the CSV file.
+     * @param name the attribute name
+     * @return the typed value, or null if the attribute is missing or empty
+     */
+    public Object getAttribute(String name) {
+        if (attributeSchema == null) {
+            return null;
+        }
+        int index = attributeSchema.indexOf(name);
+        return index < 0 ? null : attributeValues[index];
+    }
 
     @Override
     public String toString() {
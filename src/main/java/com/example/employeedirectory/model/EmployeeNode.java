@@ -29,11 +29,32 @@ public class EmployeeNode {
         return new ArrayList<>(children); // Return a copy to prevent external modification
     }
     
+    /**
+     * Gets the number of direct children without copying the child list.
+     * @return the number of children
+     */
+    public int getChildCount() {
+        return children.size();
+    }
+    
+    /**
+     * Gets a child by position without copying the child list.
+     * @param index the child position, from 0 to {@link #getChildCount()} - 1
+     * @return the child node
+     */
+    public EmployeeNode getChild(int index) {
+        return children.get(index);
+    }
+    
     // Setters
     public void setParent(EmployeeNode parent) {
         this.parent = parent;
     }
     
+    public void setEmployee(Employee employee) {
+        this.employee = employee;
+    }
+    
     /**
      * Adds a child to this node and sets this node as the child's parent.
      * @param child the child node to add
@@ -45,6 +66,19 @@ public class EmployeeNode {
         }
     }
     
+    /**
+     * Removes a child from this node and clears the child's parent.
+     * @param child the child node to remove
+     * @return true if the node was a child of this node
+     */
+    public boolean removeChild(EmployeeNode child) {
+        if (child != null && children.remove(child)) {
+            child.setParent(null);
+            return true;
+        }
+        return false;
+    }
+    
     /**
      * Checks if this node is a root node (has no parent).
      * @return true if this is a root node, false otherwise
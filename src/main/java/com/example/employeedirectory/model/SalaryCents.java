@@ -0,0 +1,104 @@
+package com.example.employeedirectory.model;
+
+/**
+ * Fixed-point salary helpers. Salaries are held as a whole number of cents in a {@code long},
+ * which keeps sums and band checks exact and independent of summation order.
+ */
+public final class SalaryCents {
+
+    // 18 digits always fit in a long
+    private static final int MAX_DIGITS = 18;
+
+    private SalaryCents() {
+    }
+
+    /**
+     * Parses a plain decimal such as {@code 52000}, {@code 52000.5} or {@code -1.25} into cents.
+     * Digits beyond the second decimal place are rounded half up.
+     * @param text the decimal text, without surrounding whitespace
+     * @return the value in cents
+     * @throws NumberFormatException if the text is not a plain decimal or is too large
+     */
+    public static long parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses a range of characters as a plain decimal into cents.
+     * @param text the characters
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the value in cents
+     * @throws NumberFormatException if the range is not a plain decimal or is too large
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long units = 0;
+        int digits = 0;
+        while (i < end && text.charAt(i) != '.') {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || ++digits > MAX_DIGITS - 2) {
+                throw invalid(text, start, end);
+            }
+            units = units * 10 + digit;
+            i++;
+        }
+
+        long cents = 0;
+        int fractionDigits = 0;
+        if (i < end) {
+            i++; // the decimal point
+            for (; i < end; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw invalid(text, start, end);
+                }
+                if (fractionDigits < 2) {
+                    cents = cents * 10 + digit;
+                } else if (fractionDigits == 2 && digit >= 5) {
+                    cents++;
+                }
+                fractionDigits++;
+            }
+        }
+        if (digits == 0 && fractionDigits == 0) {
+            throw invalid(text, start, end);
+        }
+        for (int f = Math.min(fractionDigits, 2); f < 2; f++) {
+            cents *= 10;
+        }
+
+        long value = units * 100 + cents;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Converts a salary to the nearest whole number of cents. Salaries parsed with
+     * {@link #parse(CharSequence)} and converted with {@link #toDouble(long)} round-trip exactly.
+     * @param salary the salary
+     * @return the salary in cents
+     */
+    public static long toCents(double salary) {
+        return Math.round(salary * 100);
+    }
+
+    /**
+     * Converts cents to the nearest {@code double} salary, the same value
+     * {@link Double#parseDouble(String)} gives for the decimal text.
+     * @param cents the salary in cents
+     * @return the salary
+     */
+    public static double toDouble(long cents) {
+        return cents / 100.0;
+    }
+
+    private static NumberFormatException invalid(CharSequence text, int start, int end) {
+        return new NumberFormatException("Invalid salary: " + text.subSequence(start, end));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.employeedirectory.offheap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * A byte region addressed by {@code long} offsets, split into {@link ByteBuffer} segments so it
+ * can exceed the 2 GB limit of a single buffer. Segments are either direct buffers or slices of
+ * a memory-mapped file; neither counts against the Java heap. Values are little-endian so
+ * mapped files are portable between machines.
+ *
+ * <p>Callers must not write a value that straddles two segments. Record regions use a segment
+ * size that is a multiple of the record size, and the string area starts a new segment when
+ * the next string would not fit.
+ */
+final class BigBuffer {
+
+    private final ByteBuffer[] segments;
+    private final int segmentSize;
+    private final long size;
+
+    private BigBuffer(ByteBuffer[] segments, int segmentSize, long size) {
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.size = size;
+    }
+
+    /**
+     * Allocates a region from direct (off-heap) buffers.
+     */
+    static BigBuffer allocateDirect(long size, int segmentSize) {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(size, segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            int length = (int) Math.min(segmentSize, size - (long) i * segmentSize);
+            segments[i] = ByteBuffer.allocateDirect(length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new BigBuffer(segments, segmentSize, size);
+    }
+
+    /**
+     * Maps a region of a file.
+     */
+    static BigBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long size, int segmentSize)
+            throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(size, segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i * segmentSize;
+            long length = Math.min(segmentSize, size - start);
+            segments[i] = channel.map(mode, position + start, length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new BigBuffer(segments, segmentSize, size);
+    }
+
+    private static int segmentCount(long size, int segmentSize) {
+        return (int) Math.max(1, (size + segmentSize - 1) / segmentSize);
+    }
+
+    long size() {
+        return size;
+    }
+
+    int segmentSize() {
+        return segmentSize;
+    }
+
+    int getInt(long offset) {
+        return segments[(int) (offset / segmentSize)].getInt((int) (offset % segmentSize));
+    }
+
+    void putInt(long offset, int value) {
+        segments[(int) (offset / segmentSize)].putInt((int) (offset % segmentSize), value);
+    }
+
+    long getLong(long offset) {
+        return segments[(int) (offset / segmentSize)].getLong((int) (offset % segmentSize));
+    }
+
+    void putLong(long offset, long value) {
+        segments[(int) (offset / segmentSize)].putLong((int) (offset % segmentSize), value);
+    }
+
+    double getDouble(long offset) {
+        return segments[(int) (offset / segmentSize)].getDouble((int) (offset % segmentSize));
+    }
+
+    void putDouble(long offset, double value) {
+        segments[(int) (offset / segmentSize)].putDouble((int) (offset % segmentSize), value);
+    }
+
+    byte getByte(long offset) {
+        return segments[(int) (offset / segmentSize)].get((int) (offset % segmentSize));
+    }
+
+    void get(long offset, byte[] destination) {
+        ByteBuffer view = segments[(int) (offset / segmentSize)].duplicate();
+        view.position((int) (offset % segmentSize));
+        view.get(destination);
+    }
+
+    void put(long offset, byte[] source) {
+        ByteBuffer view = segments[(int) (offset / segmentSize)].duplicate();
+        view.position((int) (offset % segmentSize));
+        view.put(source);
+    }
+}
@@ -0,0 +1,789 @@
+package com.example.employeedirectory.offheap;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.index.LevelIndex;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A read-only employee directory held outside the Java heap, in direct buffers or a
+ * memory-mapped file. The heap footprint is a few objects regardless of the number of employees,
+ * so garbage collection pauses do not grow with the organization.
+ *
+ * <p>Employees are stored as fixed-width records in breadth-first order, so each manager's
+ * direct reports are a contiguous run of records addressed by a first-child index and a count.
+ * Names and IDs live in a separate length-prefixed UTF-8 string area, and an open-addressing
+ * hash table of record indexes, also off-heap, resolves employee IDs.
+ *
+ * <p>File layout: a 64-byte header holding the offsets of the records, the ID table and the
+ * string area, which follow it. A file written by {@link #build(EmployeeTree, Path)} or
+ * {@link #build(CSVReader, List, Path)} can be reopened with {@link #open(Path)}.
+ * Employees on a reporting cycle are not reachable from any root and are not stored.
+ *
+ * <p>A directory takes 56 bytes per employee, 8 to 16 bytes per employee for the ID table and
+ * the UTF-8 size of every ID, name and manager ID plus 4 bytes each. Direct buffers count
+ * against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size, so a
+ * directory larger than the heap needs that limit raised or one of the mapped-file variants.
+ * Building from CSV files needs about another 64 bytes per employee until the build returns,
+ * in direct buffers or, for the mapped-file variant, in a temporary file.
+ */
+public final class OffHeapDirectory implements AutoCloseable {
+
+    static final int MAGIC = 0x45444952; // "EDIR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 56;
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    // Record field offsets
+    private static final int SALARY = 0;
+    private static final int PARENT = 8;
+    private static final int FIRST_CHILD = 12;
+    private static final int CHILD_COUNT = 16;
+    private static final int DEPTH = 20;
+    private static final int ID = 24;
+    private static final int FIRST_NAME = 32;
+    private static final int LAST_NAME = 40;
+    private static final int MANAGER_ID = 48;
+
+    private static final int NONE = -1;
+    // Keeps the ID table within 2^30 int slots
+    private static final long MAX_ROWS = Integer.MAX_VALUE / 4;
+
+    private final int count;
+    private final int rootCount;
+    private final int tableMask;
+    private final BigBuffer records;
+    private final BigBuffer table;
+    private final BigBuffer strings;
+    private final FileChannel channel;
+
+    private OffHeapDirectory(int count, int rootCount, int tableCapacity, BigBuffer records, BigBuffer table,
+                             BigBuffer strings, FileChannel channel) {
+        this.count = count;
+        this.rootCount = rootCount;
+        this.tableMask = tableCapacity - 1;
+        this.records = records;
+        this.table = table;
+        this.strings = strings;
+        this.channel = channel;
+    }
+
+    /**
+     * Copies a tree into direct buffers. The tree can be discarded afterwards.
+     * @param employeeTree the tree to copy
+     * @return the off-heap directory
+     */
+    public static OffHeapDirectory build(EmployeeTree employeeTree) {
+        try {
+            return build(employeeTree, null, DEFAULT_SEGMENT_SIZE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Direct buffers do not perform I/O", e);
+        }
+    }
+
+    /**
+     * Copies a tree into a memory-mapped file, replacing the file if it exists.
+     * @param employeeTree the tree to copy
+     * @param file the file to write
+     * @return the off-heap directory, backed by the file
+     * @throws IOException if the file cannot be written
+     */
+    public static OffHeapDirectory build(EmployeeTree employeeTree, Path file) throws IOException {
+        return build(employeeTree, file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    static OffHeapDirectory build(EmployeeTree employeeTree, Path file, int segmentSize) throws IOException {
+        LevelIndex levels = employeeTree.getLevelIndex();
+        int count = 0;
+        for (int levelCount : levels.getLevelCounts()) {
+            count += levelCount;
+        }
+        int rootCount = levels.getLevel(0).size();
+        int tableCapacity = tableCapacity(count);
+
+        // First pass sizes the string area, including padding at segment ends
+        StringAreaWriter sizer = new StringAreaWriter(null, segmentSize);
+        for (int depth = 0; depth < levels.getLevelCount(); depth++) {
+            for (EmployeeNode node : levels.getLevel(depth)) {
+                sizer.appendAll(node.getEmployee());
+            }
+        }
+        long stringsSize = Math.max(1, sizer.position);
+
+        FileChannel channel = file == null ? null : createFile(file);
+        Storage storage = new Storage(channel, HEADER_SIZE);
+        long recordsOffset = storage.position;
+        BigBuffer records = storage.allocate((long) count * RECORD_SIZE, segmentSize / RECORD_SIZE * RECORD_SIZE);
+        long tableOffset = storage.position;
+        BigBuffer table = storage.allocate((long) tableCapacity * Integer.BYTES, segmentSize / Integer.BYTES * Integer.BYTES);
+        long stringsOffset = storage.position;
+        BigBuffer strings = storage.allocate(stringsSize, segmentSize);
+        if (channel != null) {
+            writeHeader(channel, count, rootCount, tableCapacity, segmentSize, recordsOffset, tableOffset,
+                stringsOffset, stringsSize);
+        }
+
+        OffHeapDirectory directory = new OffHeapDirectory(count, rootCount, tableCapacity, records, table, strings, channel);
+        directory.writeRecords(levels, new StringAreaWriter(strings, segmentSize));
+        directory.writeIdTable(tableCapacity);
+        return directory;
+    }
+
+    /**
+     * Builds a directory in direct buffers straight from CSV files, without an on-heap tree.
+     * The files are read twice, one after another, and must not change in between; each row is
+     * dropped as soon as it has been copied off-heap. As in {@link com.example.employeedirectory.ShardedCSVReader},
+     * managers may be in a different file from their reports and a duplicate ID keeps its first
+     * occurrence. The result matches {@link #build(EmployeeTree)} of the same employees.
+     * @param reader the reader that parses each file
+     * @param csvFiles the files, for example the shards of {@link com.example.employeedirectory.ShardedCSVReader#resolveInputs(List)}
+     * @return the off-heap directory
+     * @throws IOException if a file cannot be read or changes between the two passes
+     */
+    public static OffHeapDirectory build(CSVReader reader, List<Path> csvFiles) throws IOException {
+        return build(reader, csvFiles, null, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Builds a directory in a memory-mapped file straight from CSV files, replacing the file if it
+     * exists. Unlike {@link #build(CSVReader, List)}, neither the directory nor the temporary
+     * build data, which is kept in a second file next to it, counts against the direct memory limit.
+     * @param reader the reader that parses each file
+     * @param csvFiles the files to read
+     * @param file the file to write
+     * @return the off-heap directory, backed by the file
+     * @throws IOException if a file cannot be read or written, or an input changes between the two passes
+     */
+    public static OffHeapDirectory build(CSVReader reader, List<Path> csvFiles, Path file) throws IOException {
+        return build(reader, csvFiles, file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    static OffHeapDirectory build(CSVReader reader, List<Path> csvFiles, Path file, int segmentSize)
+            throws IOException {
+        // First pass counts the rows and sizes the string area
+        StringAreaWriter sizer = new StringAreaWriter(null, segmentSize);
+        long[] rows = new long[1];
+        for (Path csvFile : csvFiles) {
+            reader.readEmployees(csvFile.toString(), employee -> {
+                sizer.appendAll(employee);
+                rows[0]++;
+            });
+        }
+        if (rows[0] > MAX_ROWS) {
+            throw new IllegalArgumentException("Too many employees for one directory: " + rows[0]);
+        }
+        int rowCapacity = (int) rows[0];
+        int tableCapacity = tableCapacity(rowCapacity);
+        long stringsSize = Math.max(1, sizer.position);
+        int recordSegment = segmentSize / RECORD_SIZE * RECORD_SIZE;
+        int intSegment = segmentSize / Integer.BYTES * Integer.BYTES;
+
+        FileChannel channel = file == null ? null : createFile(file);
+        FileChannel scratchChannel = null;
+        try {
+            // The ID table and strings are written in the second pass; records once the layout is known
+            Storage storage = new Storage(channel, HEADER_SIZE);
+            long tableOffset = storage.position;
+            BigBuffer table = storage.allocate((long) tableCapacity * Integer.BYTES, intSegment);
+            long stringsOffset = storage.position;
+            BigBuffer strings = storage.allocate(stringsSize, segmentSize);
+
+            if (file != null) {
+                Path parent = file.toAbsolutePath().getParent();
+                scratchChannel = FileChannel.open(Files.createTempFile(parent, file.getFileName().toString(), ".tmp"),
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            Storage scratch = new Storage(scratchChannel, 0);
+            BigBuffer staged = scratch.allocate((long) Math.max(1, rowCapacity) * RECORD_SIZE, recordSegment);
+            CsvLayout layout = new CsvLayout(table, tableCapacity - 1, strings, staged, rowCapacity);
+
+            StringAreaWriter writer = new StringAreaWriter(strings, segmentSize);
+            for (Path csvFile : csvFiles) {
+                reader.readEmployees(csvFile.toString(), employee -> layout.stage(employee, writer));
+            }
+            if (layout.overflowed) {
+                throw new IOException("Input files changed while building the directory");
+            }
+
+            BigBuffer children = scratch.allocate((long) Math.max(1, layout.rows) * Integer.BYTES, intSegment);
+            BigBuffer order = scratch.allocate((long) Math.max(1, layout.rows) * Integer.BYTES, intSegment);
+            layout.link(children, order);
+
+            long recordsOffset = storage.position;
+            BigBuffer records = storage.allocate((long) layout.count * RECORD_SIZE, recordSegment);
+            if (channel != null) {
+                writeHeader(channel, layout.count, layout.rootCount, tableCapacity, segmentSize, recordsOffset,
+                    tableOffset, stringsOffset, stringsSize);
+            }
+            OffHeapDirectory directory = new OffHeapDirectory(layout.count, layout.rootCount, tableCapacity, records,
+                table, strings, channel);
+            layout.writeRecords(records, order);
+            directory.writeIdTable(tableCapacity);
+            return directory;
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            throw e;
+        } finally {
+            if (scratchChannel != null) {
+                scratchChannel.close();
+            }
+        }
+    }
+
+    /**
+     * Opens a directory file written by {@link #build(EmployeeTree, Path)} or
+     * {@link #build(CSVReader, List, Path)}, mapping it read-only.
+     * @param file the directory file
+     * @return the off-heap directory, backed by the file
+     * @throws IOException if the file cannot be read or is not a directory file
+     */
+    public static OffHeapDirectory open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not an employee directory file: " + file);
+            }
+            BigBuffer header = BigBuffer.map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not an employee directory file: " + file);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported directory file version " + header.getInt(4) + ": " + file);
+            }
+            int count = header.getInt(8);
+            int rootCount = header.getInt(12);
+            int tableCapacity = header.getInt(16);
+            int segmentSize = header.getInt(20);
+            BigBuffer records = BigBuffer.map(channel, FileChannel.MapMode.READ_ONLY, header.getLong(24),
+                (long) count * RECORD_SIZE, segmentSize / RECORD_SIZE * RECORD_SIZE);
+            BigBuffer table = BigBuffer.map(channel, FileChannel.MapMode.READ_ONLY, header.getLong(32),
+                (long) tableCapacity * Integer.BYTES, segmentSize / Integer.BYTES * Integer.BYTES);
+            BigBuffer strings = BigBuffer.map(channel, FileChannel.MapMode.READ_ONLY, header.getLong(40),
+                header.getLong(48), segmentSize);
+            return new OffHeapDirectory(count, rootCount, tableCapacity, records, table, strings, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void writeRecords(LevelIndex levels, StringAreaWriter writer) {
+        EmployeeNode[] order = levels.breadthFirstOrder();
+        int[] levelCounts = levels.getLevelCounts();
+        int index = 0;
+        // Children of level d are stored in level d + 1 in their managers' order
+        int nextChild = rootCount;
+        for (int depth = 0; depth < levelCounts.length; depth++) {
+            for (int end = index + levelCounts[depth]; index < end; index++) {
+                EmployeeNode node = order[index];
+                long record = recordOffset(index);
+                Employee employee = node.getEmployee();
+                int children = node.getChildCount();
+                records.putDouble(record + SALARY, employee.getSalary());
+                if (depth == 0) {
+                    records.putInt(record + PARENT, NONE);
+                }
+                records.putInt(record + FIRST_CHILD, nextChild);
+                records.putInt(record + CHILD_COUNT, children);
+                records.putInt(record + DEPTH, depth);
+                records.putLong(record + ID, writer.append(employee.getId()));
+                records.putLong(record + FIRST_NAME, writer.append(employee.getFirstName()));
+                records.putLong(record + LAST_NAME, writer.append(employee.getLastName()));
+                records.putLong(record + MANAGER_ID, writer.append(employee.getManagerId()));
+                // Children are written later, so record their parent now
+                for (int i = 0; i < children; i++) {
+                    records.putInt(recordOffset(nextChild + i) + PARENT, index);
+                }
+                nextChild += children;
+            }
+        }
+    }
+
+    private void writeIdTable(int tableCapacity) {
+        for (int slot = 0; slot < tableCapacity; slot++) {
+            table.putInt((long) slot * Integer.BYTES, NONE);
+        }
+        for (int index = 0; index < count; index++) {
+            int slot = spread(getId(index).hashCode()) & tableMask;
+            while (table.getInt((long) slot * Integer.BYTES) != NONE) {
+                slot = (slot + 1) & tableMask;
+            }
+            table.putInt((long) slot * Integer.BYTES, index);
+        }
+    }
+
+    private static int tableCapacity(int count) {
+        return Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1;
+    }
+
+    private static FileChannel createFile(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void writeHeader(FileChannel channel, int count, int rootCount, int tableCapacity, int segmentSize,
+                                    long recordsOffset, long tableOffset, long stringsOffset, long stringsSize)
+            throws IOException {
+        BigBuffer header = BigBuffer.map(channel, FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE, HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, count);
+        header.putInt(12, rootCount);
+        header.putInt(16, tableCapacity);
+        header.putInt(20, segmentSize);
+        header.putLong(24, recordsOffset);
+        header.putLong(32, tableOffset);
+        header.putLong(40, stringsOffset);
+        header.putLong(48, stringsSize);
+    }
+
+    /**
+     * Hands out regions one after another, as direct buffers or as consecutive ranges of a file.
+     */
+    private static final class Storage {
+        private final FileChannel channel;
+        private long position;
+
+        Storage(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        BigBuffer allocate(long size, int segmentSize) throws IOException {
+            BigBuffer buffer = channel == null
+                ? BigBuffer.allocateDirect(size, segmentSize)
+                : BigBuffer.map(channel, FileChannel.MapMode.READ_WRITE, position, size, segmentSize);
+            position += size;
+            return buffer;
+        }
+    }
+
+    /**
+     * Lays out CSV rows without holding them on the heap. Rows are first staged off-heap in file
+     * order, as records whose fields are reused for build state:
+     * <ul>
+     *   <li>{@code PARENT} holds the manager's row, or -1 for a root;</li>
+     *   <li>{@code CHILD_COUNT} first holds the hash of the manager ID, then the number of reports;</li>
+     *   <li>{@code FIRST_CHILD} holds the end of the row's reports in the children array;</li>
+     *   <li>{@code DEPTH} holds the row's final record index.</li>
+     * </ul>
+     * The ID table maps IDs to rows while staging, then reports are grouped per manager in row
+     * order and a breadth-first walk from the roots, also in row order, fixes the record order.
+     * That is the order {@link #build(EmployeeTree)} writes, and rows on a reporting cycle are
+     * never reached, as in the tree.
+     */
+    private static final class CsvLayout {
+        private final BigBuffer table;
+        private final int tableMask;
+        private final BigBuffer strings;
+        private final BigBuffer staged;
+        private final int rowCapacity;
+        private int rows;
+        private int count;
+        private int rootCount;
+        private boolean overflowed;
+
+        CsvLayout(BigBuffer table, int tableMask, BigBuffer strings, BigBuffer staged, int rowCapacity) {
+            this.table = table;
+            this.tableMask = tableMask;
+            this.strings = strings;
+            this.staged = staged;
+            this.rowCapacity = rowCapacity;
+            for (int slot = 0; slot <= tableMask; slot++) {
+                table.putInt((long) slot * Integer.BYTES, NONE);
+            }
+        }
+
+        /**
+         * Copies one row off-heap, unless its ID was already seen.
+         */
+        void stage(Employee employee, StringAreaWriter writer) {
+            if (rows == rowCapacity) {
+                overflowed = true;
+                return;
+            }
+            long position = writer.position;
+            long id = writer.append(employee.getId());
+            int slot = spread(employee.getId().hashCode()) & tableMask;
+            for (int row; (row = table.getInt((long) slot * Integer.BYTES)) != NONE; slot = (slot + 1) & tableMask) {
+                if (stringsEqual(strings, staged.getLong(recordOffset(row) + ID), id)) {
+                    writer.position = position;
+                    return;
+                }
+            }
+            table.putInt((long) slot * Integer.BYTES, rows);
+
+            long record = recordOffset(rows++);
+            String managerId = employee.getManagerId();
+            staged.putDouble(record + SALARY, employee.getSalary());
+            staged.putLong(record + ID, id);
+            staged.putLong(record + FIRST_NAME, writer.append(employee.getFirstName()));
+            staged.putLong(record + LAST_NAME, writer.append(employee.getLastName()));
+            staged.putLong(record + MANAGER_ID, writer.append(managerId));
+            staged.putInt(record + CHILD_COUNT, managerId == null ? 0 : managerId.hashCode());
+        }
+
+        /**
+         * Resolves managers, groups reports and fills {@code order} with rows in record order.
+         */
+        void link(BigBuffer children, BigBuffer order) {
+            for (int row = 0; row < rows; row++) {
+                long record = recordOffset(row);
+                staged.putInt(record + PARENT, findRow(staged.getLong(record + MANAGER_ID), staged.getInt(record + CHILD_COUNT)));
+            }
+            for (int row = 0; row < rows; row++) {
+                staged.putInt(recordOffset(row) + CHILD_COUNT, 0);
+            }
+            for (int row = 0; row < rows; row++) {
+                int parent = staged.getInt(recordOffset(row) + PARENT);
+                if (parent != NONE) {
+                    long record = recordOffset(parent);
+                    staged.putInt(record + CHILD_COUNT, staged.getInt(record + CHILD_COUNT) + 1);
+                }
+            }
+            int end = 0;
+            for (int row = 0; row < rows; row++) {
+                long record = recordOffset(row);
+                staged.putInt(record + FIRST_CHILD, end);
+                end += staged.getInt(record + CHILD_COUNT);
+            }
+            // Advancing each manager's cursor leaves it at the end of its reports
+            for (int row = 0; row < rows; row++) {
+                int parent = staged.getInt(recordOffset(row) + PARENT);
+                if (parent != NONE) {
+                    long record = recordOffset(parent);
+                    int next = staged.getInt(record + FIRST_CHILD);
+                    children.putInt((long) next * Integer.BYTES, row);
+                    staged.putInt(record + FIRST_CHILD, next + 1);
+                }
+            }
+
+            int tail = 0;
+            for (int row = 0; row < rows; row++) {
+                if (staged.getInt(recordOffset(row) + PARENT) == NONE) {
+                    order.putInt((long) tail++ * Integer.BYTES, row);
+                }
+            }
+            rootCount = tail;
+            for (int head = 0; head < tail; head++) {
+                long record = recordOffset(order.getInt((long) head * Integer.BYTES));
+                staged.putInt(record + DEPTH, head);
+                int reports = staged.getInt(record + CHILD_COUNT);
+                int first = staged.getInt(record + FIRST_CHILD) - reports;
+                for (int i = 0; i < reports; i++) {
+                    order.putInt((long) tail++ * Integer.BYTES, children.getInt((long) (first + i) * Integer.BYTES));
+                }
+            }
+            count = tail;
+        }
+
+        /**
+         * Finds the row of a manager ID, or -1 if it is empty or not in any file.
+         */
+        private int findRow(long managerId, int hash) {
+            if (managerId == NONE || strings.getInt(managerId) == 0) {
+                return NONE;
+            }
+            int slot = spread(hash) & tableMask;
+            for (int row; (row = table.getInt((long) slot * Integer.BYTES)) != NONE; slot = (slot + 1) & tableMask) {
+                if (stringsEqual(strings, staged.getLong(recordOffset(row) + ID), managerId)) {
+                    return row;
+                }
+            }
+            return NONE;
+        }
+
+        void writeRecords(BigBuffer records, BigBuffer order) {
+            // Reports of the roots follow the roots, and each later manager's follow the previous one's
+            int nextChild = rootCount;
+            for (int index = 0; index < count; index++) {
+                long row = recordOffset(order.getInt((long) index * Integer.BYTES));
+                long record = recordOffset(index);
+                int parentRow = staged.getInt(row + PARENT);
+                int parent = parentRow == NONE ? NONE : staged.getInt(recordOffset(parentRow) + DEPTH);
+                int children = staged.getInt(row + CHILD_COUNT);
+                records.putDouble(record + SALARY, staged.getDouble(row + SALARY));
+                records.putInt(record + PARENT, parent);
+                records.putInt(record + FIRST_CHILD, nextChild);
+                records.putInt(record + CHILD_COUNT, children);
+                records.putInt(record + DEPTH, parent == NONE ? 0 : records.getInt(recordOffset(parent) + DEPTH) + 1);
+                records.putLong(record + ID, staged.getLong(row + ID));
+                records.putLong(record + FIRST_NAME, staged.getLong(row + FIRST_NAME));
+                records.putLong(record + LAST_NAME, staged.getLong(row + LAST_NAME));
+                records.putLong(record + MANAGER_ID, staged.getLong(row + MANAGER_ID));
+                nextChild += children;
+            }
+        }
+    }
+
+    /**
+     * Writes length-prefixed UTF-8 strings, skipping to the next segment rather than splitting a
+     * string across two. With a null buffer it only advances the position, to size the area.
+     */
+    private static final class StringAreaWriter {
+        private final BigBuffer buffer;
+        private final int segmentSize;
+        private long position;
+
+        StringAreaWriter(BigBuffer buffer, int segmentSize) {
+            this.buffer = buffer;
+            this.segmentSize = segmentSize;
+        }
+
+        void appendAll(Employee employee) {
+            append(employee.getId());
+            append(employee.getFirstName());
+            append(employee.getLastName());
+            append(employee.getManagerId());
+        }
+
+        long append(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int length = Integer.BYTES + bytes.length;
+            if (length > segmentSize) {
+                throw new IllegalArgumentException("String longer than a segment: " + value.length() + " chars");
+            }
+            if (position % segmentSize + length > segmentSize) {
+                position = (position / segmentSize + 1) * segmentSize;
+            }
+            long offset = position;
+            if (buffer != null) {
+                buffer.putInt(offset, bytes.length);
+                buffer.put(offset + Integer.BYTES, bytes);
+            }
+            position += length;
+            return offset;
+        }
+    }
+
+    public int getTotalEmployeeCount() {
+        return count;
+    }
+
+    public int getRootNodeCount() {
+        return rootCount;
+    }
+
+    /**
+     * Finds the record index of an employee.
+     * @param employeeId the employee ID
+     * @return the record index, or -1 if not found
+     */
+    public int indexOf(String employeeId) {
+        if (employeeId == null) {
+            return NONE;
+        }
+        byte[] key = employeeId.getBytes(StandardCharsets.UTF_8);
+        int slot = spread(employeeId.hashCode()) & tableMask;
+        while (true) {
+            int index = table.getInt((long) slot * Integer.BYTES);
+            if (index == NONE || stringEquals(records.getLong(recordOffset(index) + ID), key)) {
+                return index;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+    }
+
+    public String getId(int index) {
+        return readString(records.getLong(recordOffset(index) + ID));
+    }
+
+    public String getFirstName(int index) {
+        return readString(records.getLong(recordOffset(index) + FIRST_NAME));
+    }
+
+    public String getLastName(int index) {
+        return readString(records.getLong(recordOffset(index) + LAST_NAME));
+    }
+
+    public String getManagerId(int index) {
+        return readString(records.getLong(recordOffset(index) + MANAGER_ID));
+    }
+
+    public double getSalary(int index) {
+        return records.getDouble(recordOffset(index) + SALARY);
+    }
+
+    /**
+     * Gets the record index of an employee's manager.
+     * @param index the employee's record index
+     * @return the manager's record index, or -1 for a root employee
+     */
+    public int getParent(int index) {
+        return records.getInt(recordOffset(index) + PARENT);
+    }
+
+    /**
+     * Gets the depth of an employee in the tree (root has depth 0), stored at build time.
+     * @param index the record index
+     * @return the depth
+     */
+    public int getDepth(int index) {
+        return records.getInt(recordOffset(index) + DEPTH);
+    }
+
+    public int getChildCount(int index) {
+        return records.getInt(recordOffset(index) + CHILD_COUNT);
+    }
+
+    /**
+     * Gets the record index of a direct report.
+     * @param index the manager's record index
+     * @param child the position of the report, from 0 to {@link #getChildCount(int)} - 1
+     * @return the report's record index
+     */
+    public int getChild(int index, int child) {
+        return records.getInt(recordOffset(index) + FIRST_CHILD) + child;
+    }
+
+    /**
+     * Copies a record onto the heap as an {@link Employee}.
+     * @param index the record index
+     * @return the employee
+     */
+    public Employee getEmployee(int index) {
+        return new Employee(getId(index), getFirstName(index), getLastName(index), getSalary(index), getManagerId(index));
+    }
+
+    /**
+     * Gets an employee by ID.
+     * @param employeeId the employee ID
+     * @return the employee, or null if not found
+     */
+    public Employee getEmployeeById(String employeeId) {
+        int index = indexOf(employeeId);
+        return index == NONE ? null : getEmployee(index);
+    }
+
+    /**
+     * Gets the root employees.
+     * @return the employees without a manager in the directory
+     */
+    public List<Employee> getRootEmployees() {
+        List<Employee> roots = new ArrayList<>(rootCount);
+        for (int i = 0; i < rootCount; i++) {
+            roots.add(getEmployee(i));
+        }
+        return roots;
+    }
+
+    /**
+     * Gets all direct reports of a specific employee.
+     * @param employeeId the employee ID
+     * @return list of direct reports
+     */
+    public List<Employee> getDirectReports(String employeeId) {
+        List<Employee> reports = new ArrayList<>();
+        int index = indexOf(employeeId);
+        if (index != NONE) {
+            int first = getChild(index, 0);
+            int children = getChildCount(index);
+            for (int i = 0; i < children; i++) {
+                reports.add(getEmployee(first + i));
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Gets all subordinates of a specific employee, in the same depth-first order as
+     * {@link EmployeeTree#getAllSubordinates(String)}.
+     * @param employeeId the employee ID
+     * @return list of all subordinates
+     */
+    public List<Employee> getAllSubordinates(String employeeId) {
+        List<Employee> subordinates = new ArrayList<>();
+        int index = indexOf(employeeId);
+        if (index == NONE) {
+            return subordinates;
+        }
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = index;
+        while (top > 0) {
+            int current = stack[--top];
+            if (current != index) {
+                subordinates.add(getEmployee(current));
+            }
+            int first = getChild(current, 0);
+            int children = getChildCount(current);
+            if (top + children > stack.length) {
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + children));
+            }
+            for (int i = children - 1; i >= 0; i--) {
+                stack[top++] = first + i;
+            }
+        }
+        return subordinates;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private static long recordOffset(int index) {
+        return (long) index * RECORD_SIZE;
+    }
+
+    private String readString(long offset) {
+        if (offset == NONE) {
+            return null;
+        }
+        byte[] bytes = new byte[strings.getInt(offset)];
+        strings.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(long offset, byte[] key) {
+        if (strings.getInt(offset) != key.length) {
+            return false;
+        }
+        long start = offset + Integer.BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (strings.getByte(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two strings in the string area byte by byte.
+     */
+    private static boolean stringsEqual(BigBuffer strings, long offset, long other) {
+        int length = strings.getInt(offset);
+        if (strings.getInt(other) != length) {
+            return false;
+        }
+        for (int i = Integer.BYTES; i < Integer.BYTES + length; i++) {
+            if (strings.getByte(offset + i) != strings.getByte(other + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.employeedirectory.server;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.index.NameIndex;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.service.DirectorySnapshot;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves directory lookups over HTTP from a resident {@link DirectorySnapshot}.
+ * Uses the JDK's built-in {@link HttpServer}; requests run on virtual threads when the
+ * runtime supports them (Java 21+) and on a fixed pool of platform threads otherwise.
+ *
+ * <p>Endpoints (all GET, JSON responses):
+ * <ul>
+ *   <li>{@code /health}</li>
+ *   <li>{@code /employees/{id}}</li>
+ *   <li>{@code /employees/{id}/reports}</li>
+ *   <li>{@code /employees/{id}/subordinates}</li>
+ *   <li>{@code /employees/{id}/validation}</li>
+ *   <li>{@code /search?q=name[&fuzzy=edits][&offset=n][&limit=n]}</li>
+ * </ul>
+ */
+public class DirectoryServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectoryServer.class);
+    private static final String EMPLOYEES_PATH = "/employees/";
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private volatile DirectorySnapshot snapshot;
+
+    /**
+     * Creates a server bound to the given port. Call {@link #start()} to begin serving.
+     * @param snapshot the directory to serve
+     * @param port the port to listen on, or 0 for an ephemeral port
+     * @throws IOException if the port cannot be bound
+     */
+    public DirectoryServer(DirectorySnapshot snapshot, int port) throws IOException {
+        this.snapshot = snapshot;
+        this.httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = createExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/health", this::handleHealth);
+        httpServer.createContext(EMPLOYEES_PATH, this::handleEmployees);
+        httpServer.createContext("/search", this::handleSearch);
+    }
+
+    public void start() {
+        httpServer.start();
+        logger.info("Directory server listening on port {}", getPort());
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Replaces the directory being served. In-flight requests finish against the snapshot they started with.
+     * @param snapshot the new directory snapshot
+     */
+    public void setSnapshot(DirectorySnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public DirectorySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor when available, falling back to a fixed pool.
+     * The lookup is reflective so the project still compiles and runs on Java 11.
+     */
+    static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            logger.debug("Using virtual thread per task executor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Runtime.getRuntime().availableProcessors() * 2;
+            logger.debug("Virtual threads unavailable, using pool of {} threads", threads);
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "directory-server-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange)) {
+            return;
+        }
+        EmployeeTree tree = snapshot.getEmployeeTree();
+        sendJson(exchange, 200, "{\"status\":\"UP\",\"employees\":" + tree.getTotalEmployeeCount() + "}");
+    }
+
+    private void handleEmployees(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange)) {
+            return;
+        }
+
+        // Path is /employees/{id} or /employees/{id}/{view}
+        String rest = exchange.getRequestURI().getPath().substring(EMPLOYEES_PATH.length());
+        int slash = rest.indexOf('/');
+        String employeeId = slash < 0 ? rest : rest.substring(0, slash);
+        String view = slash < 0 ? "" : rest.substring(slash + 1);
+
+        DirectorySnapshot current = snapshot;
+        EmployeeNode node = current.getEmployeeTree().getNodeById(employeeId);
+        if (node == null) {
+            sendJson(exchange, 404, "{\"error\":\"Employee not found\",\"id\":" + quote(employeeId) + "}");
+            return;
+        }
+
+        switch (view) {
+            case "":
+                sendJson(exchange, 200, employeeJson(node));
+                break;
+            case "reports":
+                sendJson(exchange, 200, nodeListJson(current.getEmployeeTree().getDirectReports(employeeId)));
+                break;
+            case "subordinates":
+                sendJson(exchange, 200, nodeListJson(current.getEmployeeTree().getAllSubordinates(employeeId)));
+                break;
+            case "validation":
+                sendJson(exchange, 200, validationJson(node, current.getResultsFor(employeeId)));
+                break;
+            default:
+                sendJson(exchange, 404, "{\"error\":\"Unknown resource\",\"resource\":" + quote(view) + "}");
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        if (!requireGet(exchange)) {
+            return;
+        }
+        Map<String, String> params = queryParameters(exchange.getRequestURI().getRawQuery());
+        String query = params.get("q");
+        if (query == null || query.isEmpty()) {
+            sendJson(exchange, 400, "{\"error\":\"Missing query parameter q\"}");
+            return;
+        }
+        try {
+            int offset = Integer.parseInt(params.getOrDefault("offset", "0"));
+            int limit = Math.min(Integer.parseInt(params.getOrDefault("limit", "20")), MAX_SEARCH_RESULTS);
+            NameIndex index = snapshot.getEmployeeTree().getNameIndex();
+            List<EmployeeNode> matches = params.containsKey("fuzzy")
+                ? index.findFuzzy(query, Integer.parseInt(params.get("fuzzy")), offset, limit)
+                : index.findByPrefix(query, offset, limit);
+            sendJson(exchange, 200, nodeListJson(matches));
+        } catch (IllegalArgumentException e) {
+            sendJson(exchange, 400, "{\"error\":" + quote(e.getMessage()) + "}");
+        }
+    }
+
+    private static Map<String, String> queryParameters(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private boolean requireGet(HttpExchange exchange) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", "GET");
+        sendJson(exchange, 405, "{\"error\":\"Method not allowed\"}");
+        return false;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static String employeeJson(EmployeeNode node) {
+        Employee employee = node.getEmployee();
+        StringBuilder sb = new StringBuilder(128);
+        sb.append("{\"id\":").append(quote(employee.getId()));
+        sb.append(",\"firstName\":").append(quote(employee.getFirstName()));
+        sb.append(",\"lastName\":").append(quote(employee.getLastName()));
+        sb.append(",\"salary\":").append(employee.getSalary());
+        sb.append(",\"managerId\":").append(quote(employee.getManagerId()));
+        sb.append(",\"depth\":").append(node.getDepth());
+        sb.append("}");
+        return sb.toString();
+    }
+
+    private static String nodeListJson(List<EmployeeNode> nodes) {
+        StringBuilder sb = new StringBuilder(nodes.size() * 96 + 2);
+        sb.append('[');
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(employeeJson(nodes.get(i)));
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    private static String validationJson(EmployeeNode node, List<ValidationResult> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"id\":").append(quote(node.getEmployee().getId()));
+        sb.append(",\"valid\":").append(results.isEmpty());
+        sb.append(",\"violations\":[");
+        for (int i = 0; i < results.size(); i++) {
+            ValidationResult result = results.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"message\":").append(quote(result.getMessage()));
+            sb.append(",\"amount\":").append(result.getAmount()).append('}');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /**
+     * Renders a string as a JSON string literal, or {@code null}.
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+}
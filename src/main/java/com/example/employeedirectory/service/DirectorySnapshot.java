@@ -0,0 +1,92 @@
+package com.example.employeedirectory.service;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.validation.EmployeeValidator;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import com.example.employeedirectory.validation.SalaryColumns;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable view of a loaded directory: the employee tree together with the validation
+ * results computed for it. Long-running consumers hold a reference to a snapshot and never
+ * see a tree that is only partially validated.
+ */
+public class DirectorySnapshot {
+    
+    private final EmployeeTree employeeTree;
+    private final List<ValidationResult> salaryResults;
+    private final List<ValidationResult> depthResults;
+    private final Map<String, List<ValidationResult>> resultsByEmployeeId;
+    
+    private DirectorySnapshot(EmployeeTree employeeTree, List<ValidationResult> salaryResults,
+                              List<ValidationResult> depthResults) {
+        this.employeeTree = employeeTree;
+        this.salaryResults = Collections.unmodifiableList(salaryResults);
+        this.depthResults = Collections.unmodifiableList(depthResults);
+        this.resultsByEmployeeId = new HashMap<>();
+        indexResults(salaryResults);
+        indexResults(depthResults);
+    }
+    
+    /**
+     * Validates the given tree and wraps it in a snapshot.
+     * @param employeeTree a fully built employee tree
+     * @return the snapshot
+     */
+    public static DirectorySnapshot of(EmployeeTree employeeTree) {
+        List<EmployeeNode> nodes = employeeTree.getAllNodes();
+        return new DirectorySnapshot(employeeTree,
+            EmployeeValidator.validateAllManagerSalaries(nodes),
+            EmployeeValidator.validateAllReportingDepths(nodes));
+    }
+    
+    /**
+     * Validates the given tree with salary bands checked in exact integer cents, as
+     * {@link ValidationReportService#generateExactValidationReport(EmployeeTree)} does, and wraps
+     * it in a snapshot.
+     * @param employeeTree a fully built employee tree
+     * @return the snapshot
+     */
+    public static DirectorySnapshot ofExact(EmployeeTree employeeTree) {
+        return new DirectorySnapshot(employeeTree,
+            SalaryColumns.of(employeeTree).validateSalaryBands(),
+            EmployeeValidator.validateAllReportingDepths(employeeTree.getAllNodes()));
+    }
+    
+    /**
+     * Wraps a tree in a snapshot with validation results that were already computed for it.
+     * @param employeeTree a fully built employee tree
+     * @param salaryResults the salary violations of the tree
+     * @param depthResults the reporting depth violations of the tree
+     * @return the snapshot
+     */
+    public static DirectorySnapshot of(EmployeeTree employeeTree, List<ValidationResult> salaryResults,
+                                       List<ValidationResult> depthResults) {
+        return new DirectorySnapshot(employeeTree, salaryResults, depthResults);
+    }
+    
+    public EmployeeTree getEmployeeTree() { return employeeTree; }
+    public List<ValidationResult> getSalaryResults() { return salaryResults; }
+    public List<ValidationResult> getDepthResults() { return depthResults; }
+    
+    /**
+     * Gets all validation violations recorded for a single employee.
+     * @param employeeId the employee ID
+     * @return the violations, empty if the employee has none
+     */
+    public List<ValidationResult> getResultsFor(String employeeId) {
+        return resultsByEmployeeId.getOrDefault(employeeId, Collections.emptyList());
+    }
+    
+    private void indexResults(List<ValidationResult> results) {
+        for (ValidationResult result : results) {
+            resultsByEmployeeId.computeIfAbsent(result.getEmployee().getId(), id -> new ArrayList<>()).add(result);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.employeedirectory.service;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Watches a CSV file and rebuilds the directory in the background whenever it changes.
+ * Bursts of write events are debounced, and a rebuild is skipped when the file's content hash
+ * is unchanged. The new tree and its validation results are built off the serving path and
+ * then published atomically, so readers always see either the old or the new snapshot.
+ */
+public class DirectoryWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectoryWatcher.class);
+
+    private final Path csvFile;
+    private final long debounceMillis;
+    private final CSVReader csvReader;
+    private final Consumer<DirectorySnapshot> listener;
+    private final AtomicReference<DirectorySnapshot> current = new AtomicReference<>();
+    private final ScheduledExecutorService reloadExecutor;
+    private WatchService watchService;
+    private Thread watchThread;
+    private ScheduledFuture<?> pendingReload;
+    private volatile byte[] lastHash;
+    // Zero when reloaded trees are not cached
+    private volatile long queryCacheBytes;
+    private volatile boolean exactSalaryBands;
+
+    /**
+     * Enables the subtree query cache on every reloaded tree.
+     * @param maximumBytes the estimated memory each tree's cached results may use
+     * @return this watcher
+     * @see EmployeeTree#enableQueryCache(long)
+     */
+    public DirectoryWatcher enableQueryCache(long maximumBytes) {
+        this.queryCacheBytes = maximumBytes;
+        return this;
+    }
+
+    /**
+     * Checks the salary bands of reloaded trees in exact integer cents.
+     * @param enabled true to validate reloads with {@link DirectorySnapshot#ofExact(EmployeeTree)}
+     * @return this watcher
+     */
+    public DirectoryWatcher exactSalaryBands(boolean enabled) {
+        this.exactSalaryBands = enabled;
+        return this;
+    }
+
+    /**
+     * Creates a watcher for the given file.
+     * @param csvFile the CSV file to watch
+     * @param debounceMillis quiet period to wait after the last change event before reloading
+     * @param listener notified with each newly published snapshot
+     */
+    public DirectoryWatcher(Path csvFile, long debounceMillis, Consumer<DirectorySnapshot> listener) {
+        this(csvFile, debounceMillis, new CSVReader(), listener);
+    }
+
+    /**
+     * Creates a watcher that reloads the file with the given reader.
+     * @param csvFile the CSV file to watch
+     * @param debounceMillis quiet period to wait after the last change event before reloading
+     * @param csvReader the reader used for reloads
+     * @param listener notified with each newly published snapshot
+     */
+    public DirectoryWatcher(Path csvFile, long debounceMillis, CSVReader csvReader, Consumer<DirectorySnapshot> listener) {
+        this.csvFile = csvFile.toAbsolutePath();
+        this.debounceMillis = debounceMillis;
+        this.csvReader = csvReader;
+        this.listener = listener;
+        this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "directory-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts watching. The given snapshot is treated as the current version of the file.
+     * @param initialSnapshot the snapshot already loaded from the file
+     * @throws IOException if the watch service cannot be registered
+     */
+    public synchronized void start(DirectorySnapshot initialSnapshot) throws IOException {
+        current.set(initialSnapshot);
+        lastHash = hashFile(csvFile);
+
+        watchService = csvFile.getFileSystem().newWatchService();
+        csvFile.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watchThread = new Thread(this::watchLoop, "directory-watch");
+        watchThread.start();
+        logger.info("Watching {} for changes", csvFile);
+    }
+
+    /**
+     * Gets the most recently published snapshot.
+     * @return the current snapshot
+     */
+    public DirectorySnapshot getCurrent() {
+        return current.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Error closing watch service: {}", e.getMessage());
+            }
+        }
+        reloadExecutor.shutdownNow();
+    }
+
+    private void watchLoop() {
+        Path fileName = csvFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        relevant = true;
+                    }
+                }
+                if (relevant) {
+                    scheduleReload();
+                }
+                if (!key.reset()) {
+                    logger.warn("Watch key for {} is no longer valid", csvFile.getParent());
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Watch service closed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Restarts the debounce timer so a burst of writes triggers a single reload.
+     */
+    private synchronized void scheduleReload() {
+        if (reloadExecutor.isShutdown()) {
+            return;
+        }
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = reloadExecutor.schedule(this::reloadIfChanged, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Re-parses the file and publishes a new snapshot if its content hash has changed. The file
+     * is hashed again after parsing, and a snapshot parsed while the file was being rewritten is
+     * discarded and the reload retried, so the published tree always matches the recorded hash.
+     * @return true if a new snapshot was published
+     */
+    boolean reloadIfChanged() {
+        try {
+            byte[] hash = hashFile(csvFile);
+            if (Arrays.equals(hash, lastHash)) {
+                logger.debug("Content of {} unchanged, skipping reload", csvFile);
+                return false;
+            }
+
+            List<Employee> employees = csvReader.readEmployees(csvFile.toString());
+            if (!Arrays.equals(hash, hashFile(csvFile))) {
+                logger.info("{} changed while it was being reloaded, retrying", csvFile);
+                scheduleReload();
+                return false;
+            }
+            EmployeeTree employeeTree = new EmployeeTree();
+            if (queryCacheBytes > 0) {
+                employeeTree.enableQueryCache(queryCacheBytes);
+            }
+            employeeTree.buildTree(employees);
+            DirectorySnapshot snapshot = exactSalaryBands
+                ? DirectorySnapshot.ofExact(employeeTree)
+                : DirectorySnapshot.of(employeeTree);
+
+            lastHash = hash;
+            current.set(snapshot);
+            logger.info("Reloaded {} employees from {}", employees.size(), csvFile);
+            listener.accept(snapshot);
+            return true;
+        } catch (IOException e) {
+            // Keep serving the previous version; the next write will trigger another attempt
+            logger.error("Error reloading {}: {}", csvFile, e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            // Not rethrown: the scheduled executor would swallow it without a trace
+            logger.error("Unexpected error reloading {}", csvFile, e);
+            return false;
+        }
+    }
+
+    private static byte[] hashFile(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+}
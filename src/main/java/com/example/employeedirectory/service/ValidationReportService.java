@@ -1,9 +1,13 @@
 package com.example.employeedirectory.service;
 
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.metrics.PipelineMetrics;
+import com.example.employeedirectory.metrics.ReportWriteEvent;
 import com.example.employeedirectory.model.Employee;
 import com.example.employeedirectory.model.EmployeeNode;
 import com.example.employeedirectory.validation.EmployeeValidator;
 import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import com.example.employeedirectory.validation.SalaryColumns;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,21 +38,93 @@ public class ValidationReportService {
         // Run validation once and store results
         if (!validationExecuted) {
             logger.debug("Running validation for {} employee nodes...", employeeNodes.size());
+            PipelineMetrics.Timer timer = PipelineMetrics.startPhase(PipelineMetrics.VALIDATION);
             salaryResults = EmployeeValidator.validateAllManagerSalaries(employeeNodes);
             depthResults = EmployeeValidator.validateAllReportingDepths(employeeNodes);
+            timer.stop(employeeNodes.size(), 0);
+            PipelineMetrics.increment("violations", salaryResults.size() + depthResults.size());
             validationExecuted = true;
             logger.debug("Validation completed. Found {} salary violations and {} depth violations.", 
                         salaryResults.size(), depthResults.size());
         }
         
+        displayReport();
+    }
+    
+    /**
+     * Generates and displays the validation report with salary bands checked in exact integer
+     * cents by {@link SalaryColumns#validateSalaryBands()}, for salaries parsed as fixed point.
+     * Salaries exactly on a band edge then pass, where the double-based validator can flag them.
+     * @param employeeTree the tree to validate
+     */
+    public void generateExactValidationReport(EmployeeTree employeeTree) {
+        if (!validationExecuted) {
+            List<EmployeeNode> employeeNodes = employeeTree.getAllNodes();
+            logger.debug("Running exact validation for {} employee nodes...", employeeNodes.size());
+            PipelineMetrics.Timer timer = PipelineMetrics.startPhase(PipelineMetrics.VALIDATION);
+            salaryResults = SalaryColumns.of(employeeTree).validateSalaryBands();
+            depthResults = EmployeeValidator.validateAllReportingDepths(employeeNodes);
+            timer.stop(employeeNodes.size(), 0);
+            PipelineMetrics.increment("violations", salaryResults.size() + depthResults.size());
+            validationExecuted = true;
+            logger.debug("Validation completed. Found {} salary violations and {} depth violations.", 
+                        salaryResults.size(), depthResults.size());
+        }
+        
+        displayReport();
+    }
+    
+    /**
+     * Displays the validation report of a snapshot, reusing the results it already holds.
+     * @param snapshot a validated directory snapshot
+     */
+    public void generateValidationReport(DirectorySnapshot snapshot) {
+        salaryResults = snapshot.getSalaryResults();
+        depthResults = snapshot.getDepthResults();
+        validationExecuted = true;
+        displayReport();
+    }
+    
+    /**
+     * Gets the salary violations found by the last report.
+     * @return the violations, or null if no report has been generated
+     */
+    public List<ValidationResult> getSalaryResults() {
+        return salaryResults;
+    }
+    
+    /**
+     * Gets the reporting depth violations found by the last report.
+     * @return the violations, or null if no report has been generated
+     */
+    public List<ValidationResult> getDepthResults() {
+        return depthResults;
+    }
+    
+    private void displayReport() {
         logger.info("Validation Report");
         logger.info("=================");
         
         // Salary validation
+        ReportWriteEvent salaryEvent = new ReportWriteEvent();
+        salaryEvent.begin();
         displaySalaryValidationResults();
+        commitReportEvent(salaryEvent, "salary", salaryResults.size());
         
         // Reporting depth validation
+        ReportWriteEvent depthEvent = new ReportWriteEvent();
+        depthEvent.begin();
         displayReportingDepthValidationResults();
+        commitReportEvent(depthEvent, "depth", depthResults.size());
+    }
+    
+    private static void commitReportEvent(ReportWriteEvent event, String section, int entries) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.section = section;
+            event.entries = entries;
+            event.commit();
+        }
     }
     
     /**
@@ -0,0 +1,60 @@
+package com.example.employeedirectory.simulation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A named set of proposed changes to evaluate against the current directory: new salaries and
+ * moves of employees to new managers. Scenarios only describe changes; the directory is never modified.
+ */
+public final class Scenario {
+
+    private final String name;
+    private final Map<String, Double> salaries = new LinkedHashMap<>();
+    // A null manager ID makes the employee a root
+    private final Map<String, String> moves = new LinkedHashMap<>();
+
+    public Scenario(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Proposes a new salary. A later proposal for the same employee replaces this one.
+     * @param employeeId the employee ID
+     * @param salary the proposed salary
+     * @return this scenario
+     */
+    public Scenario setSalary(String employeeId, double salary) {
+        salaries.put(employeeId, salary);
+        return this;
+    }
+
+    /**
+     * Proposes moving an employee, with their whole team, under a new manager.
+     * @param employeeId the employee ID
+     * @param newManagerId the new manager's ID, or null to make the employee a root
+     * @return this scenario
+     */
+    public Scenario move(String employeeId, String newManagerId) {
+        moves.put(employeeId, newManagerId);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Double> getSalaries() {
+        return Collections.unmodifiableMap(salaries);
+    }
+
+    public Map<String, String> getMoves() {
+        return Collections.unmodifiableMap(moves);
+    }
+
+    @Override
+    public String toString() {
+        return "Scenario{name='" + name + "', salaries=" + salaries.size() + ", moves=" + moves.size() + "}";
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.employeedirectory.simulation;
+
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How a scenario would change the directory's violations relative to the baseline. A violation
+ * is identified by its employee and kind; one that exists in both with a different amount is
+ * neither added nor removed but listed as changed.
+ */
+public final class SimulationResult {
+
+    /**
+     * A violation that exists both in the baseline and under the scenario, with a different amount.
+     */
+    public static final class Change {
+        private final ValidationResult before;
+        private final ValidationResult after;
+
+        Change(ValidationResult before, ValidationResult after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        /** @return the baseline violation */
+        public ValidationResult getBefore() { return before; }
+        /** @return the violation under the scenario, reported with the employee's proposed record */
+        public ValidationResult getAfter() { return after; }
+
+        @Override
+        public String toString() {
+            return after.getEmployee().getId() + ":" + after.getMessage() + " " + before.getAmount()
+                + " -> " + after.getAmount();
+        }
+    }
+
+    private final Scenario scenario;
+    private final List<ValidationResult> added;
+    private final List<ValidationResult> removed;
+    private final List<Change> changed;
+    private final int revalidatedEmployees;
+
+    SimulationResult(Scenario scenario, List<ValidationResult> added, List<ValidationResult> removed,
+                     List<Change> changed, int revalidatedEmployees) {
+        this.scenario = scenario;
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+        this.changed = Collections.unmodifiableList(changed);
+        this.revalidatedEmployees = revalidatedEmployees;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /** @return violations the scenario would introduce, reported with the employees' proposed records */
+    public List<ValidationResult> getAdded() {
+        return added;
+    }
+
+    /** @return baseline violations the scenario would resolve */
+    public List<ValidationResult> getRemoved() {
+        return removed;
+    }
+
+    /** @return violations that remain under the scenario but with a different amount */
+    public List<Change> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Gets the net change in the number of violations.
+     * @return added minus removed
+     */
+    public int getNetChange() {
+        return added.size() - removed.size();
+    }
+
+    /** @return the number of employees whose rules had to be re-run for this scenario */
+    public int getRevalidatedEmployees() {
+        return revalidatedEmployees;
+    }
+
+    @Override
+    public String toString() {
+        return scenario.getName() + ": +" + added.size() + " / -" + removed.size() + " / ~" + changed.size()
+            + " violations";
+    }
+}
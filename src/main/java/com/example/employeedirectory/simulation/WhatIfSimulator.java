@@ -0,0 +1,276 @@
+package com.example.employeedirectory.simulation;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.validation.EmployeeValidator;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import com.example.employeedirectory.validation.ValidationState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates proposed raises and re-orgs without touching the directory. The baseline
+ * violations are computed once; each {@link Scenario} is then applied as a copy-on-write
+ * overlay that records only the changed employees and the changed report lists, and only the
+ * rules those changes can affect are re-run:
+ * <ul>
+ *   <li>a salary change re-checks the employee's own band and their manager's band;</li>
+ *   <li>a move re-checks the old and new managers' bands and the depth of the moved subtree.</li>
+ * </ul>
+ *
+ * <p>The base tree is only read, so any number of scenarios can be simulated concurrently as
+ * long as the tree is not modified meanwhile.
+ */
+public class WhatIfSimulator {
+
+    private final EmployeeTree baseTree;
+    private final ValidationState baseline;
+
+    /**
+     * Creates a simulator and validates the baseline.
+     * @param baseTree the current directory, which must not change while the simulator is used
+     */
+    public WhatIfSimulator(EmployeeTree baseTree) {
+        this.baseTree = baseTree;
+        this.baseline = ValidationState.of(baseTree.getAllNodes());
+    }
+
+    /**
+     * Gets the violations of the unchanged directory.
+     * @return the baseline validation state
+     */
+    public ValidationState getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Simulates one scenario.
+     * @param scenario the proposed changes
+     * @return the violations the scenario would add and remove
+     * @throws IllegalArgumentException if the scenario names unknown employees or a move would create a cycle
+     */
+    public SimulationResult simulate(Scenario scenario) {
+        return new Overlay(scenario).evaluate();
+    }
+
+    /**
+     * Simulates many scenarios in parallel against the shared base tree.
+     * @param scenarios the scenarios
+     * @return one result per scenario, in the same order
+     * @throws IllegalArgumentException if any scenario is invalid
+     */
+    public List<SimulationResult> simulateAll(List<Scenario> scenarios) {
+        return scenarios.parallelStream()
+            .map(this::simulate)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * A scenario laid over the base tree. Lookups fall through to the base tree except for the
+     * employees and report lists the scenario changes.
+     */
+    private final class Overlay {
+        private final Scenario scenario;
+        private final Map<String, Employee> employees = new HashMap<>();
+        // Moved employees to their new manager node; a null value means the employee becomes a root
+        private final Map<String, EmployeeNode> parents = new HashMap<>();
+        // Report lists of managers that lose or gain reports
+        private final Map<String, List<EmployeeNode>> reports = new HashMap<>();
+
+        Overlay(Scenario scenario) {
+            this.scenario = scenario;
+            scenario.getSalaries().forEach((employeeId, salary) -> {
+                Employee current = employee(node(employeeId));
+                employees.put(employeeId, new Employee(employeeId, current.getFirstName(), current.getLastName(),
+                    salary, current.getManagerId()));
+            });
+            scenario.getMoves().forEach((employeeId, managerId) -> {
+                EmployeeNode node = node(employeeId);
+                EmployeeNode newParent = managerId == null ? null : node(managerId);
+                EmployeeNode oldParent = parent(node);
+                if (oldParent == newParent) {
+                    return;
+                }
+                if (oldParent != null) {
+                    reportsOf(oldParent).remove(node);
+                }
+                if (newParent != null) {
+                    reportsOf(newParent).add(node);
+                }
+                parents.put(employeeId, newParent);
+                Employee current = employee(node);
+                employees.put(employeeId, new Employee(employeeId, current.getFirstName(), current.getLastName(),
+                    current.getSalary(), managerId));
+            });
+            for (String employeeId : parents.keySet()) {
+                checkAcyclic(baseTree.getNodeById(employeeId));
+            }
+        }
+
+        private EmployeeNode node(String employeeId) {
+            EmployeeNode node = baseTree.getNodeById(employeeId);
+            if (node == null) {
+                throw new IllegalArgumentException("Unknown employee " + employeeId + " in scenario " + scenario.getName());
+            }
+            return node;
+        }
+
+        private Employee employee(EmployeeNode node) {
+            Employee changed = employees.get(node.getEmployee().getId());
+            return changed != null ? changed : node.getEmployee();
+        }
+
+        private EmployeeNode parent(EmployeeNode node) {
+            String employeeId = node.getEmployee().getId();
+            return parents.containsKey(employeeId) ? parents.get(employeeId) : node.getParent();
+        }
+
+        private List<EmployeeNode> reports(EmployeeNode node) {
+            List<EmployeeNode> changed = reports.get(node.getEmployee().getId());
+            return changed != null ? changed : node.getChildren();
+        }
+
+        /**
+         * Copies a manager's report list on first change.
+         */
+        private List<EmployeeNode> reportsOf(EmployeeNode manager) {
+            return reports.computeIfAbsent(manager.getEmployee().getId(), id -> manager.getChildren());
+        }
+
+        private void checkAcyclic(EmployeeNode moved) {
+            int steps = 0;
+            for (EmployeeNode ancestor = parent(moved); ancestor != null; ancestor = parent(ancestor)) {
+                if (ancestor == moved || ++steps > baseTree.getTotalEmployeeCount()) {
+                    throw new IllegalArgumentException("Moving employee " + moved.getEmployee().getId()
+                        + " in scenario " + scenario.getName() + " would create a cycle");
+                }
+            }
+        }
+
+        private int depth(EmployeeNode node) {
+            int depth = 0;
+            for (EmployeeNode ancestor = parent(node); ancestor != null; ancestor = parent(ancestor)) {
+                depth++;
+            }
+            return depth;
+        }
+
+        SimulationResult evaluate() {
+            // Managers whose salary band must be re-checked
+            Set<EmployeeNode> managers = new LinkedHashSet<>();
+            for (String employeeId : scenario.getSalaries().keySet()) {
+                EmployeeNode node = baseTree.getNodeById(employeeId);
+                managers.add(node);
+                EmployeeNode manager = parent(node);
+                if (manager != null) {
+                    managers.add(manager);
+                }
+            }
+            for (String employeeId : parents.keySet()) {
+                EmployeeNode node = baseTree.getNodeById(employeeId);
+                EmployeeNode oldManager = node.getParent();
+                EmployeeNode newManager = parents.get(employeeId);
+                if (oldManager != null) {
+                    managers.add(oldManager);
+                }
+                if (newManager != null) {
+                    managers.add(newManager);
+                }
+            }
+
+            List<ValidationResult> added = new ArrayList<>();
+            List<ValidationResult> removed = new ArrayList<>();
+            List<SimulationResult.Change> changed = new ArrayList<>();
+            Set<String> revalidated = new LinkedHashSet<>();
+            for (EmployeeNode manager : managers) {
+                String managerId = manager.getEmployee().getId();
+                revalidated.add(managerId);
+                List<ValidationResult> results = new ArrayList<>(2);
+                EmployeeValidator.validateManagerSalary(employee(manager), reportNodes(manager), results);
+                compare(baseline.getSalaryResults(managerId), results, added, removed, changed);
+            }
+
+            // Moves change the depth of the whole moved subtree
+            Set<EmployeeNode> visited = new LinkedHashSet<>();
+            for (String employeeId : parents.keySet()) {
+                EmployeeNode moved = baseTree.getNodeById(employeeId);
+                Deque<EmployeeNode> stack = new ArrayDeque<>();
+                Deque<Integer> depths = new ArrayDeque<>();
+                stack.push(moved);
+                depths.push(depth(moved));
+                while (!stack.isEmpty()) {
+                    EmployeeNode node = stack.pop();
+                    int depth = depths.pop();
+                    if (!visited.add(node)) {
+                        continue;
+                    }
+                    String id = node.getEmployee().getId();
+                    revalidated.add(id);
+                    ValidationResult before = baseline.getDepthResult(id);
+                    ValidationResult after = EmployeeValidator.validateReportingDepth(employee(node), depth);
+                    compare(before == null ? List.of() : List.of(before), after == null ? List.of() : List.of(after),
+                        added, removed, changed);
+                    for (EmployeeNode child : reports(node)) {
+                        stack.push(child);
+                        depths.push(depth + 1);
+                    }
+                }
+            }
+            return new SimulationResult(scenario, added, removed, changed, revalidated.size());
+        }
+
+        /**
+         * Gets a manager's reports as the salary rules see them, with proposed salaries applied.
+         */
+        private List<EmployeeNode> reportNodes(EmployeeNode manager) {
+            List<EmployeeNode> nodes = reports(manager);
+            List<EmployeeNode> result = new ArrayList<>(nodes.size());
+            for (EmployeeNode node : nodes) {
+                Employee changed = employees.get(node.getEmployee().getId());
+                result.add(changed == null ? node : new EmployeeNode(changed));
+            }
+            return result;
+        }
+
+        /**
+         * Compares one employee's violations before and after the scenario. Each rule reports at
+         * most one violation per employee and its message names the rule, so results are paired
+         * by message; a pair whose amounts differ is a changed violation.
+         */
+        private void compare(List<ValidationResult> before, List<ValidationResult> after,
+                             List<ValidationResult> added, List<ValidationResult> removed,
+                             List<SimulationResult.Change> changed) {
+            for (ValidationResult result : after) {
+                ValidationResult previous = sameRule(before, result);
+                if (previous == null) {
+                    added.add(result);
+                } else if (Double.compare(previous.getAmount(), result.getAmount()) != 0) {
+                    changed.add(new SimulationResult.Change(previous, result));
+                }
+            }
+            for (ValidationResult result : before) {
+                if (sameRule(after, result) == null) {
+                    removed.add(result);
+                }
+            }
+        }
+
+        private ValidationResult sameRule(List<ValidationResult> results, ValidationResult result) {
+            for (ValidationResult candidate : results) {
+                if (candidate.getMessage().equals(result.getMessage())) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+}
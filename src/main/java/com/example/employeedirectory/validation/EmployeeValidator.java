@@ -1,9 +1,13 @@
 package com.example.employeedirectory.validation;
 
+import com.example.employeedirectory.metrics.ValidationPassEvent;
 import com.example.employeedirectory.model.Employee;
 import com.example.employeedirectory.model.EmployeeNode;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.function.Predicate;
 import java.util.function.Function;
 
@@ -50,6 +54,101 @@ public class EmployeeValidator {
         public Employee getEmployee() { return employee; }
     }
     
+    /**
+     * Keeps only the K largest violations of each kind, ranked by {@link ValidationResult#getAmount()}.
+     * Each kind is held in a min-heap capped at K entries, so a full validation pass uses O(K) memory
+     * no matter how many violations the organization has. Instances can be merged, which lets
+     * per-thread heaps be combined after a parallel pass.
+     */
+    public static class TopViolations {
+        private static final Comparator<ValidationResult> BY_AMOUNT =
+            Comparator.comparingDouble(ValidationResult::getAmount);
+        
+        private final int limit;
+        private final PriorityQueue<ValidationResult> underpaid;
+        private final PriorityQueue<ValidationResult> overpaid;
+        private final PriorityQueue<ValidationResult> tooDeep;
+        
+        public TopViolations(int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Limit must be positive: " + limit);
+            }
+            this.limit = limit;
+            this.underpaid = new PriorityQueue<>(limit + 1, BY_AMOUNT);
+            this.overpaid = new PriorityQueue<>(limit + 1, BY_AMOUNT);
+            this.tooDeep = new PriorityQueue<>(limit + 1, BY_AMOUNT);
+        }
+        
+        public void offerUnderpaid(ValidationResult result) { offer(underpaid, result); }
+        public void offerOverpaid(ValidationResult result) { offer(overpaid, result); }
+        public void offerTooDeep(ValidationResult result) { offer(tooDeep, result); }
+        
+        /**
+         * Folds the violations of a single node into the heaps.
+         * @param node the employee node to check
+         */
+        public void accept(EmployeeNode node) {
+            if (!node.isLeaf()) {
+                List<EmployeeNode> directReports = node.getChildren();
+                Employee manager = node.getEmployee();
+                
+                ValidationResult minResult = MIN_SALARY_RULE.validate(manager, directReports);
+                if (!minResult.isValid()) {
+                    offerUnderpaid(minResult);
+                }
+                ValidationResult maxResult = MAX_SALARY_RULE.validate(manager, directReports);
+                if (!maxResult.isValid()) {
+                    offerOverpaid(maxResult);
+                }
+            }
+            
+            ValidationResult depthResult = DEPTH_RULE.validate(node);
+            if (!depthResult.isValid()) {
+                offerTooDeep(depthResult);
+            }
+        }
+        
+        /**
+         * Merges another set of heaps into this one.
+         * @param other the heaps to merge, typically collected by another thread
+         * @return this instance
+         */
+        public TopViolations merge(TopViolations other) {
+            other.underpaid.forEach(this::offerUnderpaid);
+            other.overpaid.forEach(this::offerOverpaid);
+            other.tooDeep.forEach(this::offerTooDeep);
+            return this;
+        }
+        
+        /** @return the most underpaid managers, largest shortfall first */
+        public List<ValidationResult> getUnderpaid() { return sortedDescending(underpaid); }
+        /** @return the most overpaid managers, largest excess first */
+        public List<ValidationResult> getOverpaid() { return sortedDescending(overpaid); }
+        /** @return the deepest reporting lines, deepest first */
+        public List<ValidationResult> getTooDeep() { return sortedDescending(tooDeep); }
+        
+        public int getLimit() { return limit; }
+        
+        private void offer(PriorityQueue<ValidationResult> heap, ValidationResult result) {
+            if (heap.size() < limit) {
+                heap.add(result);
+            } else if (result.getAmount() > heap.peek().getAmount()) {
+                heap.poll();
+                heap.add(result);
+            }
+        }
+        
+        private static List<ValidationResult> sortedDescending(PriorityQueue<ValidationResult> heap) {
+            List<ValidationResult> results = new ArrayList<>(heap);
+            results.sort(BY_AMOUNT.reversed());
+            return results;
+        }
+    }
+    
+    private static final SalaryValidationRule MIN_SALARY_RULE = createMinimumSalaryRule();
+    private static final SalaryValidationRule MAX_SALARY_RULE = createMaximumSalaryRule();
+    private static final ReportingValidationRule DEPTH_RULE = createReportingDepthRule();
+    
     /**
      * Validates that managers earn at least 20% more than their direct subordinates' average salary.
      */
@@ -63,7 +162,7 @@ public class EmployeeValidator {
             double minRequiredSalary = averageSubordinateSalary * 1.20;
             double managerSalary = manager.getSalary();
             
-            if (managerSalary >= minRequiredSalary) {
+            if (meetsMinimumSalary(managerSalary, averageSubordinateSalary)) {
                 return new ValidationResult(true, "Manager meets minimum salary requirement", 0.0, manager);
             } else {
                 double shortfall = minRequiredSalary - managerSalary;
@@ -86,7 +185,7 @@ public class EmployeeValidator {
             double maxAllowedSalary = averageSubordinateSalary * 1.50;
             double managerSalary = manager.getSalary();
             
-            if (managerSalary <= maxAllowedSalary) {
+            if (meetsMaximumSalary(managerSalary, averageSubordinateSalary)) {
                 return new ValidationResult(true, "Manager meets maximum salary requirement", 0.0, manager);
             } else {
                 double excess = managerSalary - maxAllowedSalary;
@@ -100,16 +199,17 @@ public class EmployeeValidator {
      * Validates that employees don't have more than 4 managers between them and the CEO.
      */
     public static ReportingValidationRule createReportingDepthRule() {
-        return (employeeNode) -> {
-            int depth = employeeNode.getDepth();
-            if (depth <= 4) {
-                return new ValidationResult(true, "Acceptable reporting depth", 0.0, employeeNode.getEmployee());
-            } else {
-                int levelsTooDeep = depth - 4;
-                return new ValidationResult(false, 
-                    "Reporting line too deep", levelsTooDeep, employeeNode.getEmployee());
-            }
-        };
+        return (employeeNode) -> checkReportingDepth(employeeNode.getEmployee(), employeeNode.getDepth());
+    }
+    
+    private static ValidationResult checkReportingDepth(Employee employee, int depth) {
+        if (depth <= 4) {
+            return new ValidationResult(true, "Acceptable reporting depth", 0.0, employee);
+        } else {
+            int levelsTooDeep = depth - 4;
+            return new ValidationResult(false, 
+                "Reporting line too deep", levelsTooDeep, employee);
+        }
     }
     
     /**
@@ -119,34 +219,72 @@ public class EmployeeValidator {
      */
     public static List<ValidationResult> validateAllManagerSalaries(List<EmployeeNode> employeeNodes) {
         List<ValidationResult> results = new java.util.ArrayList<>();
-        
-        SalaryValidationRule minRule = createMinimumSalaryRule();
-        SalaryValidationRule maxRule = createMaximumSalaryRule();
+        ValidationPassEvent event = new ValidationPassEvent();
+        event.begin();
         
         for (EmployeeNode node : employeeNodes) {
-            if (!node.isLeaf()) { // Only check managers
-                List<EmployeeNode> directReports = node.getChildren();
-                if (!directReports.isEmpty()) {
-                    Employee manager = node.getEmployee();
-                    
-                    // Check minimum salary requirement
-                    ValidationResult minResult = minRule.validate(manager, directReports);
-                    if (!minResult.isValid()) {
-                        results.add(minResult);
-                    }
-                    
-                    // Check maximum salary requirement
-                    ValidationResult maxResult = maxRule.validate(manager, directReports);
-                    if (!maxResult.isValid()) {
-                        results.add(maxResult);
-                    }
-                }
-            }
+            validateManagerSalary(node, results);
         }
         
+        commitPassEvent(event, ValidationPassEvent.SALARY_PASS, employeeNodes.size(), results.size());
         return results;
     }
     
+    /**
+     * Validates the salary requirements of a single manager.
+     * @param node the employee node to check; non-managers produce no results
+     * @param results the list to add any violations to
+     */
+    public static void validateManagerSalary(EmployeeNode node, List<ValidationResult> results) {
+        if (!node.isLeaf()) { // Only check managers
+            validateManagerSalary(node.getEmployee(), node.getChildren(), results);
+        }
+    }
+    
+    /**
+     * Validates the salary requirements of a manager against a given set of direct reports,
+     * which need not be the reports currently linked in the tree.
+     * @param manager the manager
+     * @param directReports the direct reports; an empty list produces no results
+     * @param results the list to add any violations to
+     */
+    public static void validateManagerSalary(Employee manager, List<EmployeeNode> directReports,
+                                             List<ValidationResult> results) {
+        if (!directReports.isEmpty()) {
+            // Check minimum salary requirement
+            ValidationResult minResult = MIN_SALARY_RULE.validate(manager, directReports);
+            if (!minResult.isValid()) {
+                results.add(minResult);
+            }
+            
+            // Check maximum salary requirement
+            ValidationResult maxResult = MAX_SALARY_RULE.validate(manager, directReports);
+            if (!maxResult.isValid()) {
+                results.add(maxResult);
+            }
+        }
+    }
+    
+    /**
+     * Checks a salary against the lower edge of the band, exactly as the minimum salary rule does.
+     * @param managerSalary the manager's salary
+     * @param averageSubordinateSalary the average salary of the manager's direct reports
+     * @return true if the manager earns at least 20% more than the average
+     */
+    public static boolean meetsMinimumSalary(double managerSalary, double averageSubordinateSalary) {
+        return managerSalary >= averageSubordinateSalary * 1.20;
+    }
+    
+    /**
+     * Checks a salary against the upper edge of the band, exactly as the maximum salary rule does.
+     * @param managerSalary the manager's salary
+     * @param averageSubordinateSalary the average salary of the manager's direct reports
+     * @return true if the manager earns at most 50% more than the average
+     */
+    public static boolean meetsMaximumSalary(double managerSalary, double averageSubordinateSalary) {
+        return managerSalary <= averageSubordinateSalary * 1.50;
+    }
+    
     /**
      * Validates reporting structure depth for all employees.
      * @param employeeNodes all employee nodes in the tree
@@ -154,19 +292,78 @@ public class EmployeeValidator {
      */
     public static List<ValidationResult> validateAllReportingDepths(List<EmployeeNode> employeeNodes) {
         List<ValidationResult> results = new java.util.ArrayList<>();
-        
-        ReportingValidationRule depthRule = createReportingDepthRule();
+        ValidationPassEvent event = new ValidationPassEvent();
+        event.begin();
         
         for (EmployeeNode node : employeeNodes) {
-            ValidationResult result = depthRule.validate(node);
-            if (!result.isValid()) {
+            ValidationResult result = validateReportingDepth(node);
+            if (result != null) {
                 results.add(result);
             }
         }
         
+        commitPassEvent(event, ValidationPassEvent.DEPTH_PASS, employeeNodes.size(), results.size());
         return results;
     }
     
+    /**
+     * Validates the reporting depth of a single employee.
+     * @param node the employee node to check
+     * @return the violation, or null if the depth is acceptable
+     */
+    public static ValidationResult validateReportingDepth(EmployeeNode node) {
+        ValidationResult result = DEPTH_RULE.validate(node);
+        return result.isValid() ? null : result;
+    }
+    
+    /**
+     * Validates the reporting depth of an employee placed at a given depth, which need not be
+     * the depth of its node in the tree.
+     * @param employee the employee
+     * @param depth the number of managers above the employee
+     * @return the violation, or null if the depth is acceptable
+     */
+    public static ValidationResult validateReportingDepth(Employee employee, int depth) {
+        ValidationResult result = checkReportingDepth(employee, depth);
+        return result.isValid() ? null : result;
+    }
+    
+    /**
+     * Finds the K worst salary and depth violations without materializing the full result lists.
+     * @param employeeNodes all employee nodes in the tree
+     * @param limit the maximum number of violations to keep per kind
+     * @return the top violations of each kind
+     */
+    public static TopViolations findTopViolations(List<EmployeeNode> employeeNodes, int limit) {
+        TopViolations top = new TopViolations(limit);
+        for (EmployeeNode node : employeeNodes) {
+            top.accept(node);
+        }
+        return top;
+    }
+    
+    /**
+     * Parallel variant of {@link #findTopViolations(List, int)}. Each worker fills its own bounded
+     * heaps which are merged pairwise at the end, so memory stays at O(K) per worker.
+     * @param employeeNodes all employee nodes in the tree
+     * @param limit the maximum number of violations to keep per kind
+     * @return the top violations of each kind
+     */
+    public static TopViolations findTopViolationsParallel(List<EmployeeNode> employeeNodes, int limit) {
+        return employeeNodes.parallelStream()
+            .collect(() -> new TopViolations(limit), TopViolations::accept, TopViolations::merge);
+    }
+    
+    private static void commitPassEvent(ValidationPassEvent event, String pass, int employees, int violations) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.pass = pass;
+            event.employees = employees;
+            event.violations = violations;
+            event.commit();
+        }
+    }
+    
     /**
      * Calculates the average salary of a list of employee nodes.
      * @param nodes the list of employee nodes
@@ -0,0 +1,185 @@
+package com.example.employeedirectory.validation;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.model.SalaryCents;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Suggests the smallest salary changes that bring every manager inside the 20%/50% band around
+ * their direct reports' average salary. Individual contributors keep their salaries; each
+ * out-of-band manager is moved to the nearest edge of its band, in whole cents.
+ *
+ * <p>A manager's band depends only on the final salaries of its direct reports, so managers are
+ * settled bottom-up: the levels of a {@link SalaryColumns} layout are processed from the deepest
+ * up, and a raise or cut is then reflected in the band of the manager above. The passes repeat
+ * until one changes nothing, which with this ordering is at most the second, so a solve costs
+ * two linear passes over the salary arrays. Managers on the same level head disjoint subtrees,
+ * so {@link #solveParallel(EmployeeTree)} settles each large level in parallel.
+ *
+ * <p>Bands are computed with the exact integer arithmetic of
+ * {@link SalaryColumns#validateSalaryBands()}: with {@code n} reports earning {@code s} cents in
+ * total, a manager must earn at least {@code ceil(6·s / 5n)} and at most {@code floor(3·s / 2n)}.
+ * {@link EmployeeValidator} checks the band in doubles, which can miss an exact edge by a rounding
+ * error, so each suggestion is then moved a cent at a time inward until the validator's own
+ * predicates accept it too.
+ */
+public final class SalaryBandSolver {
+
+    // Levels smaller than this are settled on the calling thread
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private final SalaryColumns columns;
+    private final long[] salaries;
+    private final boolean[] unresolved;
+    private final boolean parallel;
+
+    private SalaryBandSolver(SalaryColumns columns, boolean parallel) {
+        this.columns = columns;
+        this.salaries = new long[columns.size()];
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = columns.getCents(i);
+        }
+        this.unresolved = new boolean[columns.size()];
+        this.parallel = parallel;
+    }
+
+    /**
+     * Computes the salary changes for a tree on the calling thread.
+     * @param employeeTree the tree, which is not modified
+     * @return the suggested changes
+     */
+    public static SalaryPlan solve(EmployeeTree employeeTree) {
+        return new SalaryBandSolver(SalaryColumns.of(employeeTree), false).run();
+    }
+
+    /**
+     * Parallel variant of {@link #solve(EmployeeTree)}.
+     * @param employeeTree the tree, which is not modified
+     * @return the same suggested changes as {@link #solve(EmployeeTree)}
+     */
+    public static SalaryPlan solveParallel(EmployeeTree employeeTree) {
+        return new SalaryBandSolver(SalaryColumns.of(employeeTree), true).run();
+    }
+
+    private SalaryPlan run() {
+        int passes = 0;
+        long changed;
+        do {
+            changed = runPass();
+            passes++;
+        } while (changed > 0);
+
+        List<SalaryPlan.Adjustment> adjustments = new ArrayList<>();
+        List<Employee> unresolvedManagers = new ArrayList<>();
+        for (int i = 0; i < salaries.length; i++) {
+            EmployeeNode node = columns.getNode(i);
+            if (salaries[i] != columns.getCents(i)) {
+                adjustments.add(new SalaryPlan.Adjustment(node.getEmployee(), columns.getCents(i), salaries[i]));
+            }
+            if (unresolved[i]) {
+                unresolvedManagers.add(node.getEmployee());
+            }
+        }
+        return new SalaryPlan(adjustments, unresolvedManagers, passes);
+    }
+
+    /**
+     * Settles every manager once, deepest level first.
+     * @return the number of managers whose salary changed
+     */
+    private long runPass() {
+        long changed = 0;
+        // The deepest level has no managers
+        for (int depth = columns.getLevelCount() - 2; depth >= 0; depth--) {
+            int start = columns.getLevelStart(depth);
+            int end = columns.getLevelStart(depth + 1);
+            if (parallel && end - start >= PARALLEL_THRESHOLD) {
+                changed += IntStream.range(start, end).parallel().filter(this::settle).count();
+            } else {
+                for (int i = start; i < end; i++) {
+                    if (settle(i)) {
+                        changed++;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Moves one manager into the band of its reports' current salaries.
+     * @return true if the manager's salary changed
+     */
+    private boolean settle(int index) {
+        int reports = columns.getChildCount(index);
+        if (reports == 0) {
+            return false;
+        }
+        int first = columns.getFirstChild(index);
+        long reportCents = 0;
+        // Summed in the validator's order, so the average is the one it will compute
+        double reportSalaries = 0.0;
+        for (int i = first; i < first + reports; i++) {
+            reportCents += salaries[i];
+            reportSalaries += reportedSalary(i, salaries[i]);
+        }
+        double average = reportSalaries / reports;
+
+        long minimum = divide(reportCents, 6, 5L * reports, RoundingMode.CEILING);
+        long maximum = divide(reportCents, 3, 2L * reports, RoundingMode.FLOOR);
+        long current = salaries[index];
+        long suggested;
+        if (minimum <= maximum) {
+            suggested = Math.max(minimum, Math.min(maximum, current));
+            while (!EmployeeValidator.meetsMinimumSalary(reportedSalary(index, suggested), average)
+                    && suggested < maximum) {
+                suggested++;
+            }
+            while (!EmployeeValidator.meetsMaximumSalary(reportedSalary(index, suggested), average)
+                    && suggested > minimum) {
+                suggested--;
+            }
+            unresolved[index] = !EmployeeValidator.meetsMinimumSalary(reportedSalary(index, suggested), average)
+                || !EmployeeValidator.meetsMaximumSalary(reportedSalary(index, suggested), average);
+        } else {
+            // No whole-cent salary fits; stay between the two limits so repeated passes agree
+            unresolved[index] = true;
+            suggested = Math.max(maximum, Math.min(minimum, current));
+        }
+        salaries[index] = suggested;
+        return suggested != current;
+    }
+
+    /**
+     * Gets the salary the validator will see for an employee once the plan is applied: the
+     * original value when unchanged, otherwise the suggested cents.
+     */
+    private double reportedSalary(int index, long cents) {
+        return cents == columns.getCents(index)
+            ? columns.getNode(index).getEmployee().getSalary()
+            : SalaryCents.toDouble(cents);
+    }
+
+    /**
+     * Computes {@code sum * factor / divisor} rounded as requested, exactly.
+     */
+    private static long divide(long sum, long factor, long divisor, RoundingMode rounding) {
+        try {
+            long product = Math.multiplyExact(sum, factor);
+            long quotient = Math.floorDiv(product, divisor);
+            return rounding == RoundingMode.CEILING && quotient * divisor != product ? quotient + 1 : quotient;
+        } catch (ArithmeticException e) {
+            return new BigDecimal(BigInteger.valueOf(sum).multiply(BigInteger.valueOf(factor)))
+                .divide(new BigDecimal(divisor), 0, rounding)
+                .longValueExact();
+        }
+    }
+}
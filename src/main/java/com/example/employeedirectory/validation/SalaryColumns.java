@@ -0,0 +1,171 @@
+package com.example.employeedirectory.validation;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.index.LevelIndex;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.model.SalaryCents;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Salaries in exact fixed-point cents, laid out as contiguous primitive arrays in breadth-first
+ * order. Because children are emitted right after one another in that order, each manager's
+ * direct reports occupy one contiguous slice of {@link #cents}, so sums and the 20%/50% band
+ * checks are tight loops over a {@code long[]} that the JIT can unroll and vectorize, with no
+ * pointer chasing through {@link EmployeeNode}.
+ *
+ * <p>The band checks use integer arithmetic only: a manager earning {@code m} with {@code n}
+ * reports whose salaries sum to {@code s} is underpaid when {@code 5·m·n < 6·s} and overpaid
+ * when {@code 2·m·n > 3·s}. Results are deterministic regardless of iteration order.
+ */
+public final class SalaryColumns {
+
+    private final EmployeeNode[] nodes;
+    private final long[] cents;
+    private final int[] firstChild;
+    private final int[] childCount;
+    // Index of the first employee of each level, plus the total size as a sentinel
+    private final int[] levelStarts;
+
+    private SalaryColumns(EmployeeNode[] nodes, long[] cents, int[] firstChild, int[] childCount, int[] levelStarts) {
+        this.nodes = nodes;
+        this.cents = cents;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.levelStarts = levelStarts;
+    }
+
+    /**
+     * Lays out the salaries of all employees reachable from the tree's roots.
+     * @param employeeTree the tree
+     * @return the salary columns
+     */
+    public static SalaryColumns of(EmployeeTree employeeTree) {
+        LevelIndex levels = employeeTree.getLevelIndex();
+        EmployeeNode[] nodes = levels.breadthFirstOrder();
+        int size = nodes.length;
+        long[] cents = new long[size];
+        int[] firstChild = new int[size];
+        int[] childCount = new int[size];
+        int[] levelStarts = new int[levels.getLevelCount() + 1];
+        int[] levelCounts = levels.getLevelCounts();
+        for (int depth = 0; depth < levelCounts.length; depth++) {
+            levelStarts[depth + 1] = levelStarts[depth] + levelCounts[depth];
+        }
+        // Children of level d follow in level d + 1 in their managers' order
+        int nextChild = levels.getLevel(0).size();
+        for (int index = 0; index < size; index++) {
+            EmployeeNode node = nodes[index];
+            cents[index] = SalaryCents.toCents(node.getEmployee().getSalary());
+            firstChild[index] = nextChild;
+            childCount[index] = node.getChildCount();
+            nextChild += childCount[index];
+        }
+        return new SalaryColumns(nodes, cents, firstChild, childCount, levelStarts);
+    }
+
+    public int size() {
+        return cents.length;
+    }
+
+    int getLevelCount() {
+        return levelStarts.length - 1;
+    }
+
+    /** @return the index of the first employee at a depth; {@code getLevelCount()} gives the size */
+    int getLevelStart(int depth) {
+        return levelStarts[depth];
+    }
+
+    EmployeeNode getNode(int index) {
+        return nodes[index];
+    }
+
+    long getCents(int index) {
+        return cents[index];
+    }
+
+    int getFirstChild(int index) {
+        return firstChild[index];
+    }
+
+    int getChildCount(int index) {
+        return childCount[index];
+    }
+
+    /**
+     * Gets the exact total of all salaries.
+     * @return the total in cents
+     */
+    public long totalCents() {
+        return sum(0, cents.length);
+    }
+
+    /**
+     * Gets the average salary, computed from the exact total.
+     * @return the average salary, or 0 if there are no employees
+     */
+    public double averageSalary() {
+        return cents.length == 0 ? 0.0 : SalaryCents.toDouble(totalCents()) / cents.length;
+    }
+
+    /**
+     * Checks every manager against the 20%/50% salary band around their direct reports' average,
+     * in exact integer arithmetic. The results match
+     * {@link EmployeeValidator#validateAllManagerSalaries(List)} except on the band edges: the
+     * validator works in doubles, so a salary exactly on an edge can fall a rounding error
+     * outside it there, while it always passes here. Amounts are rounded to whole cents.
+     * @return the violations, in breadth-first order
+     */
+    public List<ValidationResult> validateSalaryBands() {
+        List<ValidationResult> results = new ArrayList<>();
+        for (int i = 0; i < cents.length; i++) {
+            int reports = childCount[i];
+            if (reports == 0) {
+                continue;
+            }
+            long reportCents = sum(firstChild[i], firstChild[i] + reports);
+            long managerCents = cents[i];
+
+            // underpaid: m < 1.2 * s / n  <=>  5 * m * n < 6 * s
+            if (compareProducts(managerCents, 5L * reports, reportCents, 6) < 0) {
+                double shortfall = (6.0 * reportCents - 5.0 * managerCents * reports) / (5.0 * reports);
+                results.add(new ValidationResult(false, "Manager is underpaid",
+                    SalaryCents.toDouble(Math.round(shortfall)), nodes[i].getEmployee()));
+            }
+            // overpaid: m > 1.5 * s / n  <=>  2 * m * n > 3 * s
+            if (compareProducts(managerCents, 2L * reports, reportCents, 3) > 0) {
+                double excess = (2.0 * managerCents * reports - 3.0 * reportCents) / (2.0 * reports);
+                results.add(new ValidationResult(false, "Manager is overpaid",
+                    SalaryCents.toDouble(Math.round(excess)), nodes[i].getEmployee()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Sums a contiguous slice. Kept as a plain counted loop so it is unrolled and vectorized.
+     */
+    private long sum(int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += cents[i];
+        }
+        return total;
+    }
+
+    /**
+     * Compares {@code a * b} with {@code c * d} exactly, falling back to big integers on overflow.
+     */
+    private static int compareProducts(long a, long b, long c, long d) {
+        try {
+            return Long.compare(Math.multiplyExact(a, b), Math.multiplyExact(c, d));
+        } catch (ArithmeticException e) {
+            return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b))
+                .compareTo(BigInteger.valueOf(c).multiply(BigInteger.valueOf(d)));
+        }
+    }
+}
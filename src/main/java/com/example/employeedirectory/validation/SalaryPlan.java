@@ -0,0 +1,95 @@
+package com.example.employeedirectory.validation;
+
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.SalaryCents;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The salary changes suggested by {@link SalaryBandSolver}, in breadth-first order from the top
+ * of the organization.
+ */
+public final class SalaryPlan {
+
+    /**
+     * One suggested salary change.
+     */
+    public static final class Adjustment {
+        private final Employee employee;
+        private final long currentCents;
+        private final long suggestedCents;
+
+        Adjustment(Employee employee, long currentCents, long suggestedCents) {
+            this.employee = employee;
+            this.currentCents = currentCents;
+            this.suggestedCents = suggestedCents;
+        }
+
+        public Employee getEmployee() { return employee; }
+        public double getCurrentSalary() { return SalaryCents.toDouble(currentCents); }
+        public double getSuggestedSalary() { return SalaryCents.toDouble(suggestedCents); }
+
+        /** @return the suggested salary minus the current one; negative for a cut */
+        public double getChange() {
+            return SalaryCents.toDouble(suggestedCents - currentCents);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.2f -> %.2f (%+.2f)", employee.getId(), getCurrentSalary(),
+                getSuggestedSalary(), getChange());
+        }
+    }
+
+    private final List<Adjustment> adjustments;
+    private final List<Employee> unresolved;
+    private final int passes;
+    private final long totalChangeCents;
+
+    SalaryPlan(List<Adjustment> adjustments, List<Employee> unresolved, int passes) {
+        this.adjustments = Collections.unmodifiableList(adjustments);
+        this.unresolved = Collections.unmodifiableList(unresolved);
+        this.passes = passes;
+        long total = 0;
+        for (Adjustment adjustment : adjustments) {
+            total += adjustment.suggestedCents - adjustment.currentCents;
+        }
+        this.totalChangeCents = total;
+    }
+
+    public List<Adjustment> getAdjustments() {
+        return adjustments;
+    }
+
+    /**
+     * Gets the managers whose band is narrower than one cent, so that no salary satisfies both
+     * limits. They are moved as close to the band as possible.
+     * @return the managers left out of band
+     */
+    public List<Employee> getUnresolved() {
+        return unresolved;
+    }
+
+    /**
+     * Gets the number of bottom-up passes run, including the final one that changed nothing.
+     * @return the number of passes
+     */
+    public int getPasses() {
+        return passes;
+    }
+
+    /**
+     * Gets the net change in the total payroll.
+     * @return the sum of all changes
+     */
+    public double getTotalChange() {
+        return SalaryCents.toDouble(totalChangeCents);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d adjustments, net change %+.2f, %d unresolved, %d passes",
+            adjustments.size(), getTotalChange(), unresolved.size(), passes);
+    }
+}
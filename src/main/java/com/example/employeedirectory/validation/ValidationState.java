@@ -0,0 +1,157 @@
+package com.example.employeedirectory.validation;
+
+import com.example.employeedirectory.index.LevelIndex;
+import com.example.employeedirectory.model.EmployeeNode;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the current validation violations of a tree, keyed by employee ID, so that individual
+ * employees can be re-validated after an in-place update without re-running the full pass.
+ */
+public class ValidationState {
+
+    private final Map<String, List<ValidationResult>> salaryResults = new LinkedHashMap<>();
+    private final Map<String, ValidationResult> depthResults = new LinkedHashMap<>();
+
+    /**
+     * Runs a full validation pass over the given nodes.
+     * @param employeeNodes all employee nodes in the tree
+     * @return the populated state
+     */
+    public static ValidationState of(Collection<EmployeeNode> employeeNodes) {
+        ValidationState state = new ValidationState();
+        for (EmployeeNode node : employeeNodes) {
+            state.revalidateSalary(node);
+            state.revalidateDepth(node);
+        }
+        return state;
+    }
+
+    /**
+     * Re-runs the salary rules for one manager.
+     * @param node the employee node
+     */
+    public void revalidateSalary(EmployeeNode node) {
+        List<ValidationResult> results = new ArrayList<>(2);
+        EmployeeValidator.validateManagerSalary(node, results);
+        String employeeId = node.getEmployee().getId();
+        if (results.isEmpty()) {
+            salaryResults.remove(employeeId);
+        } else {
+            salaryResults.put(employeeId, results);
+        }
+    }
+
+    /**
+     * Re-runs the depth rule for one employee.
+     * @param node the employee node
+     */
+    public void revalidateDepth(EmployeeNode node) {
+        ValidationResult result = EmployeeValidator.validateReportingDepth(node);
+        String employeeId = node.getEmployee().getId();
+        if (result == null) {
+            depthResults.remove(employeeId);
+        } else {
+            depthResults.put(employeeId, result);
+        }
+    }
+
+    /**
+     * Re-runs the depth rule for one employee at a known depth.
+     * @param node the employee node
+     * @param depth the employee's depth, or -1 if it is not reachable from a root
+     */
+    public void revalidateDepth(EmployeeNode node, int depth) {
+        String employeeId = node.getEmployee().getId();
+        // An employee under a reporting cycle has no depth to check
+        ValidationResult result = depth < 0 ? null : EmployeeValidator.validateReportingDepth(node.getEmployee(), depth);
+        if (result == null) {
+            depthResults.remove(employeeId);
+        } else {
+            depthResults.put(employeeId, result);
+        }
+    }
+
+    /**
+     * Re-runs the depth rule for an employee and everyone below them, since a move changes
+     * the depth of the whole subtree. Depths are counted down from the subtree root's depth in
+     * the level index rather than walked up the management chain, so an employee attached under
+     * a reporting cycle is not validated, as in the index, instead of being followed around it.
+     * @param subtreeRoot the moved or inserted node
+     * @param levels the tree's level index, already updated for the move
+     * @return the number of employees re-validated
+     */
+    public int revalidateSubtreeDepths(EmployeeNode subtreeRoot, LevelIndex levels) {
+        int rootDepth = levels.depthOf(subtreeRoot);
+        // The subtree of an unreachable node may itself contain the cycle
+        Set<EmployeeNode> visited = rootDepth < 0 ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+        int count = 0;
+        Deque<EmployeeNode> stack = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        stack.push(subtreeRoot);
+        depths.push(rootDepth);
+        while (!stack.isEmpty()) {
+            EmployeeNode node = stack.pop();
+            int depth = depths.pop();
+            if (visited != null && !visited.add(node)) {
+                continue;
+            }
+            revalidateDepth(node, depth);
+            count++;
+            for (EmployeeNode child : node.getChildren()) {
+                stack.push(child);
+                depths.push(depth < 0 ? -1 : depth + 1);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops all results recorded for a removed employee.
+     * @param employeeId the employee ID
+     */
+    public void remove(String employeeId) {
+        salaryResults.remove(employeeId);
+        depthResults.remove(employeeId);
+    }
+
+    /**
+     * Gets the salary violations of one manager.
+     * @param employeeId the employee ID
+     * @return the violations, or an empty list
+     */
+    public List<ValidationResult> getSalaryResults(String employeeId) {
+        List<ValidationResult> results = salaryResults.get(employeeId);
+        return results == null ? Collections.emptyList() : Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Gets the depth violation of one employee.
+     * @param employeeId the employee ID
+     * @return the violation, or null if there is none
+     */
+    public ValidationResult getDepthResult(String employeeId) {
+        return depthResults.get(employeeId);
+    }
+
+    public List<ValidationResult> getSalaryResults() {
+        List<ValidationResult> results = new ArrayList<>();
+        salaryResults.values().forEach(results::addAll);
+        return results;
+    }
+
+    public List<ValidationResult> getDepthResults() {
+        return new ArrayList<>(depthResults.values());
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.employeedirectory;
+
+import com.example.employeedirectory.model.AttributeSchema;
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CSVReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadEmployees_QuotedNamesWithCommasAndLineBreaks() throws IOException {
+        Path file = write("\uFEFFId,firstName,lastName,salary,managerId\r\n"
+            + "1,John,\"Smith, Jr.\",90000,\r\n"
+            + "2,\"Mary \"\"Mo\"\"\",\"Lee\nJones\",60000,\"1\"\r\n");
+
+        List<Employee> employees = new CSVReader().readEmployees(file.toString());
+
+        assertEquals(2, employees.size());
+        assertEquals("Smith, Jr.", employees.get(0).getLastName());
+        assertNull(employees.get(0).getManagerId());
+        assertEquals("Mary \"Mo\"", employees.get(1).getFirstName());
+        assertEquals("Lee\nJones", employees.get(1).getLastName());
+        assertEquals("1", employees.get(1).getManagerId());
+    }
+
+    @Test
+    void testReadEmployees_RejectsMalformedRowsAndKeepsGoing() throws IOException {
+        Path file = write("Id,firstName,lastName,salary,managerId\n"
+            + "1,Joe,Doe,60000,\n"
+            + "2,Too,Many,Parts,50000,1\n"
+            + "\n"
+            + "3,Bad,Salary,abc,1\n"
+            + "4,Ann,Lee,50000.50,1\n");
+
+        List<Employee> employees = new CSVReader(new StringPool()).fixedPointSalaries(true).readEmployees(file.toString());
+
+        assertEquals(2, employees.size());
+        assertEquals("4", employees.get(1).getId());
+        assertEquals(50000.50, employees.get(1).getSalary());
+    }
+
+    @Test
+    void testReadEmployees_MapsColumnsByHeaderAndLoadsTypedAttributes() throws IOException {
+        Path file = write("Region,salary,ID,Notes,managerId,lastName,Level,firstName,Remote,Cost Center\n"
+            + "EU,90000,1,\"hired, 2019\",,Doe,7,Joe,true,CC-1\n"
+            + "US,60000,2,,1,Lee,4,Ann,false,CC-2\n"
+            + "US,50000,3,,1,Roe,,Max,,CC-2\n");
+
+        List<Employee> employees = new CSVReader()
+            .attribute("level", AttributeSchema.Type.LONG)
+            .attribute("Remote", AttributeSchema.Type.BOOLEAN)
+            .readEmployees(file.toString());
+
+        assertEquals(3, employees.size());
+        Employee joe = employees.get(0);
+        assertEquals("1", joe.getId());
+        assertEquals("Joe", joe.getFirstName());
+        assertEquals("Doe", joe.getLastName());
+        assertEquals(90000.0, joe.getSalary());
+        assertNull(joe.getManagerId());
+        assertEquals(7L, joe.getAttribute("level"));
+        assertEquals(Boolean.TRUE, joe.getAttribute("Remote"));
+        assertNull(joe.getAttribute("Region"));
+        assertNull(employees.get(2).getAttribute("level"));
+        assertEquals("1", employees.get(2).getManagerId());
+    }
+
+    @Test
+    void testReadEmployees_RejectsRowsWithWrongColumnCountOrBadAttribute() throws IOException {
+        Path file = write("Id,firstName,lastName,salary,managerId,Level,Extra\n"
+            + "1,Joe,Doe,60000,,3,x\n"
+            + "2,Ann,Lee,50000,1,3\n"
+            + "3,Bob,Roe,50000,1,three,x\n"
+            + "4,Max,Poe,50000,1,2,\"y,z\"\n");
+
+        List<Employee> employees = new CSVReader().attribute("Level", AttributeSchema.Type.LONG).readEmployees(file.toString());
+
+        assertEquals(2, employees.size());
+        assertEquals("4", employees.get(1).getId());
+        assertEquals(2L, employees.get(1).getAttribute("Level"));
+    }
+
+    @Test
+    void testReadEmployees_StrayQuoteInSkippedColumnIsLiteral() throws IOException {
+        Path file = write("Id,firstName,lastName,salary,managerId,Notes,Dept\n"
+            + "1,Joe,Doe,60000,,6\" screen,Eng\n"
+            + "2,Ann,Lee,50000,1,,Ops\n"
+            + "3,Max,Roe,50000,1,12\" ruler,Ops\n");
+
+        List<Employee> employees = new CSVReader().readEmployees(file.toString());
+        List<Employee> withDept = new CSVReader().attribute("Dept", AttributeSchema.Type.STRING).readEmployees(file.toString());
+
+        assertEquals(3, employees.size());
+        assertEquals("2", employees.get(1).getId());
+        assertEquals(3, withDept.size());
+        assertEquals("Eng", withDept.get(0).getAttribute("Dept"));
+        assertEquals("Ops", withDept.get(2).getAttribute("Dept"));
+    }
+
+    @Test
+    void testReadEmployees_MissingColumnsFail() throws IOException {
+        Path file = write("Id,firstName,salary,managerId\n1,Joe,60000,\n");
+
+        IOException e = assertThrows(IOException.class,
+            () -> new CSVReader().attribute("Level", AttributeSchema.Type.LONG).readEmployees(file.toString()));
+        assertTrue(e.getMessage().contains("[lastName, Level]"));
+    }
+
+    @Test
+    void testReadEmployees_ProjectionSkipsUnrequestedFields() throws IOException {
+        Path file = write("Id,firstName,lastName,salary,managerId,Level\n"
+            + "1,Joe,\"Doe, Jr.\",not-a-number,,3\n"
+            + "2,Ann,Lee,50000,1,2\n");
+
+        List<Employee> employees = new CSVReader()
+            .projection(EnumSet.noneOf(CSVReader.Field.class))
+            .attribute("Level", AttributeSchema.Type.LONG)
+            .readEmployees(file.toString());
+
+        assertEquals(2, employees.size());
+        assertNull(employees.get(0).getFirstName());
+        assertNull(employees.get(0).getLastName());
+        assertEquals(0.0, employees.get(0).getSalary());
+        assertEquals("1", employees.get(1).getManagerId());
+        assertEquals(2L, employees.get(1).getAttribute("Level"));
+    }
+
+    @Test
+    void testReadEmployees_ProjectionMatchesFullLoadWithStrayQuotes() throws IOException {
+        Path file = write("Id,firstName,lastName,salary,managerId\n"
+            + "1,Joe,\"The \"Boss\",90000,\n"
+            + "2,Ann,Lee \"Jr,60000,1\n"
+            + "3,Max,Roe\",50000,2\n");
+
+        List<Employee> full = new CSVReader().readEmployees(file.toString());
+        List<Employee> hierarchy = new CSVReader()
+            .projection(EnumSet.of(CSVReader.Field.SALARY))
+            .readEmployees(file.toString());
+
+        assertEquals(3, full.size());
+        assertEquals("Lee \"Jr", full.get(1).getLastName());
+        assertEquals(3, hierarchy.size());
+        for (int i = 0; i < full.size(); i++) {
+            assertEquals(full.get(i).getId(), hierarchy.get(i).getId());
+            assertEquals(full.get(i).getManagerId(), hierarchy.get(i).getManagerId());
+            assertEquals(full.get(i).getSalary(), hierarchy.get(i).getSalary());
+        }
+    }
+
+    @Test
+    void testReadEmployees_ProjectedOutColumnsNeedNotExist() throws IOException {
+        Path file = write("managerId,Id,salary\n,1,90000\n1,2,60000\n");
+
+        List<Employee> employees = new CSVReader().projection(EnumSet.of(CSVReader.Field.SALARY)).readEmployees(file.toString());
+
+        assertEquals(2, employees.size());
+        assertEquals(60000.0, employees.get(1).getSalary());
+        assertEquals("1", employees.get(1).getManagerId());
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("employees.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
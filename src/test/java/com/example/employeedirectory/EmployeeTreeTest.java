@@ -5,9 +5,12 @@ import com.example.employeedirectory.model.EmployeeNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -301,4 +304,204 @@ class EmployeeTreeTest {
         assertNull(employeeTree.getNodeById("1"));
         assertNotNull(employeeTree.getNodeById("2"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testUpsertEmployee_MovesToNewManager() {
+        // Arrange
+        Employee ceo = new Employee("1", "CEO", "Boss", 100000.0, null);
+        Employee manager = new Employee("2", "Manager", "Mid", 70000.0, "1");
+        Employee employee = new Employee("3", "Employee", "Low", 50000.0, "2");
+        employeeTree.buildTree(Arrays.asList(ceo, manager, employee));
+
+        // Act
+        employeeTree.upsertEmployee(new Employee("3", "Employee", "Low", 55000.0, "1"));
+
+        // Assert
+        assertEquals(3, employeeTree.getTotalEmployeeCount());
+        assertTrue(employeeTree.getDirectReports("2").isEmpty());
+        assertEquals(2, employeeTree.getDirectReports("1").size());
+        assertEquals(55000.0, employeeTree.getNodeById("3").getEmployee().getSalary());
+    }
+
+    @Test
+    void testUpsertEmployee_RejectsCycle() {
+        // Arrange
+        Employee ceo = new Employee("1", "CEO", "Boss", 100000.0, null);
+        Employee manager = new Employee("2", "Manager", "Mid", 70000.0, "1");
+        employeeTree.buildTree(Arrays.asList(ceo, manager));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> employeeTree.upsertEmployee(new Employee("1", "CEO", "Boss", 100000.0, "2")));
+        assertTrue(employeeTree.getNodeById("1").isRoot());
+    }
+
+    @Test
+    void testUpsertEmployee_UnderManagerOnCycle() {
+        // Arrange
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "CEO", "Boss", 100000.0, null),
+            new Employee("a", "Cycle", "A", 50000.0, "b"),
+            new Employee("b", "Cycle", "B", 50000.0, "a")));
+
+        // Act: the new manager never reaches a root, but the move closes no new cycle
+        employeeTree.upsertEmployee(new Employee("2", "New", "Hire", 40000.0, "a"));
+        employeeTree.upsertEmployee(new Employee("1", "CEO", "Boss", 100000.0, "b"));
+
+        // Assert
+        assertEquals("a", employeeTree.getNodeById("2").getParent().getEmployee().getId());
+        assertEquals("b", employeeTree.getNodeById("1").getParent().getEmployee().getId());
+        assertThrows(IllegalArgumentException.class,
+            () -> employeeTree.upsertEmployee(new Employee("a", "Cycle", "A", 50000.0, "2")));
+    }
+
+    @Test
+    void testRemoveEmployee_ReportsBecomeRoots() {
+        // Arrange
+        Employee ceo = new Employee("1", "CEO", "Boss", 100000.0, null);
+        Employee manager = new Employee("2", "Manager", "Mid", 70000.0, "1");
+        Employee employee = new Employee("3", "Employee", "Low", 50000.0, "2");
+        employeeTree.buildTree(Arrays.asList(ceo, manager, employee));
+
+        // Act
+        EmployeeNode removed = employeeTree.removeEmployee("2");
+
+        // Assert
+        assertNotNull(removed);
+        assertNull(employeeTree.getNodeById("2"));
+        assertEquals(2, employeeTree.getRootNodeCount());
+        assertTrue(employeeTree.getNodeById("3").isRoot());
+        assertNull(employeeTree.removeEmployee("2"));
+    }
+
+    @Test
+    void testGetNodesByIds_FillsCallerArray() {
+        // Arrange
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "CEO", "Boss", 100000.0, null),
+            new Employee("2", "Manager", "Mid", 70000.0, "1")));
+        String[] ids = {"2", "missing", "1", "2"};
+        EmployeeNode[] results = new EmployeeNode[ids.length];
+
+        // Act
+        employeeTree.getNodesByIds(ids, results);
+        Map<String, EmployeeNode> byId = employeeTree.getNodesByIds(Arrays.asList(ids));
+
+        // Assert
+        assertSame(employeeTree.getNodeById("2"), results[0]);
+        assertNull(results[1]);
+        assertSame(employeeTree.getNodeById("1"), results[2]);
+        assertSame(results[0], results[3]);
+        assertEquals(2, byId.size());
+    }
+
+    @Test
+    void testGetDirectReportsFor_VisitsEachManagerOnce() {
+        // Arrange
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "CEO", "Boss", 100000.0, null),
+            new Employee("2", "Manager", "Mid", 70000.0, "1"),
+            new Employee("3", "Employee", "Low", 50000.0, "2"),
+            new Employee("4", "Employee", "Low", 50000.0, "2")));
+        List<String> pairs = new ArrayList<>();
+
+        // Act
+        employeeTree.getDirectReportsFor(Arrays.asList("2", "1", "2", "missing"),
+            (managerId, report) -> pairs.add(managerId + ">" + report.getEmployee().getId()));
+
+        // Assert
+        assertEquals(Arrays.asList("1>2", "2>3", "2>4"), pairs);
+    }
+
+    @Test
+    void testCountSubordinatesFor_MatchesSingleLookups() {
+        // Arrange: a large enough tree that the pool splits the batch
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee("0", "First", "Last", 100000.0, null));
+        for (int i = 1; i < 10000; i++) {
+            employees.add(new Employee(String.valueOf(i), "First", "Last", 50000.0, String.valueOf((i - 1) / 3)));
+        }
+        employees.add(new Employee("a", "Cycle", "A", 50000.0, "b"));
+        employees.add(new Employee("b", "Cycle", "B", 50000.0, "a"));
+        employeeTree.buildTree(employees);
+
+        String[] fewIds = {"1", "missing", "a", "1"};
+        String[] allIds = new String[employees.size() + 1];
+        for (int i = 0; i < employees.size(); i++) {
+            allIds[i] = employees.get(i).getId();
+        }
+        allIds[employees.size()] = "missing";
+        int[] fewCounts = new int[fewIds.length];
+        int[] allCounts = new int[allIds.length];
+
+        // Act
+        employeeTree.countSubordinatesFor(fewIds, fewCounts);
+        employeeTree.countSubordinatesFor(allIds, allCounts, ForkJoinPool.commonPool());
+
+        // Assert
+        assertArrayEquals(new int[] {employeeTree.getAllSubordinates("1").size(), -1, 1,
+            employeeTree.getAllSubordinates("1").size()}, fewCounts);
+        for (int i = 0; i < 10000; i += 97) {
+            assertEquals(employeeTree.getAllSubordinates(allIds[i]).size(), allCounts[i]);
+        }
+        assertEquals(9999, allCounts[0]);
+        assertEquals(1, allCounts[10000]);
+        assertEquals(-1, allCounts[allIds.length - 1]);
+    }
+
+    @Test
+    void testQueryCache_ServesRepeatedSubordinateQueries() {
+        employeeTree.enableQueryCache(1 << 20);
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "A", 200000.0, null),
+            new Employee("2", "Vp", "B", 150000.0, "1"),
+            new Employee("3", "Dev", "C", 90000.0, "2")));
+
+        List<EmployeeNode> first = employeeTree.getAllSubordinates("1");
+        List<EmployeeNode> second = employeeTree.getAllSubordinates("1");
+
+        assertSame(first, second);
+        assertEquals(2, first.size());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+        assertEquals(1, employeeTree.getQueryCache().getStats().getHits());
+        assertTrue(employeeTree.getAllSubordinates("missing").isEmpty());
+    }
+
+    @Test
+    void testQueryCache_InvalidatesOnlyTouchedSubtrees() {
+        employeeTree.enableQueryCache(1 << 20);
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "A", 200000.0, null),
+            new Employee("2", "Vp", "Sales", 150000.0, "1"),
+            new Employee("3", "Vp", "Eng", 150000.0, "1"),
+            new Employee("4", "Rep", "D", 70000.0, "2"),
+            new Employee("5", "Dev", "E", 90000.0, "3")));
+        for (String id : new String[] {"1", "2", "3", "4", "5"}) {
+            employeeTree.getAllSubordinates(id);
+        }
+
+        // Moving 4 from Sales to Eng changes the subtrees of 2 and 3 (and 1 above them)
+        employeeTree.upsertEmployee(new Employee("4", "Rep", "D", 70000.0, "3"));
+        assertFalse(employeeTree.getQueryCache().contains("1"));
+        assertFalse(employeeTree.getQueryCache().contains("2"));
+        assertFalse(employeeTree.getQueryCache().contains("3"));
+        assertTrue(employeeTree.getQueryCache().contains("4"));
+        assertTrue(employeeTree.getQueryCache().contains("5"));
+        assertEquals(2, employeeTree.getAllSubordinates("3").size());
+        assertTrue(employeeTree.getAllSubordinates("2").isEmpty());
+
+        // A new hire under 5 touches 5, 3 and 1 only
+        employeeTree.getAllSubordinates("1");
+        employeeTree.getAllSubordinates("2");
+        employeeTree.upsertEmployee(new Employee("6", "Intern", "F", 30000.0, "5"));
+        assertFalse(employeeTree.getQueryCache().contains("5"));
+        assertFalse(employeeTree.getQueryCache().contains("1"));
+        assertTrue(employeeTree.getQueryCache().contains("2"));
+        assertEquals(5, employeeTree.getAllSubordinates("1").size());
+
+        // Removing 3 detaches 4 and 5, whose own subtrees are unchanged
+        employeeTree.removeEmployee("3");
+        assertEquals(1, employeeTree.getAllSubordinates("1").size());
+        assertTrue(employeeTree.getQueryCache().contains("4"));
+    }
+}
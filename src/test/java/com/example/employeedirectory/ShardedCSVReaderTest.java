@@ -0,0 +1,88 @@
+package com.example.employeedirectory;
+
+import com.example.employeedirectory.ShardedCSVReader.DanglingReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedCSVReaderTest {
+
+    private static final String HEADER = "Id,firstName,lastName,salary,managerId\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRead_ResolvesManagersAcrossShards() throws IOException {
+        Path emea = write("emea.csv", "1,CEO,Boss,200000,\n10,Emea,Lead,120000,1\n");
+        Path apac = write("apac.csv", "20,Apac,Lead,120000,1\n21,Apac,Report,70000,20\n22,Emea,Report,70000,10\n");
+
+        ShardedCSVReader.Result result = new ShardedCSVReader().read(Arrays.asList(emea, apac));
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(result.getEmployees());
+
+        assertEquals(5, tree.getTotalEmployeeCount());
+        assertEquals(1, tree.getRootNodeCount());
+        assertEquals("10", tree.getNodeById("22").getParent().getEmployee().getId());
+        assertEquals(apac, result.getShardOf("22"));
+        assertTrue(result.getDanglingReferences().isEmpty());
+    }
+
+    @Test
+    void testRead_ReportsShardOfDanglingReferencesAndDuplicates() throws IOException {
+        Path first = write("a.csv", "1,CEO,Boss,200000,\n2,Kept,Copy,90000,1\n");
+        Path second = write("b.csv", "2,Dropped,Copy,90000,1\n3,Lost,Report,50000,99\n");
+
+        ShardedCSVReader.Result result = new ShardedCSVReader().read(Arrays.asList(first, second));
+
+        assertEquals(3, result.getEmployees().size());
+        List<DanglingReference> dangling = result.getDanglingReferences();
+        assertEquals(1, dangling.size());
+        assertEquals("3", dangling.get(0).getEmployeeId());
+        assertEquals("99", dangling.get(0).getManagerId());
+        assertEquals(second, dangling.get(0).getShard());
+        assertEquals(1, result.getDuplicateIds().size());
+        assertEquals(first, result.getDuplicateIds().get(0).getKeptShard());
+        assertEquals("Kept", result.getEmployees().get(1).getFirstName());
+    }
+
+    @Test
+    void testRead_FailsWithShardName() throws IOException {
+        Path good = write("good.csv", "1,CEO,Boss,200000,\n");
+        Path bad = tempDir.resolve("bad.csv");
+        Files.write(bad, "not,a,header\n".getBytes(StandardCharsets.UTF_8));
+
+        IOException e = assertThrows(IOException.class, () -> new ShardedCSVReader().read(Arrays.asList(good, bad)));
+        assertTrue(e.getMessage().contains("bad.csv"));
+    }
+
+    @Test
+    void testResolveInputs_ExpandsDirectoriesAndGlobs() throws IOException {
+        Path directory = Files.createDirectory(tempDir.resolve("exports"));
+        Path b = write("exports/region-b.csv", "");
+        Path a = write("exports/region-a.csv", "");
+        write("exports/notes.txt", "");
+        Path single = write("single.csv", "");
+
+        assertEquals(Arrays.asList(a, b), ShardedCSVReader.resolveInputs(Collections.singletonList(directory.toString())));
+        assertEquals(Arrays.asList(a, b, single), ShardedCSVReader.resolveInputs(
+            Arrays.asList(directory.resolve("region-*.csv").toString(), single.toString())));
+        assertThrows(IOException.class,
+            () -> ShardedCSVReader.resolveInputs(Collections.singletonList(tempDir.resolve("missing.csv").toString())));
+    }
+
+    private Path write(String name, String rows) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.write(file, (HEADER + rows).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.employeedirectory;
+
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testIntern_ReturnsCanonicalInstance() {
+        StringPool pool = new StringPool();
+        String first = new String("Smith");
+        String second = new String("Smith");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    void testIntern_CharacterRangeMatchesStringLookup() {
+        StringPool pool = new StringPool();
+        String pooled = pool.intern(new String("Chekov"));
+
+        assertSame(pooled, pool.intern("Martin,Chekov,45000", 7, 13));
+        assertEquals("Martin", pool.intern("Martin,Chekov,45000", 0, 6));
+    }
+
+    @Test
+    void testCapacityIsBoundedAndCollisionsStayCorrect() {
+        StringPool pool = new StringPool(3);
+        assertEquals(4, pool.capacity());
+
+        for (int i = 0; i < 1000; i++) {
+            String value = "name-" + i;
+            assertEquals(value, pool.intern(value));
+        }
+    }
+
+    @Test
+    void testReaderSharesRepeatedNamesAndManagerIds() throws IOException {
+        Path csv = tempDir.resolve("employees.csv");
+        Files.write(csv, ("Id,firstName,lastName,salary,managerId\n"
+            + "1,Joe,Doe,60000,\n"
+            + "2,Ann,Doe,45000,1\n"
+            + "3,Ann,Roe,47000,1\n").getBytes(StandardCharsets.UTF_8));
+
+        List<Employee> employees = new CSVReader(new StringPool()).readEmployees(csv.toString());
+
+        assertSame(employees.get(0).getLastName(), employees.get(1).getLastName());
+        assertSame(employees.get(1).getFirstName(), employees.get(2).getFirstName());
+        assertSame(employees.get(1).getManagerId(), employees.get(2).getManagerId());
+        assertNull(employees.get(0).getManagerId());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.employeedirectory.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubtreeQueryCacheTest {
+
+    @Test
+    void testGet_LoadsOnceAndCountsHitsAndMisses() {
+        SubtreeQueryCache<String> cache = new SubtreeQueryCache<>(1000, String::length);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("value-1", cache.get("1", key -> {
+                loads.incrementAndGet();
+                return "value-" + key;
+            }));
+        }
+
+        assertEquals(1, loads.get());
+        SubtreeQueryCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEntries());
+        assertEquals(7, stats.getWeight());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void testGet_StaysWithinMaximumWeight() {
+        SubtreeQueryCache<Integer> cache = new SubtreeQueryCache<>(100, Integer::longValue);
+        for (int i = 0; i < 1000; i++) {
+            cache.get("k" + i, key -> 7);
+            assertTrue(cache.getStats().getWeight() <= 100);
+        }
+        assertTrue(cache.getStats().getEvictions() > 0);
+    }
+
+    @Test
+    void testGet_DoesNotStoreResultsHeavierThanTheCache() {
+        SubtreeQueryCache<Integer> cache = new SubtreeQueryCache<>(100, Integer::longValue);
+
+        assertEquals(500, cache.get("big", key -> 500));
+        assertFalse(cache.contains("big"));
+    }
+
+    @Test
+    void testGet_FrequentKeysSurviveAScanOfOneOffKeys() {
+        SubtreeQueryCache<Integer> cache = new SubtreeQueryCache<>(1000, Integer::longValue);
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                cache.get("hot" + hot, key -> 10);
+            }
+        }
+
+        for (int cold = 0; cold < 10_000; cold++) {
+            cache.get("cold" + cold, key -> 10);
+        }
+
+        int survivors = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            if (cache.contains("hot" + hot)) {
+                survivors++;
+            }
+        }
+        assertEquals(50, survivors);
+    }
+
+    @Test
+    void testInvalidate_DropsEntryAndDiscardsRacingLoad() {
+        SubtreeQueryCache<String> cache = new SubtreeQueryCache<>(1000, String::length);
+        cache.get("1", key -> "old");
+
+        cache.invalidate("1");
+        assertFalse(cache.contains("1"));
+        assertEquals(1, cache.getStats().getInvalidations());
+
+        // A load that overlaps an invalidation may have seen the old tree, so it is not kept
+        assertEquals("racing", cache.get("1", key -> {
+            cache.invalidate("2");
+            return "racing";
+        }));
+        assertFalse(cache.contains("1"));
+        assertEquals("fresh", cache.get("1", key -> "fresh"));
+        assertTrue(cache.contains("1"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getStats().getEntries());
+        assertEquals(0, cache.getStats().getWeight());
+    }
+
+    @Test
+    void testGet_SketchGrowsWithTheEntriesOfALargeCache() {
+        SubtreeQueryCache<Integer> cache = new SubtreeQueryCache<>(60_000, 1, Integer::longValue);
+        // More hot keys than the protected segment holds, so some must win admission from probation
+        for (int round = 0; round < 3; round++) {
+            for (int hot = 0; hot < 55_000; hot++) {
+                cache.get("hot" + hot, key -> 1);
+            }
+        }
+
+        for (int cold = 0; cold < 200_000; cold++) {
+            cache.get("cold" + cold, key -> 1);
+        }
+
+        int survivors = 0;
+        for (int hot = 0; hot < 55_000; hot++) {
+            if (cache.contains("hot" + hot)) {
+                survivors++;
+            }
+        }
+        assertTrue(survivors > 50_000, "hot keys kept: " + survivors);
+    }
+
+    @Test
+    void testSketchWidthIsBoundedByTheEntriesTheCacheCanHold() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        sketch.ensureCapacity(100_000);
+        assertEquals(131_072, sketch.width());
+        sketch.ensureCapacity(10);
+        assertEquals(131_072, sketch.width());
+        sketch.ensureCapacity(Long.MAX_VALUE);
+        assertEquals(FrequencySketch.MAXIMUM_WIDTH, sketch.width());
+    }
+}
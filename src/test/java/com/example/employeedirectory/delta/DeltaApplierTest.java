@@ -0,0 +1,177 @@
+package com.example.employeedirectory.delta;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.validation.EmployeeValidator;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import com.example.employeedirectory.validation.ValidationState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaApplierTest {
+
+    private EmployeeTree employeeTree;
+    private ValidationState validationState;
+    private DeltaApplier applier;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        employeeTree = new EmployeeTree();
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("2", "Alice", "Manager", 60000.0, "1"),
+            new Employee("3", "Bob", "Dev", 50000.0, "2"),
+            new Employee("4", "Carol", "Dev", 50000.0, "2")
+        ));
+        validationState = ValidationState.of(employeeTree.getAllNodes());
+        applier = new DeltaApplier(employeeTree, validationState);
+    }
+
+    @Test
+    void testApply_SalaryChangeRevalidatesManager() {
+        // Arrange: Alice meets the band at 60000 against a 50000 average
+        assertTrue(validationState.getSalaryResults().isEmpty());
+
+        // Act: raise Bob so Alice becomes underpaid
+        DeltaApplier.Result result = applier.apply(Arrays.asList(
+            DeltaRecord.upsert(new Employee("3", "Bob", "Dev", 70000.0, "2"))));
+
+        // Assert
+        assertEquals(1, result.getApplied());
+        List<ValidationResult> salaryResults = validationState.getSalaryResults();
+        assertEquals(1, salaryResults.size());
+        assertEquals("2", salaryResults.get(0).getEmployee().getId());
+        assertEquals("Manager is underpaid", salaryResults.get(0).getMessage());
+        assertEquals(70000.0, employeeTree.getNodeById("3").getEmployee().getSalary());
+    }
+
+    @Test
+    void testApply_DeleteOrphansReportsUntilManagerReturns() {
+        // Act
+        applier.apply(Arrays.asList(DeltaRecord.delete("2")));
+
+        // Assert
+        assertNull(employeeTree.getNodeById("2"));
+        assertTrue(employeeTree.getNodeById("3").isRoot());
+        assertEquals(3, employeeTree.getRootNodeCount());
+
+        // Re-adding the manager re-attaches the waiting reports
+        applier.apply(Arrays.asList(DeltaRecord.upsert(new Employee("2", "Alice", "Manager", 60000.0, "1"))));
+        assertEquals(1, employeeTree.getRootNodeCount());
+        assertEquals(2, employeeTree.getDirectReports("2").size());
+    }
+
+    @Test
+    void testApply_RejectsCycle() {
+        // Act: make the CEO report to one of their own subordinates
+        DeltaApplier.Result result = applier.apply(Arrays.asList(
+            DeltaRecord.upsert(new Employee("1", "Ceo", "Boss", 90000.0, "3"))));
+
+        // Assert
+        assertEquals(0, result.getApplied());
+        assertEquals(1, result.getRejected());
+        assertTrue(employeeTree.getNodeById("1").isRoot());
+    }
+
+    @Test
+    void testApply_UpsertUnderReportingCycleSkipsDepthCheck() {
+        // Arrange: c1 and c2 report to each other, so neither is reachable from a root
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("c1", "Cy", "One", 50000.0, "c2"),
+            new Employee("c2", "Cy", "Two", 50000.0, "c1")));
+        validationState = new ValidationState();
+        validationState.revalidateDepth(employeeTree.getNodeById("1"));
+        applier = new DeltaApplier(employeeTree, validationState);
+
+        // Act
+        DeltaApplier.Result result = applier.apply(Arrays.asList(
+            DeltaRecord.upsert(new Employee("5", "New", "Hire", 40000.0, "c1"))));
+
+        // Assert
+        assertEquals(1, result.getApplied());
+        assertEquals("c1", employeeTree.getNodeById("5").getParent().getEmployee().getId());
+        assertNull(validationState.getDepthResult("5"));
+        // A subtree that contains the cycle is walked once
+        assertEquals(3, validationState.revalidateSubtreeDepths(employeeTree.getNodeById("c1"),
+            employeeTree.getLevelIndex()));
+    }
+
+    @Test
+    void testApply_MatchesFullRevalidation() {
+        // Arrange: a deep chain plus random changes
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee("e0", "F", "L", 100000.0, null));
+        Random random = new Random(42);
+        for (int i = 1; i < 200; i++) {
+            employees.add(new Employee("e" + i, "F", "L", 30000 + random.nextInt(70000), "e" + random.nextInt(i)));
+        }
+        employeeTree.buildTree(employees);
+        validationState = ValidationState.of(employeeTree.getAllNodes());
+        applier = new DeltaApplier(employeeTree, validationState);
+
+        List<DeltaRecord> deltas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int id = 1 + random.nextInt(250);
+            if (random.nextInt(5) == 0) {
+                deltas.add(DeltaRecord.delete("e" + id));
+            } else {
+                deltas.add(DeltaRecord.upsert(new Employee("e" + id, "F", "L",
+                    30000 + random.nextInt(70000), "e" + random.nextInt(id))));
+            }
+        }
+
+        // Act
+        applier.apply(deltas);
+
+        // Assert
+        assertEquals(ids(EmployeeValidator.validateAllManagerSalaries(employeeTree.getAllNodes())),
+                     ids(validationState.getSalaryResults()));
+        assertEquals(ids(EmployeeValidator.validateAllReportingDepths(employeeTree.getAllNodes())),
+                     ids(validationState.getDepthResults()));
+    }
+
+    @Test
+    void testReadDeltas() throws IOException {
+        // Arrange
+        Path file = Files.writeString(tempDir.resolve("delta.csv"),
+            "Op,Id,firstName,lastName,salary,managerId\n"
+            + "UPSERT,5,Dan,Dev,45000,2\n"
+            + "DELETE,4,,,,\n"
+            + "BOGUS,6,,,,\n");
+
+        // Act
+        List<DeltaRecord> deltas = new DeltaReader().readDeltas(file.toString());
+
+        // Assert
+        assertEquals(2, deltas.size());
+        assertEquals(DeltaRecord.Operation.UPSERT, deltas.get(0).getOperation());
+        assertEquals("2", deltas.get(0).getEmployee().getManagerId());
+        assertEquals(DeltaRecord.Operation.DELETE, deltas.get(1).getOperation());
+        assertEquals("4", deltas.get(1).getEmployeeId());
+    }
+
+    private static Set<String> ids(List<ValidationResult> results) {
+        Set<String> ids = new TreeSet<>();
+        for (ValidationResult result : results) {
+            ids.add(result.getEmployee().getId() + ":" + result.getMessage() + ":" + Math.round(result.getAmount()));
+        }
+        return ids;
+    }
+}
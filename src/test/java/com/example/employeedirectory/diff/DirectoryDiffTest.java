@@ -0,0 +1,162 @@
+package com.example.employeedirectory.diff;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectoryDiffTest {
+
+    private EmployeeTree before;
+    private EmployeeTree after;
+
+    @BeforeEach
+    void setUp() {
+        before = new EmployeeTree();
+        before.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("2", "Alice", "Manager", 60000.0, "1"),
+            new Employee("3", "Bob", "Dev", 50000.0, "2"),
+            new Employee("4", "Carol", "Dev", 50000.0, "2")
+        ));
+        after = new EmployeeTree();
+    }
+
+    @Test
+    void testDiff_IdenticalTreesProduceNoEvents() {
+        after.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("2", "Alice", "Manager", 60000.0, "1"),
+            new Employee("3", "Bob", "Dev", 50000.0, "2"),
+            new Employee("4", "Carol", "Dev", 50000.0, "2")
+        ));
+
+        assertEquals(0, DirectoryDiff.diff(before, after).count());
+    }
+
+    @Test
+    void testDiff_DetectsHiresExitsMovesAndSalaryChanges() {
+        // Arrange: Carol leaves, Bob moves under the CEO with a raise, Dan is hired
+        after.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("2", "Alice", "Manager", 60000.0, "1"),
+            new Employee("3", "Bob", "Dev", 55000.0, "1"),
+            new Employee("5", "Dan", "Dev", 50000.0, "2")
+        ));
+
+        // Act
+        List<ChangeEvent> events = DirectoryDiff.diff(before, after).collect(Collectors.toList());
+
+        // Assert
+        assertTrue(hasEvent(events, ChangeEvent.Type.HIRED, "5"));
+        assertTrue(hasEvent(events, ChangeEvent.Type.EXITED, "4"));
+        assertTrue(hasEvent(events, ChangeEvent.Type.MOVED, "3"));
+        assertTrue(hasEvent(events, ChangeEvent.Type.SALARY_CHANGED, "3"));
+        assertFalse(hasEvent(events, ChangeEvent.Type.MOVED, "2"));
+    }
+
+    @Test
+    void testDiff_DetectsIntroducedAndResolvedViolations() {
+        // Arrange: Bob's raise makes Alice underpaid
+        after.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("2", "Alice", "Manager", 60000.0, "1"),
+            new Employee("3", "Bob", "Dev", 70000.0, "2"),
+            new Employee("4", "Carol", "Dev", 50000.0, "2")
+        ));
+
+        // Act
+        List<ChangeEvent> introduced = DirectoryDiff.diff(before, after)
+            .filter(event -> event.getType() == ChangeEvent.Type.VIOLATION_INTRODUCED)
+            .collect(Collectors.toList());
+        long resolved = DirectoryDiff.diff(after, before)
+            .filter(event -> event.getType() == ChangeEvent.Type.VIOLATION_RESOLVED)
+            .count();
+
+        // Assert
+        assertEquals(1, introduced.size());
+        assertEquals("2", introduced.get(0).getEmployeeId());
+        assertEquals("Manager is underpaid", introduced.get(0).getViolation().getMessage());
+        assertEquals(1, resolved);
+    }
+
+    @Test
+    void testDiff_ReportsChangedViolationAmounts() {
+        // Arrange: Alice is underpaid by 12000, and a partial raise halves the shortfall
+        before.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("2", "Alice", "Manager", 60000.0, "1"),
+            new Employee("3", "Bob", "Dev", 70000.0, "2"),
+            new Employee("4", "Carol", "Dev", 50000.0, "2")
+        ));
+        after.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 90000.0, null),
+            new Employee("2", "Alice", "Manager", 66000.0, "1"),
+            new Employee("3", "Bob", "Dev", 70000.0, "2"),
+            new Employee("4", "Carol", "Dev", 50000.0, "2")
+        ));
+
+        // Act
+        List<ChangeEvent> events = DirectoryDiff.diff(before, after).collect(Collectors.toList());
+
+        // Assert
+        List<ChangeEvent> changed = events.stream()
+            .filter(event -> event.getType() == ChangeEvent.Type.VIOLATION_CHANGED)
+            .collect(Collectors.toList());
+        assertEquals(1, changed.size());
+        assertEquals("2", changed.get(0).getEmployeeId());
+        assertEquals("Manager is underpaid", changed.get(0).getViolation().getMessage());
+        assertEquals(12000.0, changed.get(0).getPreviousViolation().getAmount(), 0.001);
+        assertEquals(6000.0, changed.get(0).getViolation().getAmount(), 0.001);
+        assertFalse(hasEvent(events, ChangeEvent.Type.VIOLATION_INTRODUCED, "2"));
+        assertFalse(hasEvent(events, ChangeEvent.Type.VIOLATION_RESOLVED, "2"));
+    }
+
+    @Test
+    void testDiff_ParallelMatchesSequential() {
+        after.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "Boss", 95000.0, null),
+            new Employee("3", "Bob", "Dev", 50000.0, "1"),
+            new Employee("6", "Eve", "Dev", 40000.0, "3")
+        ));
+
+        List<String> sequential = DirectoryDiff.diff(before, after).map(ChangeEvent::toString).sorted().collect(Collectors.toList());
+        List<String> parallel = DirectoryDiff.diff(before, after).parallel().map(ChangeEvent::toString).sorted().collect(Collectors.toList());
+
+        assertEquals(sequential, parallel);
+        assertFalse(sequential.isEmpty());
+    }
+
+    @Test
+    void testDiff_HandlesDeepChainsAndCycles() {
+        List<Employee> chain = new ArrayList<>();
+        chain.add(new Employee("0", "Top", "T", 1000.0, null));
+        for (int i = 1; i < 50000; i++) {
+            chain.add(new Employee(String.valueOf(i), "E", "E", 1000.0, String.valueOf(i - 1)));
+        }
+        chain.add(new Employee("a", "Loop", "A", 1000.0, "b"));
+        chain.add(new Employee("b", "Loop", "B", 1000.0, "a"));
+        before.buildTree(chain);
+        List<Employee> moved = new ArrayList<>(chain);
+        moved.set(49999, new Employee("49999", "E", "E", 1000.0, "0"));
+        after.buildTree(moved);
+
+        List<ChangeEvent> events = DirectoryDiff.diff(before, after).collect(Collectors.toList());
+
+        assertTrue(hasEvent(events, ChangeEvent.Type.MOVED, "49999"));
+        // Only the moved employee's depth changed, from far too deep to one level below the top
+        assertTrue(hasEvent(events, ChangeEvent.Type.VIOLATION_RESOLVED, "49999"));
+        assertFalse(hasEvent(events, ChangeEvent.Type.VIOLATION_INTRODUCED, "49999"));
+    }
+
+    private static boolean hasEvent(List<ChangeEvent> events, ChangeEvent.Type type, String employeeId) {
+        return events.stream().anyMatch(event -> event.getType() == type && event.getEmployeeId().equals(employeeId));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.employeedirectory.generator;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganizationGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSameSeedProducesSameOutput() throws IOException {
+        assertEquals(generate(new OrganizationGenerator(7).employeeCount(500).shape(OrganizationGenerator.Shape.RANDOM)),
+                     generate(new OrganizationGenerator(7).employeeCount(500).shape(OrganizationGenerator.Shape.RANDOM)));
+        assertNotEquals(generate(new OrganizationGenerator(7).employeeCount(500)),
+                        generate(new OrganizationGenerator(8).employeeCount(500)));
+    }
+
+    @Test
+    void testFixedFanOutBuildsSingleTree() throws IOException {
+        // Arrange & Act
+        EmployeeTree tree = load(new OrganizationGenerator(1).employeeCount(1111).fanOut(10));
+
+        // Assert
+        assertEquals(1111, tree.getTotalEmployeeCount());
+        assertEquals(1, tree.getRootNodeCount());
+        assertEquals(10, tree.getDirectReports("1").size());
+        assertEquals(3, maxDepth(tree));
+    }
+
+    @Test
+    void testMaxDepthIsRespected() throws IOException {
+        EmployeeTree tree = load(new OrganizationGenerator(1).employeeCount(5000).fanOut(2).maxDepth(4));
+
+        assertEquals(5000, tree.getTotalEmployeeCount());
+        assertEquals(1, tree.getRootNodeCount());
+        assertEquals(4, maxDepth(tree));
+    }
+
+    @Test
+    void testDegenerateShapes() throws IOException {
+        EmployeeTree star = load(new OrganizationGenerator(1).employeeCount(1000).shape(OrganizationGenerator.Shape.STAR));
+        assertEquals(999, star.getDirectReports("1").size());
+
+        EmployeeTree chain = load(new OrganizationGenerator(1).employeeCount(50).shape(OrganizationGenerator.Shape.CHAIN));
+        assertEquals(49, maxDepth(chain));
+    }
+
+    @Test
+    void testInjectedBadRowsAndDanglingManagers() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("org.csv");
+        new OrganizationGenerator(3).employeeCount(1000).badRowRate(0.1).danglingManagerRate(0.05).cycleCount(2)
+            .salaries(OrganizationGenerator.SalaryDistribution.NORMAL, 40000, 90000)
+            .writeTo(file);
+
+        // Act
+        List<Employee> employees = new CSVReader().readEmployees(file.toString());
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(employees);
+
+        // Assert: bad rows are rejected by the reader, cycles add four unreachable employees
+        assertEquals(1004, employees.size());
+        assertTrue(tree.getRootNodeCount() > 1);
+        assertTrue(employees.stream().allMatch(e -> e.getSalary() >= 40000 && e.getSalary() <= 90000));
+        assertNotNull(tree.getNodeById("cycle-0-a").getParent());
+    }
+
+    private static String generate(OrganizationGenerator generator) throws IOException {
+        StringWriter writer = new StringWriter();
+        generator.writeTo(writer);
+        return writer.toString();
+    }
+
+    private EmployeeTree load(OrganizationGenerator generator) throws IOException {
+        Path file = tempDir.resolve("org.csv");
+        generator.writeTo(file);
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(new CSVReader().readEmployees(file.toString()));
+        return tree;
+    }
+
+    private static int maxDepth(EmployeeTree tree) {
+        int max = 0;
+        for (EmployeeNode node : tree.getAllNodes()) {
+            max = Math.max(max, node.getDepth());
+        }
+        return max;
+    }
+}
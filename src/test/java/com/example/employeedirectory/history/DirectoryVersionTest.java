@@ -0,0 +1,156 @@
+package com.example.employeedirectory.history;
+
+import com.example.employeedirectory.delta.DeltaRecord;
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectoryVersionTest {
+
+    private static DirectoryVersion sample() {
+        return DirectoryVersion.of(Arrays.asList(
+            new Employee("1", "Ceo", "A", 200000.0, null),
+            new Employee("2", "Vp", "Sales", 150000.0, "1"),
+            new Employee("3", "Vp", "Eng", 150000.0, "1"),
+            new Employee("4", "Rep", "D", 70000.0, "2"),
+            new Employee("5", "Dev", "E", 90000.0, "3")));
+    }
+
+    @Test
+    void testUpsert_LeavesPreviousVersionQueryable() {
+        DirectoryVersion march = sample();
+        DirectoryVersion april = march.upsert(new Employee("4", "Rep", "D", 75000.0, "3"));
+
+        assertEquals(march.getNumber() + 1, april.getNumber());
+        assertEquals("2", march.getManager("4").getId());
+        assertEquals("3", april.getManager("4").getId());
+        assertEquals(70000.0, march.getEmployee("4").getSalary());
+        assertEquals(List.of("4"), ids(march.getDirectReports("2")));
+        assertTrue(april.getDirectReports("2").isEmpty());
+        assertEquals(List.of("5", "4"), ids(april.getDirectReports("3")));
+        assertEquals(List.of("3", "1"), ids(april.getManagementChain("4")));
+        assertEquals(List.of("2", "4", "3", "5"), ids(march.getAllSubordinates("1")));
+    }
+
+    @Test
+    void testRemove_OrphansReportsUntilManagerReturns() {
+        DirectoryVersion removed = sample().remove("2");
+
+        assertEquals(4, removed.size());
+        assertNull(removed.getManager("4"));
+        assertEquals(List.of("1", "4"), ids(removed.getRootEmployees()));
+        assertEquals(List.of("3", "5"), ids(removed.getAllSubordinates("1")));
+
+        DirectoryVersion restored = removed.upsert(new Employee("2", "Vp", "Sales", 150000.0, "1"));
+        assertEquals(List.of("1"), ids(restored.getRootEmployees()));
+        assertEquals(List.of("4"), ids(restored.getDirectReports("2")));
+        assertSame(removed, removed.remove("missing"));
+    }
+
+    @Test
+    void testUpsert_RejectsCycles() {
+        DirectoryVersion version = sample();
+
+        assertThrows(IllegalArgumentException.class, () -> version.upsert(new Employee("1", "Ceo", "A", 1.0, "5")));
+        assertThrows(IllegalArgumentException.class, () -> version.upsert(new Employee("3", "Vp", "Eng", 1.0, "3")));
+        // 6 does not exist yet, but 7 is waiting for it as its manager
+        DirectoryVersion waiting = version.upsert(new Employee("7", "New", "G", 1.0, "6"));
+        assertThrows(IllegalArgumentException.class, () -> waiting.upsert(new Employee("6", "New", "F", 1.0, "7")));
+    }
+
+    @Test
+    void testCyclesInInitialData_AreUnreachableAndWalksTerminate() {
+        DirectoryVersion version = DirectoryVersion.of(Arrays.asList(
+            new Employee("1", "Ceo", "A", 200000.0, null),
+            new Employee("2", "Loop", "B", 90000.0, "3"),
+            new Employee("3", "Loop", "C", 90000.0, "2")));
+
+        assertEquals(List.of("1"), ids(version.getRootEmployees()));
+        assertEquals(List.of("3"), ids(version.getManagementChain("2")));
+        assertEquals(List.of("3"), ids(version.getAllSubordinates("2")));
+
+        DirectoryVersion attached = version.upsert(new Employee("4", "New", "D", 50000.0, "2"));
+        assertEquals(List.of("2", "3"), ids(attached.getManagementChain("4")));
+        assertEquals(List.of("3", "4"), ids(attached.getAllSubordinates("2")));
+        assertThrows(IllegalArgumentException.class, () -> attached.upsert(new Employee("3", "Loop", "C", 1.0, "4")));
+
+        // Re-pointing one member breaks the cycle
+        DirectoryVersion fixed = attached.upsert(new Employee("3", "Loop", "C", 90000.0, "1"));
+        assertEquals(List.of("3", "2", "4"), ids(fixed.getAllSubordinates("1")));
+    }
+
+    @Test
+    void testDeepChain_DoesNotOverflowTheStack() {
+        List<Employee> chain = new ArrayList<>();
+        chain.add(new Employee("0", "Top", "T", 1.0, null));
+        for (int i = 1; i < 100000; i++) {
+            chain.add(new Employee(String.valueOf(i), "E", "E", 1.0, String.valueOf(i - 1)));
+        }
+        DirectoryVersion version = DirectoryVersion.of(chain);
+
+        assertEquals(99999, version.getAllSubordinates("0").size());
+        assertEquals(99999, version.getManagementChain("99999").size());
+    }
+
+    @Test
+    void testWideManager_KeepsReportOrderAcrossVersions() {
+        List<Employee> star = new ArrayList<>();
+        star.add(new Employee("ceo", "Ceo", "A", 1.0, null));
+        for (int i = 0; i < 10000; i++) {
+            star.add(new Employee("e" + i, "E", "E", 1.0, "ceo"));
+        }
+        DirectoryVersion version = DirectoryVersion.of(star);
+        DirectoryVersion moved = version.upsert(new Employee("e5", "E", "E", 1.0, "e7"));
+        DirectoryVersion back = moved.upsert(new Employee("e5", "E", "E", 1.0, "ceo"));
+
+        List<String> original = ids(version.getDirectReports("ceo"));
+        assertEquals(10000, original.size());
+        assertEquals(List.of("e0", "e1", "e2", "e3", "e4", "e5"), original.subList(0, 6));
+        assertEquals(9999, moved.getDirectReports("ceo").size());
+        assertEquals(List.of("e5"), ids(moved.getDirectReports("e7")));
+        assertEquals("e5", ids(back.getDirectReports("ceo")).get(9999));
+        assertEquals(original, ids(version.getDirectReports("ceo")));
+    }
+
+    @Test
+    void testApply_ProducesOneVersionPerDelta() {
+        DirectoryVersion version = sample();
+        DirectoryVersion next = version.apply(Arrays.asList(
+            DeltaRecord.upsert(new Employee("6", "Intern", "F", 30000.0, "5")),
+            DeltaRecord.delete("4")));
+
+        assertEquals(version.getNumber() + 1, next.getNumber());
+        assertEquals(5, next.size());
+        assertNull(next.getEmployee("4"));
+        assertEquals(List.of("5", "3", "1"), ids(next.getManagementChain("6")));
+    }
+
+    @Test
+    void testHistory_AnswersPointInTimeQueries() {
+        DirectoryHistory history = new DirectoryHistory(2);
+        DirectoryVersion january = sample();
+        DirectoryVersion february = january.upsert(new Employee("4", "Rep", "D", 70000.0, "3"));
+        DirectoryVersion march = february.remove("5");
+        history.record(Instant.parse("2024-01-01T00:00:00Z"), january);
+        history.record(Instant.parse("2024-02-01T00:00:00Z"), february);
+        history.record(Instant.parse("2024-03-01T00:00:00Z"), march);
+
+        assertEquals(2, history.size());
+        assertNull(history.asOf(Instant.parse("2024-01-15T00:00:00Z")));
+        assertSame(february, history.asOf(Instant.parse("2024-02-28T00:00:00Z")));
+        assertEquals("3", history.asOf(Instant.parse("2024-02-28T00:00:00Z")).getManager("4").getId());
+        assertSame(march, history.asOf(Instant.parse("2024-03-01T00:00:00Z")));
+        assertSame(march, history.latest());
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.employeedirectory.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    @Test
+    void testPutAndRemove_MatchHashMapAndLeaveOldVersionsIntact() {
+        Random random = new Random(42);
+        Map<String, Integer> expected = new HashMap<>();
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        PersistentHashMap<String, Integer> snapshot = null;
+        Map<String, Integer> snapshotExpected = null;
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "k" + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(key, i);
+                expected.put(key, i);
+            }
+            if (i == 10_000) {
+                snapshot = map;
+                snapshotExpected = new HashMap<>(expected);
+            }
+        }
+
+        assertContentEquals(expected, map);
+        assertContentEquals(snapshotExpected, snapshot);
+    }
+
+    @Test
+    void testCollidingKeys() {
+        // "Aa" and "BB" share a hash code, as do all their concatenations
+        PersistentHashMap<String, String> map = PersistentHashMap.<String, String>empty()
+            .put("AaAa", "1").put("BBBB", "2").put("AaBB", "3").put("zz", "4");
+
+        assertEquals(4, map.size());
+        assertEquals("2", map.get("BBBB"));
+        PersistentHashMap<String, String> removed = map.remove("AaAa");
+        assertNull(removed.get("AaAa"));
+        assertEquals("3", removed.get("AaBB"));
+        assertEquals("1", map.get("AaAa"));
+        assertEquals(0, removed.remove("BBBB").remove("AaBB").remove("zz").size());
+    }
+
+    @Test
+    void testUnchangedUpdatesReturnSameMap() {
+        PersistentHashMap<String, String> map = PersistentHashMap.<String, String>empty().put("a", "x");
+
+        assertSame(map, map.put("a", "x"));
+        assertSame(map, map.remove("missing"));
+    }
+
+    @Test
+    void testBuilder_DoesNotChangeItsSource() {
+        PersistentHashMap<String, Integer> base = PersistentHashMap.<String, Integer>empty().put("a", 1).put("b", 2);
+
+        PersistentHashMap.Builder<String, Integer> builder = base.toBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.put("n" + i, i);
+        }
+        PersistentHashMap<String, Integer> built = builder.remove("a").build();
+
+        assertEquals(2, base.size());
+        assertEquals(1, base.get("a"));
+        assertEquals(1001, built.size());
+        assertNull(built.get("a"));
+        assertEquals(999, built.get("n999"));
+        assertThrows(IllegalStateException.class, () -> builder.put("late", 0));
+        // Updates after building copy rather than mutate the built map
+        assertEquals(1002, built.put("c", 3).size());
+        assertNull(built.get("c"));
+    }
+
+    private static <V> void assertContentEquals(Map<String, V> expected, PersistentHashMap<String, V> actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((key, value) -> assertEquals(value, actual.get(key), key));
+        Map<String, V> visited = new HashMap<>();
+        actual.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.employeedirectory.index;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.index.LevelIndex.LevelStats;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelIndexTest {
+
+    private EmployeeTree employeeTree;
+
+    @BeforeEach
+    void setUp() {
+        employeeTree = new EmployeeTree();
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "CEO", "Boss", 200000.0, null),
+            new Employee("2", "Manager", "One", 100000.0, "1"),
+            new Employee("3", "Manager", "Two", 120000.0, "1"),
+            new Employee("4", "Employee", "One", 60000.0, "2"),
+            new Employee("5", "Employee", "Two", 70000.0, "2"),
+            new Employee("6", "Employee", "Three", 80000.0, "2"),
+            new Employee("7", "Employee", "Four", 70000.0, "3")
+        ));
+    }
+
+    @Test
+    void testLevelsInBreadthFirstOrder() {
+        LevelIndex index = employeeTree.getLevelIndex();
+
+        assertEquals(3, index.getLevelCount());
+        assertArrayEquals(new int[] {1, 2, 4}, index.getLevelCounts());
+        assertEquals(Arrays.asList("2", "3"), ids(index.getLevel(1)));
+        assertEquals(Arrays.asList("4", "5", "6", "7"), ids(index.getLevel(2)));
+        assertTrue(index.getLevel(3).isEmpty());
+    }
+
+    @Test
+    void testSpanOfControlPerLevel() {
+        LevelStats managers = employeeTree.getLevelIndex().getLevelStats(1);
+
+        assertEquals(2, managers.getManagerCount());
+        assertEquals(4, managers.getDirectReportCount());
+        assertEquals(1, managers.getMinSpan());
+        assertEquals(3, managers.getMaxSpan());
+        assertEquals(2.0, managers.getAverageSpan());
+        assertEquals(1, managers.getFanOutHistogram().get(1));
+        assertEquals(1, managers.getFanOutHistogram().get(3));
+
+        LevelStats leaves = employeeTree.getLevelIndex().getLevelStats(2);
+        assertEquals(0, leaves.getManagerCount());
+        assertEquals(0.0, leaves.getAverageSpan());
+        assertEquals(4, leaves.getFanOutHistogram().get(0));
+        assertNull(employeeTree.getLevelIndex().getLevelStats(5));
+    }
+
+    @Test
+    void testFindManagersWithMoreThan() {
+        LevelIndex index = employeeTree.getLevelIndex();
+
+        assertEquals(Arrays.asList("2", "1"), ids(index.findManagersWithMoreThan(1)));
+        assertEquals(Arrays.asList("2"), ids(index.findManagersWithMoreThan(2)));
+        assertTrue(index.findManagersWithMoreThan(3).isEmpty());
+    }
+
+    @Test
+    void testIndexFollowsUpdates() {
+        employeeTree.upsertEmployee(new Employee("8", "New", "Hire", 50000.0, "7"));
+        assertArrayEquals(new int[] {1, 2, 4, 1}, employeeTree.getLevelIndex().getLevelCounts());
+
+        employeeTree.upsertEmployee(new Employee("3", "Manager", "Two", 120000.0, "2"));
+        assertArrayEquals(new int[] {1, 1, 4, 1, 1}, employeeTree.getLevelIndex().getLevelCounts());
+        assertEquals(Arrays.asList("2"), ids(employeeTree.getLevelIndex().findManagersWithMoreThan(3)));
+
+        employeeTree.removeEmployee("1");
+        assertEquals(Arrays.asList("2"), ids(employeeTree.getLevelIndex().getLevel(0)));
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchRebuild() {
+        Random random = new Random(5);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            employees.add(employee(i, i == 0 ? null : String.valueOf(random.nextInt(i))));
+        }
+        // A reporting cycle, unreachable from the roots until an update breaks it
+        employees.add(new Employee("c1", "Cycle", "One", 1000.0, "c2"));
+        employees.add(new Employee("c2", "Cycle", "Two", 1000.0, "c1"));
+        employees.add(new Employee("c3", "Below", "Cycle", 1000.0, "c1"));
+        employeeTree.buildTree(employees);
+        LevelIndex index = employeeTree.getLevelIndex();
+
+        for (int step = 0; step < 2000; step++) {
+            int id = random.nextInt(360);
+            int choice = random.nextInt(10);
+            if (choice == 0) {
+                employeeTree.removeEmployee(String.valueOf(id));
+            } else if (choice == 1) {
+                employeeTree.removeEmployee("c" + (1 + random.nextInt(3)));
+            } else {
+                // Managers include missing IDs, roots and the cycle
+                int manager = random.nextInt(380);
+                String managerId = manager >= 370 ? "c" + (manager - 369) : manager >= 360 ? null
+                    : String.valueOf(manager);
+                try {
+                    employeeTree.upsertEmployee(employee(id, managerId));
+                } catch (IllegalArgumentException e) {
+                    // Would have closed a cycle; the tree is unchanged
+                }
+            }
+            if (step % 50 == 0) {
+                assertMatchesRebuild(index);
+            }
+        }
+        assertSame(index, employeeTree.getLevelIndex());
+        assertMatchesRebuild(index);
+    }
+
+    private void assertMatchesRebuild(LevelIndex index) {
+        LevelIndex rebuilt = LevelIndex.build(employeeTree.getRootNodes());
+        assertArrayEquals(rebuilt.getLevelCounts(), index.getLevelCounts());
+        for (int depth = 0; depth < rebuilt.getLevelCount(); depth++) {
+            assertEquals(new HashSet<>(rebuilt.getLevel(depth)), new HashSet<>(index.getLevel(depth)));
+            LevelStats expected = rebuilt.getLevelStats(depth);
+            LevelStats actual = index.getLevelStats(depth);
+            assertEquals(expected.getManagerCount(), actual.getManagerCount());
+            assertEquals(expected.getDirectReportCount(), actual.getDirectReportCount());
+            assertEquals(expected.getMinSpan(), actual.getMinSpan());
+            assertEquals(expected.getMaxSpan(), actual.getMaxSpan());
+            assertEquals(expected.getFanOutHistogram(), actual.getFanOutHistogram());
+        }
+        assertEquals(new HashSet<>(rebuilt.findManagersWithMoreThan(0)), new HashSet<>(index.findManagersWithMoreThan(0)));
+        assertEquals(rebuilt.findManagersWithMoreThan(0).stream().map(EmployeeNode::getChildCount).collect(Collectors.toList()),
+            index.findManagersWithMoreThan(0).stream().map(EmployeeNode::getChildCount).collect(Collectors.toList()));
+        assertEquals(rebuilt.breadthFirstOrder().length, index.breadthFirstOrder().length);
+    }
+
+    private static Employee employee(int id, String managerId) {
+        return new Employee(String.valueOf(id), "F" + id, "L" + id, 1000.0 + id, managerId);
+    }
+
+    private static List<String> ids(List<EmployeeNode> nodes) {
+        return nodes.stream().map(node -> node.getEmployee().getId()).collect(Collectors.toList());
+    }
+}
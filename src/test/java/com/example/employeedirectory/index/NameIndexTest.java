@@ -0,0 +1,93 @@
+package com.example.employeedirectory.index;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private EmployeeTree employeeTree;
+
+    @BeforeEach
+    void setUp() {
+        employeeTree = new EmployeeTree();
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "John", "Smith", 90000.0, null),
+            new Employee("2", "Jon", "Smyth", 60000.0, "1"),
+            new Employee("3", "Joanna", "Jones", 50000.0, "1"),
+            new Employee("4", "José", "García", 50000.0, "1"),
+            new Employee("5", "Alice", "Johnson", 50000.0, "1")
+        ));
+    }
+
+    @Test
+    void testFindByPrefix_MatchesFirstOrLastNameCaseInsensitively() {
+        NameIndex index = employeeTree.getNameIndex();
+
+        assertEquals(set("1", "2", "3", "4", "5"), ids(index.findByPrefix("JO", 0, 10)));
+        assertEquals(set("1", "2"), ids(index.findByPrefix("sm", 0, 10)));
+        assertEquals(set("1"), ids(index.findByPrefix("john smith", 0, 10)));
+        assertEquals(set("1"), ids(index.findByPrefix("Smith J", 0, 10)));
+        assertTrue(index.findByPrefix("zz", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testFindByPrefix_IgnoresAccents() {
+        assertEquals(set("4"), ids(employeeTree.getNameIndex().findByPrefix("jose gar", 0, 10)));
+        assertEquals(set("4"), ids(employeeTree.getNameIndex().findByPrefix("GARCÍA", 0, 10)));
+    }
+
+    @Test
+    void testFindByPrefix_Pages() {
+        NameIndex index = employeeTree.getNameIndex();
+        List<EmployeeNode> firstPage = index.findByPrefix("jo", 0, 2);
+        List<EmployeeNode> secondPage = index.findByPrefix("jo", 2, 2);
+        List<EmployeeNode> lastPage = index.findByPrefix("jo", 4, 2);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(1, lastPage.size());
+        Set<String> all = ids(firstPage);
+        all.addAll(ids(secondPage));
+        all.addAll(ids(lastPage));
+        assertEquals(5, all.size());
+    }
+
+    @Test
+    void testFindFuzzy_BoundedEditDistance() {
+        NameIndex index = employeeTree.getNameIndex();
+
+        assertEquals(set("1", "2"), ids(index.findFuzzy("smoth", 1, 0, 10)));
+        assertEquals(set("1"), ids(index.findFuzzy("johm smith", 1, 0, 10)));
+        assertEquals(set("1", "2"), ids(index.findFuzzy("jhon smith", 2, 0, 10)));
+        assertTrue(index.findFuzzy("xyzzy", 1, 0, 10).isEmpty());
+    }
+
+    @Test
+    void testIndexIsRebuiltAfterUpdate() {
+        NameIndex before = employeeTree.getNameIndex();
+        employeeTree.upsertEmployee(new Employee("6", "Zed", "Zimmer", 40000.0, "1"));
+
+        assertNotSame(before, employeeTree.getNameIndex());
+        assertEquals(set("6"), ids(employeeTree.getNameIndex().findByPrefix("zim", 0, 10)));
+    }
+
+    private static Set<String> ids(List<EmployeeNode> nodes) {
+        Set<String> ids = new TreeSet<>();
+        nodes.forEach(node -> ids.add(node.getEmployee().getId()));
+        return ids;
+    }
+
+    private static Set<String> set(String... ids) {
+        return new TreeSet<>(Arrays.asList(ids));
+    }
+}
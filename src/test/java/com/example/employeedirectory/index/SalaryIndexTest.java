@@ -0,0 +1,116 @@
+package com.example.employeedirectory.index;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.model.EmployeeNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    private EmployeeTree employeeTree;
+
+    @BeforeEach
+    void setUp() {
+        employeeTree = new EmployeeTree();
+        employeeTree.buildTree(Arrays.asList(
+            new Employee("1", "CEO", "Boss", 200000.0, null),
+            new Employee("2", "Manager", "One", 100000.0, "1"),
+            new Employee("3", "Manager", "Two", 120000.0, "1"),
+            new Employee("4", "Employee", "One", 60000.0, "2"),
+            new Employee("5", "Employee", "Two", 70000.0, "2"),
+            new Employee("6", "Employee", "Three", 80000.0, "3"),
+            new Employee("7", "Employee", "Four", 70000.0, "3")
+        ));
+    }
+
+    @Test
+    void testCountInRange_WholeDirectoryAndOrg() {
+        SalaryIndex index = employeeTree.getSalaryIndex();
+
+        assertEquals(7, index.size());
+        assertEquals(4, index.countInRange(null, 60000, 80000));
+        assertEquals(2, index.countInRange(null, 70000, 70000));
+        assertEquals(0, index.countInRange(null, 80001, 99999));
+        assertEquals(2, index.countInRange(employeeTree.getNodeById("2"), 50000, 75000));
+        assertEquals(3, index.countInRange(employeeTree.getNodeById("3"), 0, Double.MAX_VALUE));
+        assertEquals(1, index.countInRange(employeeTree.getNodeById("6"), 0, Double.MAX_VALUE));
+    }
+
+    @Test
+    void testListInRange_OrdersBySalaryAndPages() {
+        SalaryIndex index = employeeTree.getSalaryIndex();
+
+        assertEquals(Arrays.asList("4", "5", "7", "6"), ids(index.listInRange(null, 0, 90000, 0, 10)));
+        assertEquals(Arrays.asList("7", "6"), ids(index.listInRange(null, 0, 90000, 2, 10)));
+        assertEquals(Arrays.asList("4"), ids(index.listInRange(null, 0, 90000, 0, 1)));
+        assertEquals(Arrays.asList("7", "6", "3"),
+            ids(index.listInRange(employeeTree.getNodeById("3"), 0, 150000, 0, 10)));
+    }
+
+    @Test
+    void testQuantile_NearestRank() {
+        SalaryIndex index = employeeTree.getSalaryIndex();
+
+        assertEquals(60000, index.quantile(null, 0.0));
+        assertEquals(80000, index.quantile(null, 0.5));
+        assertEquals(200000, index.quantile(null, 1.0));
+        assertEquals(70000, index.quantile(employeeTree.getNodeById("2"), 0.5));
+        assertThrows(IllegalArgumentException.class, () -> index.quantile(null, 1.5));
+    }
+
+    @Test
+    void testIndexIsRebuiltAfterTreeChanges() {
+        SalaryIndex before = employeeTree.getSalaryIndex();
+        assertSame(before, employeeTree.getSalaryIndex());
+
+        employeeTree.upsertEmployee(new Employee("8", "New", "Hire", 65000.0, "2"));
+        SalaryIndex after = employeeTree.getSalaryIndex();
+
+        assertNotSame(before, after);
+        assertEquals(3, after.countInRange(employeeTree.getNodeById("2"), 50000, 75000));
+    }
+
+    @Test
+    void testQueriesMatchBruteForceOnRandomTree() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String managerId = i == 0 ? null : String.valueOf(random.nextInt(i));
+            employees.add(new Employee(String.valueOf(i), "F" + i, "L" + i, 1000 * (1 + random.nextInt(100)), managerId));
+        }
+        employeeTree.buildTree(employees);
+        SalaryIndex index = employeeTree.getSalaryIndex();
+
+        for (int trial = 0; trial < 200; trial++) {
+            EmployeeNode org = employeeTree.getNodeById(String.valueOf(random.nextInt(500)));
+            double min = 1000 * random.nextInt(100);
+            double max = min + 1000 * random.nextInt(50);
+            List<Double> salaries = new ArrayList<>();
+            salaries.add(org.getEmployee().getSalary());
+            employeeTree.getAllSubordinates(org.getEmployee().getId())
+                .forEach(node -> salaries.add(node.getEmployee().getSalary()));
+            salaries.sort(null);
+
+            long expectedCount = salaries.stream().filter(s -> s >= min && s <= max).count();
+            assertEquals(expectedCount, index.countInRange(org, min, max));
+            assertEquals(expectedCount, index.listInRange(org, min, max, 0, 1000).size());
+
+            double q = random.nextDouble();
+            int rank = Math.max(0, (int) Math.ceil(q * salaries.size()) - 1);
+            assertEquals(salaries.get(rank), index.quantile(org, q));
+        }
+    }
+
+    private static List<String> ids(List<EmployeeNode> nodes) {
+        return nodes.stream().map(node -> node.getEmployee().getId()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.employeedirectory.io;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.generator.OrganizationGenerator;
+import com.example.employeedirectory.model.Employee;
+import io.airlift.compress.zstd.ZstdOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedInputTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDetect_FromMagicBytes() throws IOException {
+        assertEquals(CompressedInput.Format.GZIP, detect(new byte[] {0x1f, (byte) 0x8b, 8, 0}));
+        assertEquals(CompressedInput.Format.ZSTD, detect(new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0}));
+        assertEquals(CompressedInput.Format.PLAIN, detect("Id,firstName".getBytes()));
+        assertEquals(CompressedInput.Format.PLAIN, detect(new byte[] {0x1f}));
+    }
+
+    @Test
+    void testReader_GzipMatchesPlainFile() throws IOException {
+        Path plain = tempDir.resolve("employees.csv");
+        Path gzip = tempDir.resolve("employees.export");
+        new OrganizationGenerator(5).employeeCount(50000).writeTo(plain);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            Files.copy(plain, out);
+        }
+
+        List<Employee> expected = new CSVReader().readEmployees(plain.toString());
+        List<Employee> actual = new CSVReader().readEmployees(gzip.toString());
+
+        assertEquals(50000, actual.size());
+        assertEquals(expected.get(49999).getId(), actual.get(49999).getId());
+        assertEquals(expected.get(49999).getManagerId(), actual.get(49999).getManagerId());
+    }
+
+    @Test
+    void testReader_ZstdMatchesPlainFile() throws IOException {
+        Path plain = tempDir.resolve("employees.csv");
+        Path zstd = tempDir.resolve("employees.csv.zst");
+        new OrganizationGenerator(7).employeeCount(50000).writeTo(plain);
+        try (OutputStream out = new ZstdOutputStream(Files.newOutputStream(zstd))) {
+            Files.copy(plain, out);
+        }
+        assertTrue(Files.size(zstd) < Files.size(plain));
+
+        List<Employee> expected = new CSVReader().readEmployees(plain.toString());
+        List<Employee> actual = new CSVReader().readEmployees(zstd.toString());
+
+        assertEquals(50000, actual.size());
+        assertEquals(expected.get(49999).getId(), actual.get(49999).getId());
+        assertEquals(expected.get(49999).getManagerId(), actual.get(49999).getManagerId());
+        assertEquals(expected.get(49999).getSalary(), actual.get(49999).getSalary());
+    }
+
+    @Test
+    void testOpen_CorruptZstdFailsWithIOException() throws IOException {
+        Path zstd = tempDir.resolve("employees.csv.zst");
+        Files.write(zstd, new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0, 0, 0});
+
+        assertThrows(IOException.class, () -> {
+            try (InputStream in = CompressedInput.open(zstd)) {
+                while (in.read() >= 0) {
+                    // drain
+                }
+            }
+        });
+    }
+
+    @Test
+    void testPrefetching_DeliversAllBytesInOrder() throws IOException {
+        byte[] data = new byte[1_000_003];
+        new Random(1).nextBytes(data);
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        try (InputStream in = new PrefetchingInputStream(new ByteArrayInputStream(data), 4096, "test-prefetch")) {
+            copy.write(in.read());
+            byte[] buffer = new byte[1000];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                copy.write(buffer, 0, n);
+            }
+            assertEquals(-1, in.read());
+        }
+        assertArrayEquals(data, copy.toByteArray());
+    }
+
+    @Test
+    void testPrefetching_PropagatesSourceFailure() {
+        InputStream failing = new InputStream() {
+            private int remaining = 10;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("corrupt input");
+                }
+                return 'x';
+            }
+        };
+
+        IOException e = assertThrows(IOException.class, () -> {
+            try (InputStream in = new PrefetchingInputStream(failing, 4, "test-prefetch")) {
+                while (in.read() >= 0) {
+                    // drain
+                }
+            }
+        });
+        assertEquals("corrupt input", e.getMessage());
+    }
+
+    private static CompressedInput.Format detect(byte[] bytes) throws IOException {
+        return CompressedInput.detect(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.employeedirectory.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTokenizerTest {
+
+    @Test
+    void testPlainFieldsAreTrimmed() throws IOException {
+        List<List<String>> records = tokenize("1, Joe ,Doe,60000,\n2,Ann,Lee,50000,1\n");
+
+        assertEquals(2, records.size());
+        assertEquals(List.of("1", "Joe", "Doe", "60000", ""), records.get(0));
+        assertEquals(List.of("2", "Ann", "Lee", "50000", "1"), records.get(1));
+    }
+
+    @Test
+    void testQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = tokenize("1,\"Smith, Jr.\",\"say \"\"hi\"\"\",\"two\nlines\", \" padded \" \n");
+
+        assertEquals(List.of("1", "Smith, Jr.", "say \"hi\"", "two\nlines", " padded "), records.get(0));
+    }
+
+    @Test
+    void testCrlfBomAndMissingFinalNewline() throws IOException {
+        List<List<String>> records = tokenize("\uFEFFId,name\r\n1,\"a\"\r\n\r\n2,b");
+
+        assertEquals(4, records.size());
+        assertEquals(List.of("Id", "name"), records.get(0));
+        assertEquals(List.of("1", "a"), records.get(1));
+        assertEquals(List.of(""), records.get(2));
+        assertEquals(List.of("2", "b"), records.get(3));
+    }
+
+    @Test
+    void testLineNumbersCountBreaksInsideQuotes() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,\"x\ny\"\nb,c\n"));
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(1, tokenizer.getRecordLineNumber());
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.getRecordLineNumber());
+        assertEquals("b,c", tokenizer.getRecordText());
+        assertEquals(12, tokenizer.getCharsConsumed());
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testFieldsCanBeReadInPlace() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("x, \"q\" ,\n"));
+        assertTrue(tokenizer.nextRecord());
+
+        CharSequence chars = tokenizer.getChars();
+        assertEquals("q", chars.subSequence(tokenizer.getFieldStart(1), tokenizer.getFieldEnd(1)).toString());
+        assertTrue(tokenizer.isFieldEmpty(2));
+        assertFalse(tokenizer.isBlankRecord());
+    }
+
+    @Test
+    void testRecordsSpanningBufferRefills() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        String longName = "n".repeat(1000);
+        for (int i = 0; i < 500; i++) {
+            csv.append(i).append(",\"").append(longName).append(",\"\"").append(i).append("\"\"\"\r\n");
+        }
+
+        // A reader returning a few characters at a time forces refills inside every state
+        List<List<String>> records = tokenize(new StringReader(csv.toString()) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        });
+
+        assertEquals(500, records.size());
+        assertEquals(List.of("499", longName + ",\"499\""), records.get(499));
+    }
+
+    @Test
+    void testFieldsPastTheLimitAreCountedButNotStored() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,b,c,\"d,\nd\",e\r\nf,g\nh\n"));
+        tokenizer.setFieldLimit(2);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(5, tokenizer.getFieldCount());
+        assertEquals("b", tokenizer.getField(1));
+        assertEquals("a,b,c,\"d,\nd\",e", tokenizer.getRecordText());
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.getRecordLineNumber());
+        assertEquals(2, tokenizer.getFieldCount());
+        assertEquals("g", tokenizer.getField(1));
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(1, tokenizer.getFieldCount());
+        assertEquals("h", tokenizer.getField(0));
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testStrayQuotePastTheLimitIsLiteral() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,b,6\" x,\"q\"\"\" tail,e\nf,g,1\"\n"));
+        tokenizer.setFieldLimit(2);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(5, tokenizer.getFieldCount());
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(2, tokenizer.getRecordLineNumber());
+        assertEquals(3, tokenizer.getFieldCount());
+        assertEquals("g", tokenizer.getField(1));
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testSkippedFieldsReadBackEmpty() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("\"x,\ny\",b,\"c\",d,e\nf,g,h\r\n"));
+        tokenizer.setFieldLimit(3);
+        tokenizer.setSkippedFields(new boolean[] {true, false, true});
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(5, tokenizer.getFieldCount());
+        assertTrue(tokenizer.isFieldEmpty(0));
+        assertEquals("b", tokenizer.getField(1));
+        assertTrue(tokenizer.isFieldEmpty(2));
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.getRecordLineNumber());
+        assertEquals("f,g,h", tokenizer.getRecordText());
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testStrayQuoteInSkippedFieldIsLiteral() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,6\" x,c\nd, \"e,f\"\"\" ,g\n"));
+        tokenizer.setSkippedFields(new boolean[] {false, true});
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.getFieldCount());
+        assertEquals("c", tokenizer.getField(2));
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.getFieldCount());
+        assertTrue(tokenizer.isFieldEmpty(1));
+        assertEquals("g", tokenizer.getField(2));
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testRecordTextIsTheRawLineAcrossRefills() throws IOException {
+        String row = "2, Too ,\"Many\"\"\",Parts,50000,1";
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("Id,a\r\n" + row + "\r\nnext\n") {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 3));
+            }
+        });
+        tokenizer.setFieldLimit(2);
+        tokenizer.setSkippedFields(new boolean[] {false, true});
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("Id,a", tokenizer.getRecordText());
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(row, tokenizer.getRecordText());
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("next", tokenizer.getRecordText());
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testUnterminatedQuoteFails() {
+        IOException e = assertThrows(IOException.class, () -> tokenize("a,b\nc,\"open\n"));
+        assertTrue(e.getMessage().contains("line 2"));
+    }
+
+    private static List<List<String>> tokenize(String csv) throws IOException {
+        return tokenize(new StringReader(csv));
+    }
+
+    private static List<List<String>> tokenize(Reader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(reader)) {
+            while (tokenizer.nextRecord()) {
+                List<String> fields = new ArrayList<>();
+                for (int i = 0; i < tokenizer.getFieldCount(); i++) {
+                    fields.add(tokenizer.getField(i));
+                }
+                records.add(fields);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.employeedirectory.metrics;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.service.ValidationReportService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPipelineEmitsCustomEvents() throws IOException {
+        // Arrange
+        Path csv = Files.writeString(tempDir.resolve("employees.csv"),
+            "Id,firstName,lastName,salary,managerId\n"
+            + "1,John,Manager,40000,\n"
+            + "2,Alice,Sub,40000,1\n"
+            + "bad line\n");
+        Path dump = tempDir.resolve("recording.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(CsvChunkEvent.class);
+            recording.enable(TreeBuildEvent.class);
+            recording.enable(ValidationPassEvent.class);
+            recording.enable(ReportWriteEvent.class);
+            recording.start();
+
+            EmployeeTree tree = new EmployeeTree();
+            tree.buildTree(new CSVReader().readEmployees(csv.toString()));
+            new ValidationReportService().generateValidationReport(tree.getAllNodes());
+
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        // Assert
+        RecordedEvent chunk = single(events, "com.example.employeedirectory.CsvChunk");
+        assertEquals(2, chunk.getInt("rows"));
+        assertEquals(1, chunk.getInt("rejectedRows"));
+        assertEquals(2, chunk.getLong("firstLine"));
+        assertTrue(chunk.getLong("chars") > 0);
+
+        List<String> buildPhases = named(events, "com.example.employeedirectory.TreeBuild").stream()
+            .map(event -> event.getString("phase")).collect(Collectors.toList());
+        assertTrue(buildPhases.contains(TreeBuildEvent.INDEX_PHASE));
+        assertTrue(buildPhases.contains(TreeBuildEvent.LINK_PHASE));
+
+        List<RecordedEvent> passes = named(events, "com.example.employeedirectory.ValidationPass");
+        assertEquals(2, passes.size());
+        assertTrue(passes.stream().anyMatch(event -> event.getString("pass").equals(ValidationPassEvent.SALARY_PASS)
+            && event.getInt("violations") == 1));
+
+        assertEquals(2, named(events, "com.example.employeedirectory.ReportWrite").size());
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = named(events, name);
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+}
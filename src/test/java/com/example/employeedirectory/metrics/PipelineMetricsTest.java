@@ -0,0 +1,70 @@
+package com.example.employeedirectory.metrics;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineMetricsTest {
+
+    private final List<Employee> employees = Arrays.asList(
+        new Employee("1", "John", "Manager", 60000.0, null),
+        new Employee("2", "Alice", "Sub", 40000.0, "1"));
+
+    @BeforeEach
+    void setUp() {
+        PipelineMetrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PipelineMetrics.setEnabled(false);
+        PipelineMetrics.reset();
+    }
+
+    @Test
+    void testDisabled_RecordsNothing() {
+        PipelineMetrics.setEnabled(false);
+
+        new EmployeeTree().buildTree(employees);
+        PipelineMetrics.increment("test.counter", 5);
+
+        assertFalse(PipelineMetrics.summary().contains(PipelineMetrics.TREE_BUILD));
+        assertFalse(PipelineMetrics.summary().contains("test.counter"));
+    }
+
+    @Test
+    void testEnabled_RecordsPhasesAndCounters() {
+        PipelineMetrics.setEnabled(true);
+
+        new EmployeeTree().buildTree(employees);
+        new EmployeeTree().buildTree(employees);
+        PipelineMetrics.increment("test.counter", 5);
+
+        String summary = PipelineMetrics.summary();
+        assertTrue(summary.contains(PipelineMetrics.TREE_BUILD));
+        assertTrue(summary.contains("(2 runs)"));
+        assertTrue(summary.contains("test.counter"));
+    }
+
+    @Test
+    void testMBeanExposesRowCounts() throws Exception {
+        PipelineMetrics.setEnabled(true);
+        PipelineMetrics.registerMBean();
+        new EmployeeTree().buildTree(employees);
+
+        Object rowCounts = ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(new ObjectName(PipelineMetrics.OBJECT_NAME), "RowCounts");
+
+        assertNotNull(rowCounts);
+        assertTrue(rowCounts.toString().contains(PipelineMetrics.TREE_BUILD));
+    }
+}
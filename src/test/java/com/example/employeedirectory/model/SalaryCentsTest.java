@@ -0,0 +1,48 @@
+package com.example.employeedirectory.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryCentsTest {
+
+    @Test
+    void testParse_PlainDecimals() {
+        assertEquals(5200000, SalaryCents.parse("52000"));
+        assertEquals(5200050, SalaryCents.parse("52000.5"));
+        assertEquals(5200005, SalaryCents.parse("52000.05"));
+        assertEquals(-125, SalaryCents.parse("-1.25"));
+        assertEquals(50, SalaryCents.parse(".5"));
+        assertEquals(700, SalaryCents.parse("7."));
+        assertEquals(4500, SalaryCents.parse("x45,", 1, 3));
+    }
+
+    @Test
+    void testParse_RoundsHalfUpBeyondCents() {
+        assertEquals(101, SalaryCents.parse("1.005"));
+        assertEquals(100, SalaryCents.parse("1.0049"));
+    }
+
+    @Test
+    void testParse_RejectsInvalidText() {
+        assertThrows(NumberFormatException.class, () -> SalaryCents.parse(""));
+        assertThrows(NumberFormatException.class, () -> SalaryCents.parse("."));
+        assertThrows(NumberFormatException.class, () -> SalaryCents.parse("abc"));
+        assertThrows(NumberFormatException.class, () -> SalaryCents.parse("1e5"));
+        assertThrows(NumberFormatException.class, () -> SalaryCents.parse("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> SalaryCents.parse("12345678901234567"));
+    }
+
+    @Test
+    void testRoundTripMatchesDoubleParsing() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10000; i++) {
+            String text = random.nextInt(10_000_000) + "." + String.format("%02d", random.nextInt(100));
+            long cents = SalaryCents.parse(text);
+            assertEquals(Double.parseDouble(text), SalaryCents.toDouble(cents));
+            assertEquals(cents, SalaryCents.toCents(Double.parseDouble(text)));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.employeedirectory.offheap;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapDirectoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private EmployeeTree employeeTree;
+
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee("1", "Zoë", "Ångström", 250000.0, null));
+        for (int i = 2; i <= 300; i++) {
+            employees.add(new Employee(String.valueOf(i), "First" + i, "Last" + i, 40000.0 + i, String.valueOf(Math.max(1, i / 3))));
+        }
+        employees.add(new Employee("orphan", "Lost", "Report", 45000.0, "missing"));
+        employeeTree = new EmployeeTree();
+        employeeTree.buildTree(employees);
+    }
+
+    @Test
+    void testNavigationMatchesTree() throws IOException {
+        try (OffHeapDirectory directory = OffHeapDirectory.build(employeeTree)) {
+            assertMatchesTree(directory);
+        }
+    }
+
+    @Test
+    void testSmallSegmentsKeepRecordsAndStringsIntact() throws IOException {
+        try (OffHeapDirectory directory = OffHeapDirectory.build(employeeTree, null, 256)) {
+            assertMatchesTree(directory);
+        }
+    }
+
+    @Test
+    void testMappedFileCanBeReopened() throws IOException {
+        Path file = tempDir.resolve("directory.bin");
+        try (OffHeapDirectory directory = OffHeapDirectory.build(employeeTree, file, 4096)) {
+            assertMatchesTree(directory);
+        }
+        try (OffHeapDirectory reopened = OffHeapDirectory.open(file)) {
+            assertMatchesTree(reopened);
+        }
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path file = tempDir.resolve("not-a-directory.bin");
+        Files.write(file, new byte[128]);
+
+        assertThrows(IOException.class, () -> OffHeapDirectory.open(file));
+    }
+
+    @Test
+    void testBuildFromCsvMatchesTreeBuild() throws IOException {
+        List<Employee> employees = new ArrayList<>(employeeTree.getAllNodes().stream()
+            .map(node -> node.getEmployee()).collect(Collectors.toList()));
+        // A reporting cycle, which neither build stores
+        employees.add(new Employee("c1", "Cy", "One", 50000.0, "c2"));
+        employees.add(new Employee("c2", "Cy", "Two", 50000.0, "c1"));
+        Path first = tempDir.resolve("shard-1.csv");
+        Path second = tempDir.resolve("shard-2.csv");
+        int half = employees.size() / 2;
+        writeCsv(first, employees.subList(half, employees.size()));
+        // Managers in the other shard are resolved; the duplicate keeps the first occurrence
+        List<Employee> secondShard = new ArrayList<>(employees.subList(0, half));
+        secondShard.add(new Employee("7", "Duplicate", "Seven", 1.0, "1"));
+        writeCsv(second, secondShard);
+
+        List<Employee> fileOrder = new ArrayList<>(employees.subList(half, employees.size()));
+        fileOrder.addAll(employees.subList(0, half));
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(fileOrder);
+
+        Path file = tempDir.resolve("streamed.bin");
+        try (OffHeapDirectory expected = OffHeapDirectory.build(tree);
+             OffHeapDirectory streamed = OffHeapDirectory.build(new CSVReader(), Arrays.asList(first, second));
+             OffHeapDirectory mapped = OffHeapDirectory.build(new CSVReader(), Arrays.asList(first, second), file, 256)) {
+            assertEquals(tree.getTotalEmployeeCount() - 2, streamed.getTotalEmployeeCount());
+            assertEquals("First7", streamed.getEmployeeById("7").getFirstName());
+            assertEquals(-1, streamed.indexOf("c1"));
+            assertSameRecords(expected, streamed);
+            assertSameRecords(expected, mapped);
+        }
+        try (OffHeapDirectory expected = OffHeapDirectory.build(tree);
+             OffHeapDirectory reopened = OffHeapDirectory.open(file)) {
+            assertSameRecords(expected, reopened);
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertFalse(files.anyMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+
+    private static void writeCsv(Path file, List<Employee> employees) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("Id,firstName,lastName,salary,managerId");
+        for (Employee employee : employees) {
+            lines.add(String.join(",", employee.getId(), employee.getFirstName(), employee.getLastName(),
+                String.valueOf(employee.getSalary()), employee.getManagerId() == null ? "" : employee.getManagerId()));
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameRecords(OffHeapDirectory expected, OffHeapDirectory actual) {
+        assertEquals(expected.getTotalEmployeeCount(), actual.getTotalEmployeeCount());
+        assertEquals(expected.getRootNodeCount(), actual.getRootNodeCount());
+        for (int index = 0; index < expected.getTotalEmployeeCount(); index++) {
+            assertEquals(expected.getEmployee(index).toString(), actual.getEmployee(index).toString());
+            assertEquals(expected.getSalary(index), actual.getSalary(index));
+            assertEquals(expected.getParent(index), actual.getParent(index));
+            assertEquals(expected.getDepth(index), actual.getDepth(index));
+            assertEquals(expected.getChildCount(index), actual.getChildCount(index));
+            assertEquals(expected.getChild(index, 0), actual.getChild(index, 0));
+            assertEquals(index, actual.indexOf(expected.getId(index)));
+        }
+    }
+
+    private void assertMatchesTree(OffHeapDirectory directory) {
+        assertEquals(employeeTree.getTotalEmployeeCount(), directory.getTotalEmployeeCount());
+        assertEquals(employeeTree.getRootNodeCount(), directory.getRootNodeCount());
+        assertEquals(-1, directory.indexOf("nobody"));
+        assertNull(directory.getEmployeeById("nobody"));
+
+        Employee ceo = directory.getEmployeeById("1");
+        assertEquals("Zoë", ceo.getFirstName());
+        assertEquals("Ångström", ceo.getLastName());
+        assertNull(ceo.getManagerId());
+        assertEquals("missing", directory.getEmployeeById("orphan").getManagerId());
+
+        for (String id : Arrays.asList("1", "2", "7", "40", "299", "orphan")) {
+            int index = directory.indexOf(id);
+            Employee expected = employeeTree.getNodeById(id).getEmployee();
+            assertEquals(expected.getSalary(), directory.getSalary(index));
+            assertEquals(employeeTree.getNodeById(id).getDepth(), directory.getDepth(index));
+            assertEquals(ids(employeeTree.getDirectReports(id).stream().map(n -> n.getEmployee())
+                .collect(Collectors.toList())), ids(directory.getDirectReports(id)));
+            assertEquals(ids(employeeTree.getAllSubordinates(id).stream().map(n -> n.getEmployee())
+                .collect(Collectors.toList())), ids(directory.getAllSubordinates(id)));
+            int parent = directory.getParent(index);
+            assertEquals(expected.getManagerId() == null || "orphan".equals(id) ? null : expected.getManagerId(),
+                parent < 0 ? null : directory.getId(parent));
+        }
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.employeedirectory.server;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.service.DirectorySnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectoryServerTest {
+
+    private DirectoryServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(Arrays.asList(
+            new Employee("1", "John", "Manager", 40000.0, null),
+            new Employee("2", "Alice", "Sub", 40000.0, "1"),
+            new Employee("3", "Bob", "Sub", 40000.0, "2")
+        ));
+        server = new DirectoryServer(DirectorySnapshot.of(tree), 0);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testGetEmployee() throws IOException {
+        String body = get("/employees/2", 200);
+        assertTrue(body.contains("\"id\":\"2\""));
+        assertTrue(body.contains("\"firstName\":\"Alice\""));
+        assertTrue(body.contains("\"managerId\":\"1\""));
+        assertTrue(body.contains("\"depth\":1"));
+    }
+
+    @Test
+    void testGetDirectReportsAndSubordinates() throws IOException {
+        String reports = get("/employees/1/reports", 200);
+        assertTrue(reports.contains("\"id\":\"2\""));
+        assertFalse(reports.contains("\"id\":\"3\""));
+
+        String subordinates = get("/employees/1/subordinates", 200);
+        assertTrue(subordinates.contains("\"id\":\"2\""));
+        assertTrue(subordinates.contains("\"id\":\"3\""));
+    }
+
+    @Test
+    void testGetValidation() throws IOException {
+        String body = get("/employees/1/validation", 200);
+        assertTrue(body.contains("\"valid\":false"));
+        assertTrue(body.contains("Manager is underpaid"));
+
+        assertTrue(get("/employees/3/validation", 200).contains("\"valid\":true"));
+    }
+
+    @Test
+    void testUnknownEmployeeReturns404() throws IOException {
+        assertTrue(get("/employees/999", 404).contains("Employee not found"));
+    }
+
+    @Test
+    void testSearch() throws IOException {
+        String body = get("/search?q=ali", 200);
+        assertTrue(body.contains("\"id\":\"2\""));
+        assertFalse(body.contains("\"id\":\"1\""));
+
+        assertTrue(get("/search?q=alcie&fuzzy=2", 200).contains("\"id\":\"2\""));
+        assertTrue(get("/search", 400).contains("Missing query parameter"));
+    }
+
+    @Test
+    void testHealth() throws IOException {
+        assertTrue(get("/health", 200).contains("\"employees\":3"));
+    }
+
+    @Test
+    void testQuoteEscapesSpecialCharacters() {
+        assertEquals("\"a\\\"b\\\\c\"", DirectoryServer.quote("a\"b\\c"));
+        assertEquals("null", DirectoryServer.quote(null));
+    }
+
+    private String get(String path, int expectedStatus) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+        try {
+            assertEquals(expectedStatus, connection.getResponseCode());
+            InputStream in = expectedStatus < 400 ? connection.getInputStream() : connection.getErrorStream();
+            try (InputStream body = in) {
+                return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.employeedirectory.service;
+
+import com.example.employeedirectory.CSVReader;
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectoryWatcherTest {
+
+    private static final String HEADER = "Id,firstName,lastName,salary,managerId\n";
+
+    @TempDir
+    Path tempDir;
+
+    private DirectoryWatcher watcher;
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void testReloadIfChanged_SkipsUnchangedContent() throws IOException {
+        // Arrange
+        Path csv = writeCsv(HEADER + "1,John,Doe,60000,\n");
+        watcher = new DirectoryWatcher(csv, 10, snapshot -> fail("Listener should not be called"));
+        watcher.start(load(csv));
+
+        // Rewriting identical content must not trigger a rebuild
+        writeCsv(HEADER + "1,John,Doe,60000,\n");
+
+        // Act & Assert
+        assertFalse(watcher.reloadIfChanged());
+    }
+
+    @Test
+    void testReloadIfChanged_PublishesNewSnapshot() throws IOException {
+        // Arrange
+        Path csv = writeCsv(HEADER + "1,John,Doe,60000,\n");
+        DirectorySnapshot initial = load(csv);
+        watcher = new DirectoryWatcher(csv, 10, snapshot -> { });
+        watcher.start(initial);
+
+        writeCsv(HEADER + "1,John,Doe,60000,\n2,Alice,Smith,40000,1\n");
+
+        // Act
+        assertTrue(watcher.reloadIfChanged());
+
+        // Assert
+        assertNotSame(initial, watcher.getCurrent());
+        assertEquals(2, watcher.getCurrent().getEmployeeTree().getTotalEmployeeCount());
+        assertEquals(1, initial.getEmployeeTree().getTotalEmployeeCount());
+    }
+
+    @Test
+    void testWatch_ReloadsAfterFileChange() throws Exception {
+        // Arrange
+        Path csv = writeCsv(HEADER + "1,John,Doe,60000,\n");
+        CountDownLatch reloaded = new CountDownLatch(1);
+        watcher = new DirectoryWatcher(csv, 50, snapshot -> reloaded.countDown());
+        watcher.start(load(csv));
+
+        // Act
+        writeCsv(HEADER + "1,John,Doe,60000,\n2,Alice,Smith,40000,1\n3,Bob,Smith,40000,1\n");
+
+        // Assert
+        assertTrue(reloaded.await(30, TimeUnit.SECONDS));
+        assertEquals(3, watcher.getCurrent().getEmployeeTree().getTotalEmployeeCount());
+    }
+
+    @Test
+    void testReloadIfChanged_DiscardsContentRewrittenDuringParse() throws IOException {
+        // Arrange: the file is rewritten while the first reload is parsing it
+        Path csv = writeCsv(HEADER + "1,John,Doe,60000,\n");
+        DirectorySnapshot initial = load(csv);
+        String rewritten = HEADER + "1,John,Doe,60000,\n2,Alice,Smith,40000,1\n3,Bob,Smith,40000,1\n";
+        CSVReader racingReader = new CSVReader() {
+            private boolean first = true;
+
+            @Override
+            public List<Employee> readEmployees(String filePath) throws IOException {
+                List<Employee> employees = super.readEmployees(filePath);
+                if (first) {
+                    first = false;
+                    writeCsv(rewritten);
+                }
+                return employees;
+            }
+        };
+        // A long debounce keeps the scheduled retry from racing the explicit calls below
+        watcher = new DirectoryWatcher(csv, 60_000, racingReader, snapshot -> { });
+        watcher.start(initial);
+        writeCsv(HEADER + "1,John,Doe,60000,\n2,Alice,Smith,40000,1\n");
+
+        // Act & Assert: the stale parse is not published, the retry sees the final content
+        assertFalse(watcher.reloadIfChanged());
+        assertSame(initial, watcher.getCurrent());
+        assertTrue(watcher.reloadIfChanged());
+        assertEquals(3, watcher.getCurrent().getEmployeeTree().getTotalEmployeeCount());
+    }
+
+    @Test
+    void testReloadIfChanged_KeepsServingAfterUnexpectedError() throws IOException {
+        // Arrange
+        Path csv = writeCsv(HEADER + "1,John,Doe,60000,\n");
+        DirectorySnapshot initial = load(csv);
+        CSVReader failingReader = new CSVReader() {
+            @Override
+            public List<Employee> readEmployees(String filePath) {
+                throw new IllegalStateException("parser bug");
+            }
+        };
+        watcher = new DirectoryWatcher(csv, 10, failingReader, snapshot -> fail("Listener should not be called"));
+        watcher.start(initial);
+        writeCsv(HEADER + "1,John,Doe,60000,\n2,Alice,Smith,40000,1\n");
+
+        // Act & Assert
+        assertFalse(watcher.reloadIfChanged());
+        assertSame(initial, watcher.getCurrent());
+    }
+
+    private Path writeCsv(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("employees.csv"), content);
+    }
+
+    private static DirectorySnapshot load(Path csv) throws IOException {
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(new CSVReader().readEmployees(csv.toString()));
+        return DirectorySnapshot.of(tree);
+    }
+}
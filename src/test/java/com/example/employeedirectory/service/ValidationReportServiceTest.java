@@ -1,5 +1,6 @@
 package com.example.employeedirectory.service;
 
+import com.example.employeedirectory.EmployeeTree;
 import com.example.employeedirectory.model.Employee;
 import com.example.employeedirectory.model.EmployeeNode;
 import org.junit.jupiter.api.BeforeEach;
@@ -129,6 +130,28 @@ class ValidationReportServiceTest {
         assertTrue(output.contains("Employees with too long reporting lines: 1"));
     }
 
+    @Test
+    void testGenerateValidationReport_SnapshotReusesReportResults() {
+        clearOutput();
+        // Arrange
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(Arrays.asList(
+            new Employee("1", "John", "Manager", 40000.0, null),
+            new Employee("2", "Alice", "Sub", 40000.0, "1")));
+        reportService.generateValidationReport(tree.getAllNodes());
+
+        // Act
+        DirectorySnapshot snapshot = DirectorySnapshot.of(tree, reportService.getSalaryResults(),
+            reportService.getDepthResults());
+        clearOutput();
+        new ValidationReportService().generateValidationReport(snapshot);
+
+        // Assert
+        assertEquals(1, snapshot.getSalaryResults().size());
+        assertSame(reportService.getSalaryResults().get(0), snapshot.getResultsFor("1").get(0));
+        assertTrue(getOutput().contains("❌ UNDERPAID: John Manager (ID: 1) is underpaid"));
+    }
+
     @Test
     void testDisplayEmployeeValidationDetails_ManagerWithViolations() {
         clearOutput();
@@ -365,4 +388,21 @@ class ValidationReportServiceTest {
         assertTrue(output.contains("Salary Validation Results:"));
         assertTrue(output.contains("Reporting Structure Validation:"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGenerateExactValidationReport_PassesSalaryOnBandEdge() {
+        clearOutput();
+        // 21.72 is exactly 120% of 18.10, which the double-based validator misses by a rounding error
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(Arrays.asList(
+            new Employee("1", "Exact", "Min", 21.72, null),
+            new Employee("2", "Report", "A", 18.10, "1")));
+
+        reportService.generateExactValidationReport(tree);
+
+        assertTrue(reportService.getSalaryResults().isEmpty());
+        assertTrue(getOutput().contains("All managers meet the salary requirements"));
+        assertEquals(1, DirectorySnapshot.of(tree).getSalaryResults().size());
+        assertTrue(DirectorySnapshot.ofExact(tree).getSalaryResults().isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.employeedirectory.simulation;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WhatIfSimulatorTest {
+
+    private EmployeeTree tree;
+    private WhatIfSimulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        tree = new EmployeeTree();
+        tree.buildTree(Arrays.asList(
+            new Employee("1", "Ceo", "A", 300000.0, null),
+            new Employee("2", "Vp", "B", 200000.0, "1"),
+            new Employee("3", "Director", "C", 150000.0, "2"),
+            new Employee("4", "Manager", "D", 100000.0, "3"),
+            new Employee("5", "Lead", "E", 80000.0, "4"),
+            new Employee("7", "Vp", "F", 200000.0, "1"),
+            new Employee("8", "Engineer", "G", 170000.0, "7")));
+        simulator = new WhatIfSimulator(tree);
+    }
+
+    @Test
+    void testRaise_ResolvesUnderpaidManager() {
+        assertEquals(1, simulator.getBaseline().getSalaryResults("7").size());
+
+        SimulationResult result = simulator.simulate(new Scenario("raise").setSalary("7", 210000.0));
+
+        assertTrue(result.getAdded().isEmpty());
+        assertEquals(List.of("7:Manager is underpaid"), describe(result.getRemoved()));
+        assertEquals(-1, result.getNetChange());
+    }
+
+    @Test
+    void testPartialRaise_ReportsChangedShortfall() {
+        SimulationResult result = simulator.simulate(new Scenario("partial raise").setSalary("7", 202000.0));
+
+        assertTrue(result.getAdded().isEmpty());
+        assertTrue(result.getRemoved().isEmpty());
+        assertEquals(1, result.getChanged().size());
+        SimulationResult.Change change = result.getChanged().get(0);
+        assertEquals("7", change.getAfter().getEmployee().getId());
+        assertEquals("Manager is underpaid", change.getAfter().getMessage());
+        assertEquals(4000.0, change.getBefore().getAmount(), 0.001);
+        assertEquals(2000.0, change.getAfter().getAmount(), 0.001);
+    }
+
+    @Test
+    void testMove_ReportsAddedAndRemovedViolations() {
+        SimulationResult result = simulator.simulate(new Scenario("reorg").move("8", "5"));
+
+        assertEquals(List.of("5:Manager is underpaid", "8:Reporting line too deep"),
+            describe(result.getAdded()).stream().sorted().collect(Collectors.toList()));
+        assertEquals(List.of("7:Manager is underpaid"), describe(result.getRemoved()));
+        assertEquals("5", result.getAdded().stream()
+            .filter(violation -> violation.getEmployee().getId().equals("8"))
+            .findFirst().get().getEmployee().getManagerId());
+    }
+
+    @Test
+    void testSimulate_LeavesBaseTreeUnchanged() {
+        simulator.simulate(new Scenario("both").setSalary("7", 250000.0).move("8", "5").move("2", null));
+
+        assertEquals("7", tree.getNodeById("8").getParent().getEmployee().getId());
+        assertEquals(200000.0, tree.getNodeById("7").getEmployee().getSalary());
+        assertTrue(tree.getNodeById("5").isLeaf());
+        assertEquals(2, tree.getNodeById("1").getChildCount());
+        assertEquals(1, simulator.getBaseline().getSalaryResults("7").size());
+    }
+
+    @Test
+    void testMoveToRoot_RevalidatesFormerManager() {
+        SimulationResult result = simulator.simulate(new Scenario("spin-off").move("8", null));
+
+        assertTrue(result.getAdded().isEmpty());
+        assertEquals(List.of("7:Manager is underpaid"), describe(result.getRemoved()));
+    }
+
+    @Test
+    void testSimulateAll_MatchesSequentialResults() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            scenarios.add(i % 2 == 0
+                ? new Scenario("raise-" + i).setSalary("7", 200000.0 + i * 100)
+                : new Scenario("move-" + i).move("8", i % 3 == 0 ? "5" : "4"));
+        }
+
+        List<SimulationResult> results = simulator.simulateAll(scenarios);
+
+        assertEquals(scenarios.size(), results.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            SimulationResult expected = simulator.simulate(scenarios.get(i));
+            assertSame(scenarios.get(i), results.get(i).getScenario());
+            assertEquals(describe(expected.getAdded()), describe(results.get(i).getAdded()));
+            assertEquals(describe(expected.getRemoved()), describe(results.get(i).getRemoved()));
+        }
+    }
+
+    @Test
+    void testSimulate_RejectsCyclesAndUnknownEmployees() {
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(new Scenario("cycle").move("2", "4")));
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(new Scenario("self").move("2", "2")));
+        assertThrows(IllegalArgumentException.class,
+            () -> simulator.simulate(new Scenario("unknown").setSalary("99", 1.0)));
+        assertThrows(IllegalArgumentException.class,
+            () -> simulator.simulate(new Scenario("unknown manager").move("8", "99")));
+    }
+
+    private static List<String> describe(List<ValidationResult> results) {
+        return results.stream()
+            .map(result -> result.getEmployee().getId() + ":" + result.getMessage())
+            .collect(Collectors.toList());
+    }
+}
@@ -296,4 +296,65 @@ class EmployeeValidatorTest {
         assertEquals(100.5, result.getAmount(), 0.01);
         assertEquals(testEmployee, result.getEmployee());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testFindTopViolations_KeepsLargestAmounts() {
+        // Arrange: three managers, each with one report earning 40000
+        EmployeeNode ceo = new EmployeeNode(new Employee("1", "Ceo", "Boss", 200000.0, null));
+        List<EmployeeNode> allNodes = new java.util.ArrayList<>();
+        allNodes.add(ceo);
+        double[] managerSalaries = {44000.0, 46000.0, 42000.0};
+        for (int i = 0; i < managerSalaries.length; i++) {
+            EmployeeNode manager = new EmployeeNode(new Employee("m" + i, "Manager", "M" + i, managerSalaries[i], "1"));
+            EmployeeNode report = new EmployeeNode(new Employee("r" + i, "Report", "R" + i, 40000.0, "m" + i));
+            ceo.addChild(manager);
+            manager.addChild(report);
+            allNodes.add(manager);
+            allNodes.add(report);
+        }
+
+        // Act
+        EmployeeValidator.TopViolations top = EmployeeValidator.findTopViolations(allNodes, 2);
+
+        // Assert: shortfalls are 4000 (m0), 2000 (m1), 6000 (m2); keep the two largest
+        List<EmployeeValidator.ValidationResult> underpaid = top.getUnderpaid();
+        assertEquals(2, underpaid.size());
+        assertEquals("m2", underpaid.get(0).getEmployee().getId());
+        assertEquals("m0", underpaid.get(1).getEmployee().getId());
+        assertEquals(1, top.getOverpaid().size()); // CEO is overpaid
+        assertTrue(top.getTooDeep().isEmpty());
+    }
+
+    @Test
+    void testFindTopViolationsParallel_MatchesSequential() {
+        // Arrange
+        EmployeeNode ceo = new EmployeeNode(new Employee("ceo", "Ceo", "Boss", 60000.0, null));
+        List<EmployeeNode> allNodes = new java.util.ArrayList<>();
+        allNodes.add(ceo);
+        for (int i = 0; i < 500; i++) {
+            EmployeeNode manager = new EmployeeNode(new Employee("m" + i, "Manager", "M" + i, 40000.0 + i, "ceo"));
+            EmployeeNode report = new EmployeeNode(new Employee("r" + i, "Report", "R" + i, 40000.0, "m" + i));
+            ceo.addChild(manager);
+            manager.addChild(report);
+            allNodes.add(manager);
+            allNodes.add(report);
+        }
+
+        // Act
+        EmployeeValidator.TopViolations sequential = EmployeeValidator.findTopViolations(allNodes, 10);
+        EmployeeValidator.TopViolations parallel = EmployeeValidator.findTopViolationsParallel(allNodes, 10);
+
+        // Assert
+        assertEquals(10, parallel.getUnderpaid().size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(sequential.getUnderpaid().get(i).getEmployee().getId(),
+                         parallel.getUnderpaid().get(i).getEmployee().getId());
+        }
+        assertEquals("m0", parallel.getUnderpaid().get(0).getEmployee().getId());
+    }
+
+    @Test
+    void testTopViolations_RejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeValidator.TopViolations(0));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.employeedirectory.validation;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryBandSolverTest {
+
+    private static EmployeeTree tree(List<Employee> employees) {
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(employees);
+        return tree;
+    }
+
+    @Test
+    void testRaisePropagatesToManagerAbove() {
+        SalaryPlan plan = SalaryBandSolver.solve(tree(Arrays.asList(
+            new Employee("1", "Ceo", "A", 100000.0, null),
+            new Employee("2", "Manager", "B", 80000.0, "1"),
+            new Employee("3", "Engineer", "C", 100000.0, "2"))));
+
+        assertEquals(List.of("1: 100000.00 -> 144000.00 (+44000.00)", "2: 80000.00 -> 120000.00 (+40000.00)"),
+            plan.getAdjustments().stream().map(SalaryPlan.Adjustment::toString).collect(Collectors.toList()));
+        assertEquals(84000.0, plan.getTotalChange(), 1e-9);
+        assertEquals(2, plan.getPasses());
+        assertTrue(plan.getUnresolved().isEmpty());
+    }
+
+    @Test
+    void testOverpaidManagerIsCutToBandMaximum() {
+        SalaryPlan plan = SalaryBandSolver.solve(tree(Arrays.asList(
+            new Employee("1", "Ceo", "A", 90000.0, null),
+            new Employee("2", "Report", "B", 50000.0, "1"),
+            new Employee("3", "Report", "C", 50000.01, "1"))));
+
+        assertEquals(1, plan.getAdjustments().size());
+        // 1.5 * 50000.005 rounded down to the cent
+        assertEquals(75000.0, plan.getAdjustments().get(0).getSuggestedSalary());
+    }
+
+    @Test
+    void testCompliantTreeNeedsNoChanges() {
+        SalaryPlan plan = SalaryBandSolver.solve(tree(Arrays.asList(
+            new Employee("1", "Ceo", "A", 130000.0, null),
+            new Employee("2", "Manager", "B", 100000.0, "1"),
+            new Employee("3", "Engineer", "C", 80000.0, "2"))));
+
+        assertTrue(plan.getAdjustments().isEmpty());
+        assertEquals(1, plan.getPasses());
+    }
+
+    @Test
+    void testBandNarrowerThanOneCentIsReported() {
+        SalaryPlan plan = SalaryBandSolver.solve(tree(Arrays.asList(
+            new Employee("1", "Tiny", "Manager", 0.05, null),
+            new Employee("2", "Tiny", "Report", 0.01, "1"))));
+
+        assertEquals(List.of("1"), plan.getUnresolved().stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(0.02, plan.getAdjustments().get(0).getSuggestedSalary());
+    }
+
+    @Test
+    void testPlanClearsAllViolationsAndParallelMatchesSequential() {
+        Random random = new Random(5);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 40000; i++) {
+            String managerId = i == 0 ? null : String.valueOf(random.nextInt(Math.max(1, i / 3)));
+            employees.add(new Employee(String.valueOf(i), "F" + i, "L" + i,
+                20000 + random.nextInt(20000000) / 100.0, managerId));
+        }
+        EmployeeTree tree = tree(employees);
+        assertFalse(SalaryColumns.of(tree).validateSalaryBands().isEmpty());
+
+        SalaryPlan plan = SalaryBandSolver.solve(tree);
+        SalaryPlan parallelPlan = SalaryBandSolver.solveParallel(tree);
+
+        assertEquals(plan.getAdjustments().toString(), parallelPlan.getAdjustments().toString());
+        assertTrue(plan.getUnresolved().isEmpty());
+        assertTrue(SalaryColumns.of(tree(applied(employees, plan))).validateSalaryBands().isEmpty());
+        assertEquals(List.of(), SalaryBandSolver.solve(tree(applied(employees, plan))).getAdjustments());
+    }
+
+    @Test
+    void testPlanClearsTheValidatorReport() {
+        Random random = new Random(17);
+        List<Employee> employees = new ArrayList<>();
+        for (int team = 0; team < 2000; team++) {
+            String managerId = "m" + team;
+            employees.add(new Employee(managerId, "Manager", "M", 1000.0, null));
+            int size = 1 + random.nextInt(8);
+            for (int i = 0; i < size; i++) {
+                employees.add(new Employee(managerId + "-" + i, "Report", "R",
+                    30000 + random.nextInt(9000000) / 100.0, managerId));
+            }
+        }
+
+        SalaryPlan plan = SalaryBandSolver.solve(tree(employees));
+        EmployeeTree fixed = tree(applied(employees, plan));
+
+        assertTrue(plan.getUnresolved().isEmpty());
+        assertEquals(List.of(), EmployeeValidator.validateAllManagerSalaries(fixed.getAllNodes()));
+        assertEquals(List.of(), SalaryColumns.of(fixed).validateSalaryBands());
+    }
+
+    private static List<Employee> applied(List<Employee> employees, SalaryPlan plan) {
+        Map<String, Double> salaries = new HashMap<>();
+        for (SalaryPlan.Adjustment adjustment : plan.getAdjustments()) {
+            salaries.put(adjustment.getEmployee().getId(), adjustment.getSuggestedSalary());
+        }
+        List<Employee> result = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            result.add(new Employee(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                salaries.getOrDefault(employee.getId(), employee.getSalary()), employee.getManagerId()));
+        }
+        return result;
+    }
+}
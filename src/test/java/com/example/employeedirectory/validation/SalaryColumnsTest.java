@@ -0,0 +1,98 @@
+package com.example.employeedirectory.validation;
+
+import com.example.employeedirectory.EmployeeTree;
+import com.example.employeedirectory.model.Employee;
+import com.example.employeedirectory.validation.EmployeeValidator.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryColumnsTest {
+
+    @Test
+    void testTotalsAreExact() {
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(Arrays.asList(
+            new Employee("1", "CEO", "Boss", 0.1, null),
+            new Employee("2", "Manager", "One", 0.2, "1"),
+            new Employee("3", "Manager", "Two", 0.7, "1")));
+
+        SalaryColumns columns = SalaryColumns.of(tree);
+
+        assertEquals(3, columns.size());
+        assertEquals(100, columns.totalCents());
+        assertEquals(1.0 / 3, columns.averageSalary(), 1e-12);
+    }
+
+    @Test
+    void testBandBoundariesAreExact() {
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(Arrays.asList(
+            // Exactly 20% above the average of 50000: not underpaid
+            new Employee("1", "Exact", "Min", 60000.0, null),
+            new Employee("2", "Report", "A", 40000.0, "1"),
+            new Employee("3", "Report", "B", 60000.0, "1"),
+            // Exactly 50% above: not overpaid; one cent more would be
+            new Employee("4", "Exact", "Max", 75000.0, null),
+            new Employee("5", "Report", "C", 50000.0, "4"),
+            new Employee("6", "Over", "Paid", 75000.01, null),
+            new Employee("7", "Report", "D", 50000.0, "6")));
+
+        List<ValidationResult> results = SalaryColumns.of(tree).validateSalaryBands();
+
+        assertEquals(1, results.size());
+        assertEquals("6", results.get(0).getEmployee().getId());
+        assertEquals("Manager is overpaid", results.get(0).getMessage());
+        assertEquals(0.01, results.get(0).getAmount(), 1e-9);
+    }
+
+    @Test
+    void testExactEdgeDiffersFromValidatorRounding() {
+        // 21.72 is exactly 120% of 18.10, but 18.10 * 1.20 rounds above 21.72 in doubles
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(Arrays.asList(
+            new Employee("1", "Exact", "Min", 21.72, null),
+            new Employee("2", "Report", "A", 18.10, "1")));
+
+        List<ValidationResult> exact = SalaryColumns.of(tree).validateSalaryBands();
+        List<ValidationResult> rounded = EmployeeValidator.validateAllManagerSalaries(tree.getAllNodes());
+
+        assertTrue(exact.isEmpty());
+        assertEquals(1, rounded.size());
+        assertEquals("Manager is underpaid", rounded.get(0).getMessage());
+        assertEquals(0.0, rounded.get(0).getAmount(), 1e-9);
+    }
+
+    @Test
+    void testBandChecksMatchValidator() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String managerId = i == 0 ? null : String.valueOf(random.nextInt(Math.max(1, i / 4)));
+            employees.add(new Employee(String.valueOf(i), "F", "L", 30000 + random.nextInt(100000), managerId));
+        }
+        EmployeeTree tree = new EmployeeTree();
+        tree.buildTree(employees);
+
+        List<ValidationResult> expected = EmployeeValidator.validateAllManagerSalaries(tree.getAllNodes());
+        List<ValidationResult> actual = SalaryColumns.of(tree).validateSalaryBands();
+
+        Comparator<ValidationResult> order = Comparator
+            .comparing((ValidationResult r) -> r.getEmployee().getId())
+            .thenComparing(ValidationResult::getMessage);
+        expected.sort(order);
+        actual.sort(order);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getEmployee().getId(), actual.get(i).getEmployee().getId());
+            assertEquals(expected.get(i).getMessage(), actual.get(i).getMessage());
+            assertEquals(expected.get(i).getAmount(), actual.get(i).getAmount(), 0.01);
+        }
+    }
+}